@@ -0,0 +1,68 @@
+package org.example.dto;
+
+import lombok.*;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Receipt for an enrollment request admitted to the enrollment queue.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AdmissionTicket {
+
+    private final long requestId;
+
+    private final Long courseId;
+
+    /**
+     * Estimated 1-based position in processing order at the time of admission.
+     */
+    private final int position;
+
+    /**
+     * Estimated time until the request is processed.
+     */
+    private final Duration estimatedWait;
+
+    /**
+     * Longest time {@link #await()} waits for the request.
+     */
+    private final Duration awaitTimeout;
+
+    @ToString.Exclude
+    private final CompletableFuture<Void> completion;
+
+    /**
+     * Waits until the request has been processed, at most {@link #getAwaitTimeout()}.
+     *
+     * @throws CustomException the error the enrollment failed with, with
+     *                         {@link ErrorCode#ENROLLMENT_BUSY} if the queue stopped before the request
+     *                         was processed, or with {@link ErrorCode#ENROLLMENT_PENDING} if it is still
+     *                         queued or running when the wait ends
+     */
+    public void await() throws CustomException {
+        try {
+            completion.get(awaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CustomException) {
+                throw (CustomException) e.getCause();
+            }
+            throw new CustomException("Failed to save enrollment", ErrorCode.SAVE_ENROLLMENT_FAILED.getCode(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new CustomException("Enrollment is still being processed, check your courses later",
+                    ErrorCode.ENROLLMENT_PENDING.getCode(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("Enrollment is still being processed, check your courses later",
+                    ErrorCode.ENROLLMENT_PENDING.getCode(), e);
+        }
+    }
+}
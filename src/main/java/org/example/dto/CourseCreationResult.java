@@ -0,0 +1,26 @@
+package org.example.dto;
+
+import lombok.*;
+import org.example.enums.CourseCreationStatus;
+
+/**
+ * Outcome of creating one course: its new ID, or why it was not inserted.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CourseCreationResult {
+
+    private final String courseName;
+
+    private final Long courseId;
+
+    private final CourseCreationStatus status;
+
+    /**
+     * @return true if the course was inserted
+     */
+    public boolean isCreated() {
+        return status == CourseCreationStatus.CREATED;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.dto;
+
+import lombok.*;
+import org.example.entity.TimeSlot;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Changes to apply to a course. Fields left null are not changed. The teacher is not part of a
+ * patch: it is changed by assigning the course, which also refreshes the stored teacher name.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class CoursePatch {
+
+    private String courseName;
+
+    private Integer units;
+
+    private Integer capacity;
+
+    private LocalDate startDate;
+
+    private List<TimeSlot> timeSlots;
+
+    /**
+     * @return true if no field is changed
+     */
+    public boolean isEmpty() {
+        return courseName == null && units == null && capacity == null && startDate == null && timeSlots == null;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only catalog entry of a course, served from the reference-data cache.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CourseSummary {
+
+    private final long id;
+
+    private final String courseName;
+
+    private final int units;
+
+    private final int capacity;
+
+    private final String teacherName;
+
+    private final long teacherId;
+
+    private final String teacherLastName;
+
+    private final LocalDate startDate;
+
+    private final int enrolledCount;
+
+    /**
+     * Creates an entry from an HQL constructor expression, where numbers arrive as their wrapper types.
+     */
+    public CourseSummary(Long id, String courseName, Integer units, Integer capacity, String teacherName,
+                         Long teacherId, String teacherLastName, LocalDate startDate, Long enrolledCount) {
+        this(id, courseName, units, capacity, teacherName, teacherId, teacherLastName, startDate, enrolledCount.intValue());
+    }
+
+    /**
+     * @param enrolledCount the new number of enrolled students
+     * @return a copy of this entry with the enrolled count set
+     */
+    public CourseSummary withEnrolledCount(int enrolledCount) {
+        return new CourseSummary(id, courseName, units, capacity, teacherName, teacherId, teacherLastName, startDate, enrolledCount);
+    }
+
+    /**
+     * @return true if the course has not started yet and has a free seat
+     */
+    public boolean isAvailable(LocalDate today) {
+        return !startDate.isBefore(today) && enrolledCount < capacity;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a set-based delete: the IDs of the deleted courses and how many rows were removed from each table.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DeletionReport {
+
+    private final List<Long> courseIds;
+
+    private final int teachers;
+
+    private final int courses;
+
+    private final int enrollments;
+
+    private final int waitlistEntries;
+
+    private final int timeSlots;
+
+    private final int prerequisiteLinks;
+
+    private final int droppedEvents; // ENROLLMENT_DROPPED outbox events written, not counted as deleted rows
+
+    /**
+     * @param teachers the number of deleted teachers
+     * @return a copy of this report with the teacher count set
+     */
+    public DeletionReport withTeachers(int teachers) {
+        return new DeletionReport(courseIds, teachers, courses, enrollments, waitlistEntries, timeSlots, prerequisiteLinks, droppedEvents);
+    }
+
+    /**
+     * @return the total number of deleted rows
+     */
+    public int getTotalRows() {
+        return teachers + courses + enrollments + waitlistEntries + timeSlots + prerequisiteLinks;
+    }
+}
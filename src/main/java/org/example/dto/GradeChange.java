@@ -0,0 +1,31 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.util.Objects;
+
+/**
+ * The grade of one enrollment before and after an update.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GradeChange {
+
+    private final Long enrollmentId;
+
+    private final Long studentId;
+
+    private final Long courseId;
+
+    private final Double oldGrade;
+
+    private final Double newGrade;
+
+    /**
+     * @return true if the update changed the grade
+     */
+    public boolean isChanged() {
+        return !Objects.equals(oldGrade, newGrade);
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.dto;
+
+import lombok.*;
+
+/**
+ * A row of a grade import file that was rejected.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GradeImportError {
+
+    private final long lineNumber;
+
+    private final String line;
+
+    private final String message;
+}
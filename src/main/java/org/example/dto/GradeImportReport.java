@@ -0,0 +1,23 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a grade import: how many rows were read and applied, and why the others were rejected.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GradeImportReport {
+
+    private final long totalRows;
+
+    private final long appliedRows;
+
+    private final List<GradeImportError> errors;
+
+    private final Duration elapsed;
+}
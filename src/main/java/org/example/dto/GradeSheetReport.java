@@ -0,0 +1,26 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a grade sheet generation run.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GradeSheetReport {
+
+    private final Path outputDirectory;
+
+    private final int teacherCount;
+
+    private final int sheetCount;
+
+    private final List<String> failures;
+
+    private final Duration elapsed;
+}
@@ -0,0 +1,38 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a list screen: the rows of the page and how many rows there are in total.
+ *
+ * @param <T> the row type
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class Page<T> {
+
+    private final List<T> items;
+
+    private final int pageNumber;
+
+    private final int pageSize;
+
+    private final long totalCount;
+
+    /**
+     * @return the number of pages, at least 1
+     */
+    public int getPageCount() {
+        return (int) Math.max(1, (totalCount + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * @return true if there is a page after this one
+     */
+    public boolean hasNext() {
+        return pageNumber + 1 < getPageCount();
+    }
+}
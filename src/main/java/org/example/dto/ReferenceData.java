@@ -0,0 +1,80 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the course catalog and teacher directory with lookup indexes.
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+public class ReferenceData {
+
+    @ToString.Include
+    private final Instant createdAt;
+
+    private final List<TeacherSummary> teachers;
+
+    private final List<CourseSummary> courses;
+
+    private final Map<Long, TeacherSummary> teachersById;
+
+    private final Map<String, TeacherSummary> teachersByUsername;
+
+    private final Map<Long, CourseSummary> coursesById;
+
+    private final Map<Long, List<CourseSummary>> coursesByTeacherId;
+
+    public ReferenceData(Instant createdAt, List<TeacherSummary> teachers, List<CourseSummary> courses) {
+        this.createdAt = createdAt;
+        this.teachers = Collections.unmodifiableList(teachers);
+        this.courses = Collections.unmodifiableList(courses);
+        Map<Long, TeacherSummary> byId = new HashMap<>();
+        Map<String, TeacherSummary> byUsername = new HashMap<>();
+        for (TeacherSummary teacher : teachers) {
+            byId.put(teacher.getId(), teacher);
+            byUsername.put(teacher.getUsername(), teacher);
+        }
+        Map<Long, CourseSummary> courseById = new HashMap<>();
+        Map<Long, List<CourseSummary>> byTeacher = new HashMap<>();
+        for (CourseSummary course : courses) {
+            courseById.put(course.getId(), course);
+            byTeacher.computeIfAbsent(course.getTeacherId(), id -> new ArrayList<>()).add(course);
+        }
+        this.teachersById = Collections.unmodifiableMap(byId);
+        this.teachersByUsername = Collections.unmodifiableMap(byUsername);
+        this.coursesById = Collections.unmodifiableMap(courseById);
+        this.coursesByTeacherId = Collections.unmodifiableMap(byTeacher);
+    }
+
+    /**
+     * @param courseId the ID of the course
+     * @param delta    the change in the number of enrolled students
+     * @return a copy of this snapshot with the course's enrolled count changed, or this snapshot
+     * if the course is not in it
+     */
+    public ReferenceData withEnrolledCountChange(long courseId, int delta) {
+        CourseSummary course = coursesById.get(courseId);
+        if (course == null || delta == 0) {
+            return this;
+        }
+        CourseSummary changed = course.withEnrolledCount(Math.max(0, course.getEnrolledCount() + delta));
+        List<CourseSummary> updated = new ArrayList<>(courses);
+        updated.replaceAll(entry -> entry.getId() == courseId ? changed : entry);
+        return new ReferenceData(createdAt, teachers, updated);
+    }
+
+    /**
+     * @return the number of entries in the snapshot
+     */
+    @ToString.Include
+    public int size() {
+        return teachers.size() + courses.size();
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.dto;
+
+import lombok.*;
+
+/**
+ * Two courses of one student that meet at overlapping times.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ScheduleConflict {
+
+    private final Long studentId;
+
+    private final Long courseId;
+
+    private final Long conflictingCourseId;
+
+    private final String meetingTime;
+}
@@ -0,0 +1,47 @@
+package org.example.dto;
+
+import lombok.*;
+import org.example.entity.TimeSlot;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * A weekly meeting time of a course a student is enrolled in.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ScheduledSlot {
+
+    private final Long studentId;
+
+    private final Long courseId;
+
+    private final int start;
+
+    private final int end;
+
+    /**
+     * Creates a slot from the columns of {@code course_time_slots}; used by HQL constructor expressions.
+     */
+    public ScheduledSlot(Long studentId, Long courseId, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        this(studentId, courseId, new TimeSlot(dayOfWeek, startTime, endTime));
+    }
+
+    /**
+     * Creates a slot from a course's meeting time.
+     */
+    public ScheduledSlot(Long studentId, Long courseId, TimeSlot slot) {
+        this(studentId, courseId, slot.weeklyStartMinute(), slot.weeklyEndMinute());
+    }
+
+    /**
+     * @return the meeting time as a day and time of day
+     */
+    public String describe() {
+        return DayOfWeek.of(start / TimeSlot.MINUTES_PER_DAY + 1) + " "
+                + LocalTime.of(start % TimeSlot.MINUTES_PER_DAY / 60, start % 60) + "-"
+                + LocalTime.of(end % TimeSlot.MINUTES_PER_DAY / 60, end % 60);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of the Hibernate statistics collected since the last reset.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SystemStatistics {
+
+    private final Instant collectedSince;
+
+    private final long queryExecutionCount;
+
+    private final long prepareStatementCount;
+
+    private final long entityLoadCount;
+
+    private final long entityFetchCount;
+
+    private final long collectionLoadCount;
+
+    private final long collectionFetchCount;
+
+    private final long secondLevelCacheHitCount;
+
+    private final long secondLevelCacheMissCount;
+
+    private final long connectCount;
+
+    private final long transactionCount;
+
+    private final long sessionOpenCount;
+
+    private final List<QueryTiming> slowestQueries;
+
+    /**
+     * Returns the second-level cache hit ratio.
+     *
+     * @return hits divided by lookups, or 0 when the cache was never consulted
+     */
+    public double getSecondLevelCacheHitRatio() {
+        long lookups = secondLevelCacheHitCount + secondLevelCacheMissCount;
+        return lookups == 0 ? 0.0 : (double) secondLevelCacheHitCount / lookups;
+    }
+
+    /**
+     * Execution figures of a single HQL/SQL query string.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class QueryTiming {
+
+        private final String query;
+
+        private final long executionCount;
+
+        private final long executionAvgTime;
+
+        private final long executionMaxTime;
+
+        private final long executionRowCount;
+    }
+}
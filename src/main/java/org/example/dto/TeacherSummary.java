@@ -0,0 +1,21 @@
+package org.example.dto;
+
+import lombok.*;
+
+/**
+ * Read-only directory entry of a teacher, served from the reference-data cache.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TeacherSummary {
+
+    private final long id;
+
+    private final String username;
+
+    private final String firstName;
+
+    private final String lastName;
+}
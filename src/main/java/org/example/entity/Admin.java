@@ -11,9 +11,16 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@NamedQuery(name = Admin.FIND_BY_USERNAME, query = "SELECT a FROM Admin a WHERE a.username = :username")
+@NamedQuery(name = Admin.FIND_ALL, query = "SELECT a FROM Admin a")
+@NamedQuery(name = Admin.DELETE_BY_ID, query = "DELETE FROM Admin a WHERE a.id = :id")
 @Table(name = "admins")
 public class Admin {
 
+    public static final String FIND_BY_USERNAME = "Admin.findByUsername";
+    public static final String FIND_ALL = "Admin.findAll";
+    public static final String DELETE_BY_ID = "Admin.deleteById";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Primary Key
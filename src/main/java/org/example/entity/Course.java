@@ -6,9 +6,11 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Getter
 @Setter
@@ -16,9 +18,31 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "courses")
+@NamedQuery(name = Course.FIND_ALL_WITH_TEACHER, query = "SELECT c FROM Course c JOIN FETCH c.teacher")
+@NamedQuery(name = Course.FIND_AVAILABLE, query = "SELECT c FROM Course c JOIN FETCH c.teacher WHERE c.startDate >= CURRENT_DATE "
+        + "AND c.capacity > (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c)")
+@NamedQuery(name = Course.FIND_BY_TEACHER_ID, query = "SELECT c FROM Course c JOIN FETCH c.teacher t WHERE t.id = :teacherId")
+@NamedQuery(name = Course.FIND_BY_TEACHER_IDS, query = "SELECT c FROM Course c JOIN FETCH c.teacher t WHERE t.id IN :teacherIds ORDER BY c.id")
+@NamedQuery(name = Course.FIND_ALL_SUMMARIES, query = "SELECT new org.example.dto.CourseSummary(c.id, c.courseName, c.units, c.capacity, c.teacherName, "
+        + "t.id, t.lastName, c.startDate, (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c)) "
+        + "FROM Course c JOIN c.teacher t ORDER BY c.id")
+@NamedQuery(name = Course.FIND_PREREQUISITE_EDGES, query = "SELECT c.id, p.id FROM Course c JOIN c.prerequisites p")
+@NamedQuery(name = Course.COUNT_REASSIGNABLE_FROM_TEACHER, query = "SELECT COUNT(c) FROM Course c WHERE c.teacher.id = :fromTeacherId AND c.teacher.id <> :toTeacherId")
+@NamedQuery(name = Course.COUNT_REASSIGNABLE_BY_IDS, query = "SELECT COUNT(c) FROM Course c WHERE c.id IN :courseIds AND c.teacher.id <> :toTeacherId")
+@DynamicUpdate
+@Table(name = "courses",
+        uniqueConstraints = @UniqueConstraint(name = "uk_courses_course_name", columnNames = "course_name"))
 public class Course {
 
+    public static final String FIND_ALL_WITH_TEACHER = "Course.findAllWithTeacher";
+    public static final String FIND_AVAILABLE = "Course.findAvailable";
+    public static final String FIND_BY_TEACHER_ID = "Course.findByTeacherId";
+    public static final String FIND_BY_TEACHER_IDS = "Course.findByTeacherIds";
+    public static final String FIND_ALL_SUMMARIES = "Course.findAllSummaries";
+    public static final String FIND_PREREQUISITE_EDGES = "Course.findPrerequisiteEdges";
+    public static final String COUNT_REASSIGNABLE_FROM_TEACHER = "Course.countReassignableFromTeacher";
+    public static final String COUNT_REASSIGNABLE_BY_IDS = "Course.countReassignableByIds";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Primary Key
@@ -52,7 +76,20 @@ public class Course {
     @ToString.Exclude // جلوگیری از تکرار بی‌نهایت
     private Teacher teacher; // Foreign Key
 
+    // برای تعداد یا عضویت از EnrollmentService.countEnrollments و isEnrolled استفاده شود، نه size() و contains() که کل مجموعه را بارگذاری می‌کنند
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Enrollment> enrollments; // List of enrollments for the course
+
+    @ElementCollection
+    @CollectionTable(name = "course_time_slots", joinColumns = @JoinColumn(name = "course_id"))
+    @ToString.Exclude
+    private List<TimeSlot> timeSlots; // Weekly meeting times
+
+    @ManyToMany
+    @JoinTable(name = "course_prerequisites",
+            joinColumns = @JoinColumn(name = "course_id"),
+            inverseJoinColumns = @JoinColumn(name = "prerequisite_id"))
+    @ToString.Exclude
+    private Set<Course> prerequisites; // Courses that must be passed first
 }
 
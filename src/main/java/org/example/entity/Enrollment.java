@@ -9,9 +9,46 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@NamedQuery(name = Enrollment.FIND_ALL_WITH_DETAILS, query = "SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course c JOIN FETCH c.teacher")
+@NamedQuery(name = Enrollment.FIND_BY_STUDENT_AND_COURSE, query = "SELECT e FROM Enrollment e JOIN FETCH e.student s JOIN FETCH e.course c JOIN FETCH c.teacher "
+        + "WHERE s.id = :studentId AND c.id = :courseId")
+@NamedQuery(name = Enrollment.FIND_BY_STUDENT_ID, query = "SELECT e FROM Enrollment e JOIN FETCH e.student s JOIN FETCH e.course c JOIN FETCH c.teacher "
+        + "WHERE s.id = :studentId")
+@NamedQuery(name = Enrollment.FIND_BY_COURSE_ID, query = "SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course c JOIN FETCH c.teacher "
+        + "WHERE c.id = :courseId")
+@NamedQuery(name = Enrollment.FIND_BY_COURSE_AND_STUDENT_IDS, query = "SELECT e FROM Enrollment e JOIN FETCH e.student s JOIN FETCH e.course c JOIN FETCH c.teacher "
+        + "WHERE c.id = :courseId AND s.id IN :studentIds")
+@NamedQuery(name = Enrollment.FIND_BY_TEACHER_ID, query = "SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course c JOIN FETCH c.teacher t "
+        + "WHERE t.id = :teacherId")
+@NamedQuery(name = Enrollment.FIND_BY_TEACHER_IDS, query = "SELECT e FROM Enrollment e JOIN FETCH e.student s JOIN FETCH e.course c JOIN FETCH c.teacher t "
+        + "WHERE t.id IN :teacherIds ORDER BY c.id, s.lastName, s.firstName")
+@NamedQuery(name = Enrollment.FIND_STUDENTS_BY_COURSE_ID, query = "SELECT e.student FROM Enrollment e WHERE e.course.id = :courseId")
+@NamedQuery(name = Enrollment.FIND_ROSTER_BY_COURSE_ID, query = "SELECT s.studentNumber, s.id FROM Enrollment e JOIN e.student s WHERE e.course.id = :courseId")
+@NamedQuery(name = Enrollment.FIND_PASSED_COURSE_IDS, query = "SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.grade >= :passingGrade")
+@NamedQuery(name = Enrollment.FIND_SCHEDULED_SLOTS_BY_STUDENT_ID, query = "SELECT new org.example.dto.ScheduledSlot(e.student.id, c.id, s.dayOfWeek, s.startTime, s.endTime) "
+        + "FROM Enrollment e JOIN e.course c JOIN c.timeSlots s WHERE e.student.id = :studentId")
+@NamedQuery(name = Enrollment.FIND_ALL_SCHEDULED_SLOTS, query = "SELECT new org.example.dto.ScheduledSlot(e.student.id, c.id, s.dayOfWeek, s.startTime, s.endTime) "
+        + "FROM Enrollment e JOIN e.course c JOIN c.timeSlots s ORDER BY e.student.id")
+@NamedQuery(name = Enrollment.COUNT_BY_COURSE_ID, query = "SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
+@NamedQuery(name = Enrollment.EXISTS_BY_STUDENT_AND_COURSE, query = "SELECT 1 FROM Enrollment e WHERE e.student.id = :studentId AND e.course.id = :courseId")
 @Table(name = "enrollments")
 public class Enrollment {
 
+    public static final String FIND_ALL_WITH_DETAILS = "Enrollment.findAllWithDetails";
+    public static final String FIND_BY_STUDENT_AND_COURSE = "Enrollment.findByStudentAndCourse";
+    public static final String FIND_BY_STUDENT_ID = "Enrollment.findByStudentId";
+    public static final String FIND_BY_COURSE_ID = "Enrollment.findByCourseId";
+    public static final String FIND_BY_COURSE_AND_STUDENT_IDS = "Enrollment.findByCourseAndStudentIds";
+    public static final String FIND_BY_TEACHER_ID = "Enrollment.findByTeacherId";
+    public static final String FIND_BY_TEACHER_IDS = "Enrollment.findByTeacherIds";
+    public static final String FIND_STUDENTS_BY_COURSE_ID = "Enrollment.findStudentsByCourseId";
+    public static final String FIND_ROSTER_BY_COURSE_ID = "Enrollment.findRosterByCourseId";
+    public static final String FIND_PASSED_COURSE_IDS = "Enrollment.findPassedCourseIds";
+    public static final String FIND_SCHEDULED_SLOTS_BY_STUDENT_ID = "Enrollment.findScheduledSlotsByStudentId";
+    public static final String FIND_ALL_SCHEDULED_SLOTS = "Enrollment.findAllScheduledSlots";
+    public static final String COUNT_BY_COURSE_ID = "Enrollment.countByCourseId";
+    public static final String EXISTS_BY_STUDENT_AND_COURSE = "Enrollment.existsByStudentAndCourse";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Primary Key
@@ -0,0 +1,52 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@NamedQuery(name = GradeAudit.FIND_BY_COURSE_AND_STUDENT, query = "SELECT g FROM GradeAudit g WHERE g.courseId = :courseId AND g.studentId = :studentId "
+        + "ORDER BY g.changedAt")
+@Table(name = "grade_audits")
+public class GradeAudit {
+
+    public static final String FIND_BY_COURSE_AND_STUDENT = "GradeAudit.findByCourseAndStudent";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grade_audits_seq")
+    @SequenceGenerator(name = "grade_audits_seq", sequenceName = "grade_audits_seq", allocationSize = 50) // اجازه درج دسته‌ای
+    private Long id; // Primary Key
+
+    @NotNull
+    @Column(name = "changed_by", nullable = false, length = 50)
+    private String changedBy;
+
+    @NotNull
+    @Column(name = "course_id", nullable = false)
+    private Long courseId; // بدون Foreign Key تا تاریخچه پس از حذف درس باقی بماند
+
+    @NotNull
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "old_grade")
+    private Double oldGrade;
+
+    @Column(name = "new_grade")
+    private Double newGrade;
+
+    @NotNull
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public GradeAudit(String changedBy, Long courseId, Long studentId, Double oldGrade, Double newGrade) {
+        this(null, changedBy, courseId, studentId, oldGrade, newGrade, Instant.now());
+    }
+}
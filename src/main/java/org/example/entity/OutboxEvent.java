@@ -0,0 +1,96 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.example.enums.OutboxEventType;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@NamedQuery(name = OutboxEvent.FIND_OLDEST, query = "SELECT o FROM OutboxEvent o ORDER BY o.id")
+@NamedQuery(name = OutboxEvent.DELETE_BY_IDS, query = "DELETE FROM OutboxEvent o WHERE o.id IN :ids")
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    public static final String FIND_OLDEST = "OutboxEvent.findOldest";
+    public static final String DELETE_BY_IDS = "OutboxEvent.deleteByIds";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id; // Primary Key, ترتیب تحویل رویدادها
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private OutboxEventType eventType;
+
+    @NotNull
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId; // Enrollment ID, or waitlist entry ID
+
+    @NotNull
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload; // JSON
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public OutboxEvent(OutboxEventType eventType, Long aggregateId, String payload) {
+        this(null, eventType, aggregateId, payload, Instant.now());
+    }
+
+    /**
+     * Creates an event describing an enrollment.
+     *
+     * @param eventType  the type of the event
+     * @param enrollment the enrollment the event is about
+     * @return the event
+     */
+    public static OutboxEvent of(OutboxEventType eventType, Enrollment enrollment) {
+        return of(eventType, enrollment.getId(), enrollment.getStudent().getId(), enrollment.getCourse().getId(), null, enrollment.getGrade());
+    }
+
+    /**
+     * Creates an event describing an enrollment or a grade change.
+     *
+     * @param eventType    the type of the event
+     * @param enrollmentId the ID of the enrollment
+     * @param studentId    the ID of the student
+     * @param courseId     the ID of the course
+     * @param oldGrade     the previous grade, or null
+     * @param newGrade     the current grade, or null
+     * @return the event
+     */
+    public static OutboxEvent of(OutboxEventType eventType, Long enrollmentId, Long studentId, Long courseId, Double oldGrade, Double newGrade) {
+        String payload = "{\"enrollmentId\":" + enrollmentId
+                + ",\"studentId\":" + studentId
+                + ",\"courseId\":" + courseId
+                + ",\"oldGrade\":" + oldGrade
+                + ",\"newGrade\":" + newGrade + "}";
+        return new OutboxEvent(eventType, enrollmentId, payload);
+    }
+
+    /**
+     * Creates an event describing a waitlist entry that was removed without enrolling the student.
+     *
+     * @param eventType the type of the event
+     * @param entry     the removed waitlist entry
+     * @param reason    why the student was not enrolled, as an {@code ErrorCode} name
+     * @return the event
+     */
+    public static OutboxEvent of(OutboxEventType eventType, WaitlistEntry entry, String reason) {
+        String payload = "{\"waitlistEntryId\":" + entry.getId()
+                + ",\"studentId\":" + entry.getStudent().getId()
+                + ",\"courseId\":" + entry.getCourse().getId()
+                + ",\"reason\":\"" + reason + "\"}";
+        return new OutboxEvent(eventType, entry.getId(), payload);
+    }
+}
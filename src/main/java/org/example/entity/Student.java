@@ -6,6 +6,9 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.LazyGroup;
 
 import java.util.List;
 
@@ -15,9 +18,21 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@NamedQuery(name = Student.FIND_ALL, query = "SELECT s FROM Student s")
+@NamedQuery(name = Student.FIND_PAGE, query = "SELECT s FROM Student s ORDER BY s.id")
+@NamedQuery(name = Student.COUNT_ALL, query = "SELECT COUNT(s) FROM Student s")
+@NamedQuery(name = Student.FIND_BY_USERNAME, query = "SELECT s FROM Student s WHERE s.username = :username")
+@NamedQuery(name = Student.SET_PASSWORD, query = "UPDATE Student s SET s.password = :password WHERE s.id = :studentId")
+@DynamicUpdate
 @Table(name = "students")
 public class Student {
 
+    public static final String FIND_ALL = "Student.findAll";
+    public static final String FIND_PAGE = "Student.findPage";
+    public static final String COUNT_ALL = "Student.countAll";
+    public static final String FIND_BY_USERNAME = "Student.findByUsername";
+    public static final String SET_PASSWORD = "Student.setPassword";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -41,18 +56,28 @@ public class Student {
     @Column(name = "password", nullable = false, unique = true, length = 20)
     private String password; // Default: National code
 
+    // ستون‌های گروه profile فقط در صفحه پروفایل لازم‌اند؛ با bytecode enhancement جدا و با هم بارگذاری می‌شوند
     @NotNull
     @Pattern(regexp = "\\d{11}", message = "Mobile number must be 11 digits")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("profile")
+    @ToString.Exclude
     @Column(name = "mobile_number", nullable = false, unique = true, length = 11)
     private String mobileNumber;
 
     @NotNull
     @Email(message = "Email address must be valid")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("profile")
+    @ToString.Exclude
     @Column(name = "email_address", nullable = false, unique = true, length = 50)
     private String emailAddress;
 
     @NotNull
     @Pattern(regexp = "\\d{10}", message = "National code must be 10 digits")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("profile")
+    @ToString.Exclude
     @Column(name = "national_code", nullable = false, unique = true, length = 10)
     private String nationalCode;
 
@@ -61,7 +86,9 @@ public class Student {
     @Column(name = "student_number", nullable = false, unique = true, length = 5)
     private String studentNumber;
 
+    // مجموعه‌های دانشجویان یک صفحه با یک کوئری IN بارگذاری می‌شوند، بدون join fetch که صفحه‌بندی را خراب می‌کند
     @OneToMany(mappedBy = "student", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     @ToString.Exclude
     private List<Enrollment> enrollments;
 }
\ No newline at end of file
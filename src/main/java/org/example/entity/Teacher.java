@@ -6,6 +6,9 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.LazyGroup;
 
 import java.util.List;
 
@@ -16,8 +19,31 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@NamedQuery(name = Teacher.FIND_ALL, query = "SELECT t FROM Teacher t")
+@NamedQuery(name = Teacher.FIND_PAGE, query = "SELECT t FROM Teacher t ORDER BY t.id")
+@NamedQuery(name = Teacher.COUNT_ALL, query = "SELECT COUNT(t) FROM Teacher t")
+@NamedQuery(name = Teacher.FIND_ALL_IDS, query = "SELECT t.id FROM Teacher t ORDER BY t.id")
+@NamedQuery(name = Teacher.FIND_ALL_SUMMARIES, query = "SELECT new org.example.dto.TeacherSummary(t.id, t.username, t.firstName, t.lastName) FROM Teacher t "
+        + "ORDER BY t.id")
+@NamedQuery(name = Teacher.FIND_BY_USERNAME, query = "SELECT t FROM Teacher t WHERE t.username = :username")
+@NamedQuery(name = Teacher.FIND_BY_LAST_NAME, query = "SELECT t FROM Teacher t WHERE t.lastName = :lastName")
+@NamedQuery(name = Teacher.FIND_BY_FULL_NAME, query = "SELECT t FROM Teacher t WHERE t.firstName = :firstName AND t.lastName = :lastName")
+@NamedQuery(name = Teacher.SET_PASSWORD, query = "UPDATE Teacher t SET t.password = :password WHERE t.id = :teacherId")
+@NamedQuery(name = Teacher.DELETE_BY_ID, query = "DELETE FROM Teacher t WHERE t.id = :teacherId")
+@DynamicUpdate
 @Table(name = "teachers")
 public class Teacher {
+
+    public static final String FIND_ALL = "Teacher.findAll";
+    public static final String FIND_PAGE = "Teacher.findPage";
+    public static final String COUNT_ALL = "Teacher.countAll";
+    public static final String FIND_ALL_IDS = "Teacher.findAllIds";
+    public static final String FIND_ALL_SUMMARIES = "Teacher.findAllSummaries";
+    public static final String FIND_BY_USERNAME = "Teacher.findByUsername";
+    public static final String FIND_BY_LAST_NAME = "Teacher.findByLastName";
+    public static final String FIND_BY_FULL_NAME = "Teacher.findByFullName";
+    public static final String SET_PASSWORD = "Teacher.setPassword";
+    public static final String DELETE_BY_ID = "Teacher.deleteById";
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Primary Key
@@ -41,23 +67,36 @@ public class Teacher {
     @Column(name = "password", nullable = false, unique = true, length = 20)
     private String password; // Default: National code
 
+    // ستون‌های گروه profile فقط در صفحه پروفایل لازم‌اند؛ با bytecode enhancement جدا و با هم بارگذاری می‌شوند
     @NotNull
     @Pattern(regexp = "\\d{11}", message = "Mobile number must be 11 digits")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("profile")
+    @ToString.Exclude
     @Column(name = "mobile_number", nullable = false, unique = true, length = 11)
     private String mobileNumber;
 
     @NotNull
     @Email(message = "Email address must be valid")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("profile")
+    @ToString.Exclude
     @Column(name = "email_address", nullable = false, unique = true, length = 50)
     private String emailAddress;
 
     @NotNull
     @Pattern(regexp = "\\d{10}", message = "National code must be 10 digits")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("profile")
+    @ToString.Exclude
     @Column(name = "national_code", nullable = false, unique = true, length = 10)
     private String nationalCode;
 
     @NotNull
     @Size(min = 1, max = 50)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("profile")
+    @ToString.Exclude
     @Column(name = "specialty_field", nullable = false, length = 50)
     private String specialtyField;
 
@@ -71,7 +110,9 @@ public class Teacher {
     @Column(name = "personnel_code", nullable = false, unique = true, length = 5)
     private String personnelCode;
 
+    // مجموعه‌های استادان یک صفحه با یک کوئری IN بارگذاری می‌شوند، بدون join fetch که صفحه‌بندی را خراب می‌کند
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @ToString.Exclude // جلوگیری از تکرار بی‌نهایت
     private List<Course> courses; // List of courses taught by the teacher
 
@@ -0,0 +1,47 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class TimeSlot {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @NotNull
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @NotNull
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime; // انحصاری: کلاسی که در همین زمان شروع شود تداخل ندارد
+
+    /**
+     * @return the start of the slot in minutes from Monday 00:00
+     */
+    public int weeklyStartMinute() {
+        return (dayOfWeek.getValue() - 1) * MINUTES_PER_DAY + startTime.getHour() * 60 + startTime.getMinute();
+    }
+
+    /**
+     * @return the end of the slot in minutes from Monday 00:00
+     */
+    public int weeklyEndMinute() {
+        return (dayOfWeek.getValue() - 1) * MINUTES_PER_DAY + endTime.getHour() * 60 + endTime.getMinute();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@NamedQuery(name = WaitlistEntry.FIND_NEXT_BY_COURSE_ID, query = "SELECT w FROM WaitlistEntry w WHERE w.course.id = :courseId "
+        + "ORDER BY w.priority DESC, w.requestedAt, w.id")
+@NamedQuery(name = WaitlistEntry.FIND_POSITION, query = "SELECT COUNT(w) FROM WaitlistEntry w, WaitlistEntry me "
+        + "WHERE me.student.id = :studentId AND me.course.id = :courseId AND w.course.id = :courseId "
+        + "AND (w.priority > me.priority OR (w.priority = me.priority AND (w.requestedAt < me.requestedAt "
+        + "OR (w.requestedAt = me.requestedAt AND w.id <= me.id))))")
+@NamedQuery(name = WaitlistEntry.DELETE_BY_ID, query = "DELETE FROM WaitlistEntry w WHERE w.id = :id")
+@Table(name = "waitlist_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_student_course", columnNames = {"student_id", "course_id"}),
+        indexes = @Index(name = "idx_waitlist_course_order", columnList = "course_id, priority DESC, requested_at, id"))
+public class WaitlistEntry {
+
+    public static final String FIND_NEXT_BY_COURSE_ID = "WaitlistEntry.findNextByCourseId";
+    public static final String FIND_POSITION = "WaitlistEntry.findPosition";
+    public static final String DELETE_BY_ID = "WaitlistEntry.deleteById";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Primary Key
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @ToString.Exclude
+    private Student student; // Foreign Key
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    @ToString.Exclude
+    private Course course; // Foreign Key
+
+    @NotNull
+    @Column(name = "priority", nullable = false)
+    private Integer priority; // عدد بزرگ‌تر زودتر ارتقا می‌یابد
+
+    @NotNull
+    @Column(name = "requested_at", nullable = false)
+    private Instant requestedAt;
+}
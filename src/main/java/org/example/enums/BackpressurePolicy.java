@@ -0,0 +1,13 @@
+package org.example.enums;
+
+/**
+ * Enum describing what a producer does when a bounded queue is full.
+ */
+public enum BackpressurePolicy {
+    /** Wait until the queue has room. */
+    BLOCK,
+    /** Discard the new item and count it as dropped. */
+    DROP,
+    /** Process the item synchronously in the producer's thread. */
+    CALLER_RUNS
+}
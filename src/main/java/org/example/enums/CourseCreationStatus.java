@@ -0,0 +1,13 @@
+package org.example.enums;
+
+/**
+ * Enum describing the outcome of creating a course.
+ */
+public enum CourseCreationStatus {
+    /** The course was inserted. */
+    CREATED,
+    /** A course with the same name already exists, or appears earlier in the same batch. */
+    DUPLICATE_NAME,
+    /** The course's teacher does not exist. */
+    TEACHER_NOT_FOUND
+}
@@ -7,6 +7,7 @@ public enum ErrorCode {
     // Auth Errors
     LOGIN_USER_FAILED_DB(300),
     LOGIN_USER_FAILED_USER_NOT_FOUND(301),
+    LOGIN_THROTTLED(337),
 
     // Student Errors
     REGISTER_STUDENT_FAILED(302),
@@ -50,10 +51,38 @@ public enum ErrorCode {
     FIND_ENROLLMENT_BY_ID_FAILED(319),
     UPDATE_ENROLLMENT_FAILED(320),
     DELETE_ENROLLMENT_FAILED(321),
+    IMPORT_GRADES_FAILED(343),
+    GENERATE_GRADE_SHEETS_FAILED(344),
     RECORD_GRADES_FAILED(322),
     RETRIEVE_STUDENTS_FAILED(3134),
     RETRIEVE_ENROLLMENTS_FAILED(3135),
-    SAVE_ENROLLMENT_FAILED(323);
+    SAVE_ENROLLMENT_FAILED(323),
+    COURSE_FULL(331),
+    ALREADY_ENROLLED(335),
+    ENROLLMENT_BUSY(336),
+    ENROLLMENT_PENDING(346),
+    SCHEDULE_CONFLICT(338),
+    VALIDATE_SCHEDULES_FAILED(339),
+    PREREQUISITE_CYCLE(340),
+    PREREQUISITES_NOT_MET(341),
+    UPDATE_PREREQUISITES_FAILED(342),
+    SAVE_GRADE_AUDIT_FAILED(326),
+    VIEW_GRADE_HISTORY_FAILED(327),
+
+    // Waitlist Errors
+    JOIN_WAITLIST_FAILED(332),
+    ALREADY_WAITLISTED(333),
+    PROMOTE_WAITLIST_FAILED(334),
+
+    // Outbox Errors
+    SAVE_OUTBOX_EVENT_FAILED(328),
+    RELAY_OUTBOX_FAILED(329),
+    DELIVER_OUTBOX_FAILED(330),
+
+    // System Errors
+    VIEW_STATISTICS_FAILED(324),
+    RESET_STATISTICS_FAILED(325),
+    MIGRATION_FAILED(345);
 
     private final int code;
 
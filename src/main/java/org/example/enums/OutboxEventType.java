@@ -0,0 +1,8 @@
+package org.example.enums;
+
+/**
+ * Enum representing the kinds of events published through the outbox.
+ */
+public enum OutboxEventType {
+    ENROLLMENT_CREATED, ENROLLMENT_DROPPED, GRADE_CHANGED, WAITLIST_ENTRY_REMOVED
+}
@@ -29,6 +29,19 @@ public class CustomException extends RuntimeException {
         this.errorCode = errorCode;
     }
 
+    /**
+     * Constructs a CustomException without a stack trace, for errors raised often enough on a hot
+     * path that filling in the stack would cost more than the check that raised them.
+     *
+     * @param message            the detail message
+     * @param errorCode          the error code
+     * @param writableStackTrace false to skip capturing the stack trace
+     */
+    protected CustomException(String message, int errorCode, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
+
     /**
      * Returns the error code associated with this exception.
      *
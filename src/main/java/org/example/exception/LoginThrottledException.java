@@ -0,0 +1,32 @@
+package org.example.exception;
+
+import org.example.enums.ErrorCode;
+
+/**
+ * Thrown when a login attempt is rejected by the rate limiter. Carries no stack trace, so
+ * rejecting a brute-force burst stays cheap.
+ */
+public class LoginThrottledException extends CustomException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a LoginThrottledException.
+     *
+     * @param retryAfterSeconds the number of seconds after which a new attempt may succeed
+     */
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many login attempts, please try again in " + retryAfterSeconds + " seconds",
+                ErrorCode.LOGIN_THROTTLED.getCode(), false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the number of seconds after which a new attempt may succeed.
+     *
+     * @return the retry delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -6,10 +6,11 @@ import org.hibernate.Session;
 import java.util.List;
 
 public interface AdminRepository {
-    void save(Admin admin);
+    void save(Admin admin, Session session);
 
-    void
-    update(Admin admin);
+    void update(Admin admin, Session session);
+
+    Admin findByUsername(String username, Session session);
 
     Admin
     findById(Long id);
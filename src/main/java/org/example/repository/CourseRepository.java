@@ -1,11 +1,20 @@
 package org.example.repository;
 
+import org.example.dto.CourseCreationResult;
+import org.example.dto.CoursePatch;
+import org.example.dto.CourseSummary;
+import org.example.dto.DeletionReport;
+import org.example.dto.ScheduledSlot;
 import org.example.entity.Course;
 import org.example.entity.Student;
 import org.example.exception.CustomException;
 import org.hibernate.Session;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CourseRepository {
     void save(Course course);
@@ -23,4 +32,36 @@ public interface CourseRepository {
     Course findById(Long courseId, Session session) throws CustomException;
 
     void update(Course course, Session session) throws CustomException;
+
+    int patch(Long courseId, CoursePatch patch, Session session) throws CustomException;
+
+    Course findByIdForUpdate(Long courseId, Session session) throws CustomException;
+
+    List<ScheduledSlot> findTimeSlotsByStudentId(Long studentId, Session session) throws CustomException;
+
+    Stream<ScheduledSlot> streamAllScheduledSlots(Session session) throws CustomException;
+
+    Map<Long, Set<Long>> findAllPrerequisiteEdges(Session session) throws CustomException;
+
+    long findPrerequisiteGraphVersion(Session session) throws CustomException;
+
+    long lockPrerequisiteGraph(Session session) throws CustomException;
+
+    DeletionReport deleteCascade(Long courseId, Session session) throws CustomException;
+
+    DeletionReport deleteCascadeByTeacherId(Long teacherId, Session session) throws CustomException;
+
+    long countReassignable(Long fromTeacherId, Long toTeacherId, Session session) throws CustomException;
+
+    long countReassignable(Collection<Long> courseIds, Long toTeacherId, Session session) throws CustomException;
+
+    int reassign(Long fromTeacherId, Long toTeacherId, Session session) throws CustomException;
+
+    int reassign(Collection<Long> courseIds, Long toTeacherId, Session session) throws CustomException;
+
+    List<CourseCreationResult> insertAll(List<Course> courses, Session session) throws CustomException;
+
+    List<Course> findByTeacherIds(Collection<Long> teacherIds, Session session) throws CustomException;
+
+    List<CourseSummary> findAllSummaries(Session session) throws CustomException;
 }
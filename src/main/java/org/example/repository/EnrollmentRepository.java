@@ -1,13 +1,16 @@
 package org.example.repository;
 
+import org.example.dto.GradeChange;
 import org.example.entity.Course;
 import org.example.entity.Enrollment;
 import org.example.entity.Student;
 import org.example.exception.CustomException;
 import org.hibernate.Session;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface EnrollmentRepository {
 
@@ -19,11 +22,25 @@ public interface EnrollmentRepository {
 
     void update(Enrollment enrollment);
 
+    GradeChange setGrade(Long enrollmentId, Double grade, Session session) throws CustomException;
+
     void delete(Enrollment enrollment);
 
+    void delete(Enrollment enrollment, Session session) throws CustomException;
+
     Enrollment findEnrollmentByStudentAndCourse(Student student, Course course);
 
-    void recordGrades(Long courseId, Map<Long, Double> grades, Session session) throws CustomException;
+    Map<Enrollment, Double> recordGrades(Long courseId, Map<Long, Double> grades, Session session) throws CustomException;
 
     List<Enrollment> findEnrollmentsByCourseId(Long courseId, Session session) throws CustomException;
+
+    long countByCourseId(Long courseId, Session session) throws CustomException;
+
+    boolean existsByStudentAndCourse(Long studentId, Long courseId, Session session) throws CustomException;
+
+    Set<Long> findPassedCourseIds(Long studentId, double passingGrade, Session session) throws CustomException;
+
+    Map<String, Long> findRosterByCourseId(Long courseId, Session session) throws CustomException;
+
+    List<Enrollment> findByTeacherIds(Collection<Long> teacherIds, Session session) throws CustomException;
 }
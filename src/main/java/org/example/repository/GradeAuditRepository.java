@@ -0,0 +1,13 @@
+package org.example.repository;
+
+import org.example.entity.GradeAudit;
+import org.example.exception.CustomException;
+import org.hibernate.Session;
+
+import java.util.List;
+
+public interface GradeAuditRepository {
+    void saveAll(List<GradeAudit> audits, Session session) throws CustomException;
+
+    List<GradeAudit> findByCourseAndStudent(Long courseId, Long studentId) throws CustomException;
+}
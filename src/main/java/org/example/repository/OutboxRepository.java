@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.entity.OutboxEvent;
+import org.example.exception.CustomException;
+import org.hibernate.Session;
+
+import java.util.List;
+
+public interface OutboxRepository {
+    void save(OutboxEvent event, Session session) throws CustomException;
+
+    void saveAll(List<OutboxEvent> events, Session session) throws CustomException;
+
+    List<OutboxEvent> lockNextBatch(int limit, Session session) throws CustomException;
+
+    int deleteByIds(List<Long> ids, Session session) throws CustomException;
+}
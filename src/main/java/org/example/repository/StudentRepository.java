@@ -10,6 +10,8 @@ public interface StudentRepository {
 
     void update(Student student, Session session) throws CustomException;
 
+    int setPassword(Long studentId, String password, Session session) throws CustomException;
+
     void delete(Student student);
 
     void save(Student student, Session session) throws CustomException;
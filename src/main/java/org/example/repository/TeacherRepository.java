@@ -1,5 +1,6 @@
 package org.example.repository;
 
+import org.example.dto.TeacherSummary;
 import org.example.entity.Course;
 import org.example.entity.Teacher;
 import org.example.exception.CustomException;
@@ -10,6 +11,8 @@ import java.util.List;
 public interface TeacherRepository {
     Teacher findByName(String name) throws CustomException;
 
+    Teacher findByUsername(String username, Session session) throws CustomException;
+
     void update(Teacher teacher);
 
     void delete(Teacher teacher);
@@ -22,7 +25,13 @@ public interface TeacherRepository {
 
     List<Course> findCoursesByTeacherId(Long teacherId) throws CustomException;
 
-    void changePassword(Long teacherId, String newPassword) throws CustomException;
+    int setPassword(Long teacherId, String password, Session session) throws CustomException;
 
     Teacher getProfile(Long teacherId) throws CustomException;
+
+    List<Long> findAllIds(Session session) throws CustomException;
+
+    List<TeacherSummary> findAllSummaries(Session session) throws CustomException;
+
+    int deleteById(Long teacherId, Session session) throws CustomException;
 }
\ No newline at end of file
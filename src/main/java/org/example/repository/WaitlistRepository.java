@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.entity.WaitlistEntry;
+import org.example.exception.CustomException;
+import org.hibernate.Session;
+
+import java.util.List;
+
+public interface WaitlistRepository {
+    void save(WaitlistEntry entry, Session session) throws CustomException;
+
+    List<WaitlistEntry> lockNext(Long courseId, int limit, Session session) throws CustomException;
+
+    int findPosition(Long studentId, Long courseId) throws CustomException;
+
+    int deleteById(Long entryId, Session session) throws CustomException;
+}
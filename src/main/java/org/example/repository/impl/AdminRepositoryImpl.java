@@ -15,17 +15,37 @@ import java.util.List;
 public class AdminRepositoryImpl implements AdminRepository {
 
     /**
-     * Saves an admin entity to the database.
+     * Saves an admin entity in the caller's transaction.
      *
-     * @param admin the admin entity to save
+     * @param admin   the admin entity to save
+     * @param session the Hibernate session
      * @throws CustomException if there is an error while saving the admin
      */
     @Override
-    public void save(Admin admin) throws CustomException {
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+    public void save(Admin admin, Session session) throws CustomException {
+        try {
             session.persist(admin);
         } catch (Exception e) {
-            throw new CustomException("Failed to save admin", ErrorCode.REGISTER_TEACHER_FAILED.getCode());
+            throw new CustomException("Failed to save admin", ErrorCode.REGISTER_TEACHER_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Finds an admin by username through the unique index on {@code admins.username}.
+     *
+     * @param username the username
+     * @param session  the Hibernate session
+     * @return the admin, or null if there is none with that username
+     * @throws CustomException if there is an error while finding the admin
+     */
+    @Override
+    public Admin findByUsername(String username, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Admin.FIND_BY_USERNAME, Admin.class)
+                    .setParameter("username", username)
+                    .uniqueResult();
+        } catch (Exception e) {
+            throw new CustomException("Failed to find admin by username", ErrorCode.LOGIN_USER_FAILED_DB.getCode(), e);
         }
     }
 
@@ -54,24 +74,25 @@ public class AdminRepositoryImpl implements AdminRepository {
     @Override
     public List<Admin> findAll() throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("FROM Admin", Admin.class).list();
+            return session.createNamedQuery(Admin.FIND_ALL, Admin.class).list();
         } catch (Exception e) {
             throw new CustomException("Failed to find all admins", ErrorCode.VIEW_TEACHERS_FAILED.getCode());
         }
     }
 
     /**
-     * Updates an admin entity in the database.
+     * Updates an admin entity in the caller's transaction.
      *
-     * @param admin the admin entity to update
+     * @param admin   the admin entity to update
+     * @param session the Hibernate session
      * @throws CustomException if there is an error while updating the admin
      */
     @Override
-    public void update(Admin admin) throws CustomException {
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+    public void update(Admin admin, Session session) throws CustomException {
+        try {
             session.merge(admin);
         } catch (Exception e) {
-            throw new CustomException("Failed to update admin", ErrorCode.UPDATE_COURSE_FAILED.getCode());
+            throw new CustomException("Failed to update admin", ErrorCode.UPDATE_COURSE_FAILED.getCode(), e);
         }
     }
 
@@ -86,9 +107,7 @@ public class AdminRepositoryImpl implements AdminRepository {
     @Override
     public int deleteById(Session session, Long id) throws CustomException {
         try {
-            return session.createMutationQuery(
-                            "DELETE FROM Admin a WHERE a.id = :id"
-                    )
+            return session.createNamedMutationQuery(Admin.DELETE_BY_ID)
                     .setParameter("id", id)
                     .executeUpdate();
         } catch (Exception e) {
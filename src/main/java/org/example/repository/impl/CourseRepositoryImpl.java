@@ -1,20 +1,60 @@
 package org.example.repository.impl;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.example.dto.CourseCreationResult;
+import org.example.dto.CoursePatch;
+import org.example.dto.CourseSummary;
+import org.example.dto.DeletionReport;
+import org.example.dto.ScheduledSlot;
 import org.example.entity.Course;
+import org.example.entity.Course_;
+import org.example.entity.Enrollment;
 import org.example.entity.Student;
+import org.example.entity.TimeSlot;
+import org.example.enums.CourseCreationStatus;
 import org.example.enums.ErrorCode;
 import org.example.exception.CustomException;
 import org.example.repository.CourseRepository;
 import org.example.util.SessionFactoryInstance;
+import org.hibernate.LockMode;
 import org.hibernate.Session;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the CourseRepository interface.
  */
 public class CourseRepositoryImpl implements CourseRepository {
 
+    // ورودی‌ها به صورت آرایه می‌آیند تا کل دسته با یک دستور درج شود؛ ترتیب خروجی همان ترتیب ورودی است
+    private static final String INSERT_COURSES_SQL = "WITH input AS ("
+            + "SELECT * FROM unnest(CAST(:names AS varchar[]), CAST(:units AS integer[]), CAST(:capacities AS integer[]), "
+            + "CAST(:startDates AS date[]), CAST(:teacherIds AS bigint[])) "
+            + "WITH ORDINALITY AS i(course_name, units, capacity, start_date, teacher_id, position)), "
+            + "inserted AS ("
+            + "INSERT INTO courses (course_name, units, capacity, teacher_name, start_date, teacher_id) "
+            + "SELECT i.course_name, i.units, i.capacity, t.last_name, i.start_date, t.id "
+            + "FROM input i JOIN teachers t ON t.id = i.teacher_id ORDER BY i.position "
+            + "ON CONFLICT (course_name) DO NOTHING "
+            + "RETURNING id, course_name), "
+            + "slots AS ("
+            + "INSERT INTO course_time_slots (course_id, day_of_week, start_time, end_time) "
+            + "SELECT n.id, s.day_of_week, s.start_time, s.end_time "
+            + "FROM unnest(CAST(:slotCourseNames AS varchar[]), CAST(:slotDays AS varchar[]), "
+            + "CAST(:slotStarts AS time[]), CAST(:slotEnds AS time[])) AS s(course_name, day_of_week, start_time, end_time) "
+            + "JOIN inserted n ON n.course_name = s.course_name) "
+            + "SELECT i.course_name, n.id, EXISTS (SELECT 1 FROM teachers t WHERE t.id = i.teacher_id) "
+            + "FROM input i LEFT JOIN inserted n ON n.course_name = i.course_name ORDER BY i.position";
+
     /**
      * Saves a course entity to the database.
      *
@@ -55,7 +95,7 @@ public class CourseRepositoryImpl implements CourseRepository {
     @Override
     public List<Course> findAll(Session session) throws CustomException {
         try {
-            return session.createQuery("FROM Course", Course.class).list();
+            return session.createNamedQuery(Course.FIND_ALL_WITH_TEACHER, Course.class).list();
         } catch (Exception e) {
             throw new CustomException("Failed to retrieve courses", ErrorCode.RETRIEVE_COURSES_FAILED.getCode(), e);
         }
@@ -101,7 +141,7 @@ public class CourseRepositoryImpl implements CourseRepository {
     @Override
     public List<Student> findStudentsByCourseId(Long courseId) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("SELECT e.student FROM Enrollment e WHERE e.course.id = :courseId", Student.class).setParameter("courseId", courseId).list();
+            return session.createNamedQuery(Enrollment.FIND_STUDENTS_BY_COURSE_ID, Student.class).setParameter("courseId", courseId).list();
         } catch (Exception e) {
             throw new CustomException("Failed to find students by course ID", ErrorCode.FIND_STUDENTS_FAILED_BY_COURSE_ID.getCode(), e);
         }
@@ -139,4 +179,413 @@ public class CourseRepositoryImpl implements CourseRepository {
             throw new CustomException("Failed to update course", ErrorCode.UPDATE_COURSE_FAILED.getCode(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the column changes of a patch with one UPDATE of only those columns, without
+     * loading the course. Time slots are not columns and are ignored.
+     *
+     * @param courseId the ID of the course
+     * @param patch    the changes; null fields are left unchanged
+     * @param session  the Hibernate session, inside a transaction
+     * @return the number of updated courses, 0 if there is no such course
+     * @throws CustomException if there is an error while updating the course
+     */
+    @Override
+    public int patch(Long courseId, CoursePatch patch, Session session) throws CustomException {
+        if (patch.getCourseName() == null && patch.getUnits() == null && patch.getCapacity() == null
+                && patch.getStartDate() == null) {
+            return 0;
+        }
+        try {
+            // ستون‌ها از متامدل Course_ می‌آیند تا نام اشتباه در زمان کامپایل پیدا شود
+            CriteriaBuilder builder = session.getCriteriaBuilder();
+            CriteriaUpdate<Course> update = builder.createCriteriaUpdate(Course.class);
+            Root<Course> course = update.from(Course.class);
+            if (patch.getCourseName() != null) {
+                update.set(course.get(Course_.courseName), patch.getCourseName());
+            }
+            if (patch.getUnits() != null) {
+                update.set(course.get(Course_.units), patch.getUnits());
+            }
+            if (patch.getCapacity() != null) {
+                update.set(course.get(Course_.capacity), patch.getCapacity());
+            }
+            if (patch.getStartDate() != null) {
+                update.set(course.get(Course_.startDate), patch.getStartDate());
+            }
+            update.where(builder.equal(course.get(Course_.id), courseId));
+            return session.createMutationQuery(update).executeUpdate();
+        } catch (Exception e) {
+            throw new CustomException("Failed to update course", ErrorCode.UPDATE_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Finds a course by its ID and locks its row until the transaction ends, so that seat
+     * counting and enrollment for the course are serialized.
+     *
+     * @param courseId the ID of the course
+     * @param session  the Hibernate session
+     * @return the locked course, or null if not found
+     * @throws CustomException if there is an error while locking the course
+     */
+    @Override
+    public Course findByIdForUpdate(Long courseId, Session session) throws CustomException {
+        try {
+            return session.get(Course.class, courseId, LockMode.PESSIMISTIC_WRITE);
+        } catch (Exception e) {
+            throw new CustomException("Failed to lock course", ErrorCode.COURSE_NOT_FOUND.getCode(), e);
+        }
+    }
+
+    /**
+     * Finds the meeting times of every course a student is enrolled in.
+     *
+     * @param studentId the ID of the student
+     * @param session   the Hibernate session
+     * @return the student's meeting times
+     * @throws CustomException if there is an error while loading the meeting times
+     */
+    @Override
+    public List<ScheduledSlot> findTimeSlotsByStudentId(Long studentId, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Enrollment.FIND_SCHEDULED_SLOTS_BY_STUDENT_ID, ScheduledSlot.class)
+                    .setParameter("studentId", studentId)
+                    .list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to load student schedule", ErrorCode.SCHEDULE_CONFLICT.getCode(), e);
+        }
+    }
+
+    /**
+     * Streams the meeting times of every enrollment, grouped by student.
+     * The stream must be closed before the session.
+     *
+     * @param session the Hibernate session
+     * @return the meeting times ordered by student ID
+     * @throws CustomException if there is an error while loading the meeting times
+     */
+    @Override
+    public Stream<ScheduledSlot> streamAllScheduledSlots(Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Enrollment.FIND_ALL_SCHEDULED_SLOTS, ScheduledSlot.class)
+                    .setFetchSize(500)
+                    .setReadOnly(true)
+                    .getResultStream();
+        } catch (Exception e) {
+            throw new CustomException("Failed to load schedules", ErrorCode.VALIDATE_SCHEDULES_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Loads the direct prerequisites of every course in one query.
+     *
+     * @param session the Hibernate session
+     * @return the IDs of each course's direct prerequisites, by course ID
+     * @throws CustomException if there is an error while loading the prerequisites
+     */
+    @Override
+    public Map<Long, Set<Long>> findAllPrerequisiteEdges(Session session) throws CustomException {
+        try {
+            Map<Long, Set<Long>> edges = new HashMap<>();
+            for (Object[] row : session.createNamedQuery(Course.FIND_PREREQUISITE_EDGES, Object[].class).list()) {
+                edges.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+            }
+            return edges;
+        } catch (Exception e) {
+            throw new CustomException("Failed to load course prerequisites", ErrorCode.UPDATE_PREREQUISITES_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Reads the version of the prerequisite graph, which every change to the prerequisite links increments.
+     *
+     * @param session the Hibernate session
+     * @return the current version
+     * @throws CustomException if there is an error while reading the version
+     */
+    @Override
+    public long findPrerequisiteGraphVersion(Session session) throws CustomException {
+        try {
+            return session.createNativeQuery("SELECT version FROM prerequisite_graph_version WHERE id = 1", Long.class)
+                    .getSingleResult();
+        } catch (Exception e) {
+            throw new CustomException("Failed to load course prerequisites", ErrorCode.UPDATE_PREREQUISITES_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Increments the version of the prerequisite graph. The version row stays locked until the
+     * transaction ends, so prerequisite changes are serialized across processes; edges read after
+     * this call include every change committed before it.
+     *
+     * @param session the Hibernate session, inside a transaction
+     * @return the new version
+     * @throws CustomException if there is an error while locking the graph
+     */
+    @Override
+    public long lockPrerequisiteGraph(Session session) throws CustomException {
+        try {
+            return session.createNativeQuery("UPDATE prerequisite_graph_version SET version = version + 1 WHERE id = 1 RETURNING version", Long.class)
+                    .getSingleResult();
+        } catch (Exception e) {
+            throw new CustomException("Failed to lock course prerequisites", ErrorCode.UPDATE_PREREQUISITES_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Deletes a course together with its enrollments, waitlist entries, time slots and
+     * prerequisite links in a few set-based statements, without loading any of them. An
+     * {@code ENROLLMENT_DROPPED} outbox event is written for every deleted enrollment.
+     *
+     * @param courseId the ID of the course
+     * @param session  the Hibernate session, inside a transaction
+     * @return the number of rows deleted from each table
+     * @throws CustomException if there is an error while deleting the course
+     */
+    @Override
+    public DeletionReport deleteCascade(Long courseId, Session session) throws CustomException {
+        return deleteCourses("SELECT id FROM courses WHERE id = :id", courseId, session);
+    }
+
+    /**
+     * Deletes every course of a teacher together with their enrollments, waitlist entries, time
+     * slots and prerequisite links in a few set-based statements, without loading any of them. An
+     * {@code ENROLLMENT_DROPPED} outbox event is written for every deleted enrollment.
+     *
+     * @param teacherId the ID of the teacher
+     * @param session   the Hibernate session, inside a transaction
+     * @return the number of rows deleted from each table
+     * @throws CustomException if there is an error while deleting the courses
+     */
+    @Override
+    public DeletionReport deleteCascadeByTeacherId(Long teacherId, Session session) throws CustomException {
+        return deleteCourses("SELECT id FROM courses WHERE teacher_id = :id", teacherId, session);
+    }
+
+    private DeletionReport deleteCourses(String selectCourseIds, Long id, Session session) throws CustomException {
+        try {
+            // قفل سطرهای درس، مثل ثبت‌نام، تا ثبت‌نام هم‌زمان بین حذف‌ها جا نماند
+            List<Long> courseIds = session.createNativeQuery(selectCourseIds + " ORDER BY id FOR UPDATE", Long.class)
+                    .setParameter("id", id)
+                    .list();
+            if (courseIds.isEmpty()) {
+                return new DeletionReport(courseIds, 0, 0, 0, 0, 0, 0, 0);
+            }
+            int waitlistEntries = executeForCourseIds("DELETE FROM waitlist_entries WHERE course_id IN (:ids)", courseIds, session);
+            // رویداد حذف برای هر ثبت‌نام در همان تراکنش، مثل حذف تکی؛ شناسه از همان sequence موجودیت گرفته می‌شود
+            int droppedEvents = executeForCourseIds("INSERT INTO outbox_events (id, event_type, aggregate_id, payload, created_at) "
+                    + "SELECT nextval('outbox_events_seq'), 'ENROLLMENT_DROPPED', e.id, json_build_object("
+                    + "'enrollmentId', e.id, 'studentId', e.student_id, 'courseId', e.course_id, "
+                    + "'oldGrade', NULL, 'newGrade', e.grade)::text, now() "
+                    + "FROM enrollments e WHERE e.course_id IN (:ids)", courseIds, session);
+            int enrollments = executeForCourseIds("DELETE FROM enrollments WHERE course_id IN (:ids)", courseIds, session);
+            int timeSlots = executeForCourseIds("DELETE FROM course_time_slots WHERE course_id IN (:ids)", courseIds, session);
+            lockPrerequisiteGraph(session);
+            int prerequisiteLinks = executeForCourseIds(
+                    "DELETE FROM course_prerequisites WHERE course_id IN (:ids) OR prerequisite_id IN (:ids)", courseIds, session);
+            int courses = executeForCourseIds("DELETE FROM courses WHERE id IN (:ids)", courseIds, session);
+            return new DeletionReport(courseIds, 0, courses, enrollments, waitlistEntries, timeSlots, prerequisiteLinks, droppedEvents);
+        } catch (Exception e) {
+            throw new CustomException("Failed to delete courses", ErrorCode.DELETE_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    private int executeForCourseIds(String sql, List<Long> courseIds, Session session) {
+        return session.createNativeMutationQuery(sql)
+                .setParameterList("ids", courseIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Counts the courses of a teacher that a reassignment to another teacher would move.
+     *
+     * @param fromTeacherId the ID of the current teacher
+     * @param toTeacherId   the ID of the new teacher
+     * @param session       the Hibernate session
+     * @return the number of courses that would move
+     * @throws CustomException if there is an error while counting the courses
+     */
+    @Override
+    public long countReassignable(Long fromTeacherId, Long toTeacherId, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Course.COUNT_REASSIGNABLE_FROM_TEACHER, Long.class)
+                    .setParameter("fromTeacherId", fromTeacherId)
+                    .setParameter("toTeacherId", toTeacherId)
+                    .getSingleResult();
+        } catch (Exception e) {
+            throw new CustomException("Failed to count courses to reassign", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Counts the courses of a list that a reassignment to a teacher would move, that is those
+     * that exist and are taught by someone else.
+     *
+     * @param courseIds   the IDs of the courses
+     * @param toTeacherId the ID of the new teacher
+     * @param session     the Hibernate session
+     * @return the number of courses that would move
+     * @throws CustomException if there is an error while counting the courses
+     */
+    @Override
+    public long countReassignable(Collection<Long> courseIds, Long toTeacherId, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Course.COUNT_REASSIGNABLE_BY_IDS, Long.class)
+                    .setParameterList("courseIds", courseIds)
+                    .setParameter("toTeacherId", toTeacherId)
+                    .getSingleResult();
+        } catch (Exception e) {
+            throw new CustomException("Failed to count courses to reassign", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Moves every course of a teacher to another teacher with one UPDATE, refreshing the
+     * denormalized teacher name from the new teacher's row.
+     *
+     * @param fromTeacherId the ID of the current teacher
+     * @param toTeacherId   the ID of the new teacher
+     * @param session       the Hibernate session, inside a transaction
+     * @return the number of moved courses, 0 if the new teacher does not exist
+     * @throws CustomException if there is an error while reassigning the courses
+     */
+    @Override
+    public int reassign(Long fromTeacherId, Long toTeacherId, Session session) throws CustomException {
+        try {
+            return session.createNativeMutationQuery("UPDATE courses c SET teacher_id = t.id, teacher_name = t.last_name "
+                            + "FROM teachers t WHERE t.id = :toTeacherId AND c.teacher_id = :fromTeacherId AND c.teacher_id <> t.id")
+                    .setParameter("fromTeacherId", fromTeacherId)
+                    .setParameter("toTeacherId", toTeacherId)
+                    .executeUpdate();
+        } catch (Exception e) {
+            throw new CustomException("Failed to reassign courses", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Moves a list of courses to a teacher with one UPDATE, refreshing the denormalized teacher
+     * name from the teacher's row. Courses that do not exist or already belong to the teacher
+     * are left alone.
+     *
+     * @param courseIds   the IDs of the courses
+     * @param toTeacherId the ID of the new teacher
+     * @param session     the Hibernate session, inside a transaction
+     * @return the number of moved courses, 0 if the teacher does not exist
+     * @throws CustomException if there is an error while reassigning the courses
+     */
+    @Override
+    public int reassign(Collection<Long> courseIds, Long toTeacherId, Session session) throws CustomException {
+        try {
+            return session.createNativeMutationQuery("UPDATE courses c SET teacher_id = t.id, teacher_name = t.last_name "
+                            + "FROM teachers t WHERE t.id = :toTeacherId AND c.id IN (:courseIds) AND c.teacher_id <> t.id")
+                    .setParameterList("courseIds", courseIds)
+                    .setParameter("toTeacherId", toTeacherId)
+                    .executeUpdate();
+        } catch (Exception e) {
+            throw new CustomException("Failed to reassign courses", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Inserts a batch of courses and their time slots in a single statement. Each course's
+     * teacher is looked up by ID inside the statement, which also copies the teacher's last name
+     * into the course; a course whose name is already taken is skipped by the unique constraint
+     * on {@code course_name} instead of failing the batch.
+     *
+     * @param courses the courses, with distinct names and a teacher ID each
+     * @param session the Hibernate session, inside a transaction
+     * @return the outcome of each course, in the order given
+     * @throws CustomException if there is an error while inserting the courses
+     */
+    @Override
+    public List<CourseCreationResult> insertAll(List<Course> courses, Session session) throws CustomException {
+        int size = courses.size();
+        String[] names = new String[size];
+        Integer[] units = new Integer[size];
+        Integer[] capacities = new Integer[size];
+        String[] startDates = new String[size];
+        Long[] teacherIds = new Long[size];
+        List<String> slotCourseNames = new ArrayList<>();
+        List<String> slotDays = new ArrayList<>();
+        List<String> slotStarts = new ArrayList<>();
+        List<String> slotEnds = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Course course = courses.get(i);
+            names[i] = course.getCourseName();
+            units[i] = course.getUnits();
+            capacities[i] = course.getCapacity();
+            startDates[i] = course.getStartDate().toString();
+            teacherIds[i] = course.getTeacher().getId();
+            if (course.getTimeSlots() != null) {
+                for (TimeSlot slot : course.getTimeSlots()) {
+                    slotCourseNames.add(course.getCourseName());
+                    slotDays.add(slot.getDayOfWeek().name());
+                    slotStarts.add(slot.getStartTime().toString());
+                    slotEnds.add(slot.getEndTime().toString());
+                }
+            }
+        }
+        try {
+            List<Object[]> rows = session.createNativeQuery(INSERT_COURSES_SQL, Object[].class)
+                    .setParameter("names", names)
+                    .setParameter("units", units)
+                    .setParameter("capacities", capacities)
+                    .setParameter("startDates", startDates)
+                    .setParameter("teacherIds", teacherIds)
+                    .setParameter("slotCourseNames", slotCourseNames.toArray(new String[0]))
+                    .setParameter("slotDays", slotDays.toArray(new String[0]))
+                    .setParameter("slotStarts", slotStarts.toArray(new String[0]))
+                    .setParameter("slotEnds", slotEnds.toArray(new String[0]))
+                    .list();
+            List<CourseCreationResult> results = new ArrayList<>(size);
+            for (Object[] row : rows) {
+                Long courseId = row[1] == null ? null : ((Number) row[1]).longValue();
+                CourseCreationStatus status = courseId != null ? CourseCreationStatus.CREATED
+                        : Boolean.TRUE.equals(row[2]) ? CourseCreationStatus.DUPLICATE_NAME
+                        : CourseCreationStatus.TEACHER_NOT_FOUND;
+                results.add(new CourseCreationResult((String) row[0], courseId, status));
+            }
+            return results;
+        } catch (Exception e) {
+            throw new CustomException("Failed to create courses", ErrorCode.CREATE_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Finds the courses of a group of teachers.
+     *
+     * @param teacherIds the IDs of the teachers
+     * @param session    the Hibernate session
+     * @return the courses with their teachers, ordered by ID
+     * @throws CustomException if there is an error while finding the courses
+     */
+    @Override
+    public List<Course> findByTeacherIds(Collection<Long> teacherIds, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Course.FIND_BY_TEACHER_IDS, Course.class)
+                    .setParameterList("teacherIds", teacherIds)
+                    .list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to find courses by teacher ID", ErrorCode.FIND_COURSES_FAILED_BY_TEACHER_ID.getCode(), e);
+        }
+    }
+
+    /**
+     * Loads the catalog entry of every course, with its teacher and enrollment count, in one query.
+     *
+     * @param session the Hibernate session
+     * @return the course summaries, ordered by ID
+     * @throws CustomException if there is an error while loading the courses
+     */
+    @Override
+    public List<CourseSummary> findAllSummaries(Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Course.FIND_ALL_SUMMARIES, CourseSummary.class)
+                    .setReadOnly(true)
+                    .list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve courses", ErrorCode.VIEW_COURSES_FAILED.getCode(), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.repository.impl;
 
+import org.example.dto.GradeChange;
 import org.example.entity.Course;
 import org.example.entity.Enrollment;
 import org.example.entity.Student;
@@ -8,16 +9,29 @@ import org.example.exception.CustomException;
 import org.example.repository.EnrollmentRepository;
 import org.example.util.SessionFactoryInstance;
 import org.hibernate.Session;
-import org.hibernate.query.Query;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Implementation of the EnrollmentRepository interface.
  */
 public class EnrollmentRepositoryImpl implements EnrollmentRepository {
 
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
+    // ردیف ابتدا در زیرکوئری قفل می‌شود تا نمره قبلی همان نمره‌ای باشد که این دستور جایگزین می‌کند
+    private static final String SET_GRADE_SQL = "UPDATE enrollments e SET grade = CAST(:grade AS double precision) "
+            + "FROM (SELECT id, grade FROM enrollments WHERE id = :id FOR UPDATE) old "
+            + "WHERE e.id = old.id "
+            + "RETURNING e.student_id, e.course_id, old.grade";
+
     /**
      * * Saves an enrollment entity to the database.
      *
@@ -49,6 +63,33 @@ public class EnrollmentRepositoryImpl implements EnrollmentRepository {
         }
     }
 
+    /**
+     * Sets the grade of an enrollment with a single UPDATE of the grade column that also
+     * returns the previous grade, without loading the enrollment.
+     *
+     * @param enrollmentId the ID of the enrollment
+     * @param grade        the new grade, or null to clear it
+     * @param session      the Hibernate session, inside a transaction
+     * @return the grade before and after the update, or null if the enrollment does not exist
+     * @throws CustomException if there is an error while updating the grade
+     */
+    @Override
+    public GradeChange setGrade(Long enrollmentId, Double grade, Session session) throws CustomException {
+        try {
+            Object[] row = session.createNativeQuery(SET_GRADE_SQL, Object[].class)
+                    .setParameter("grade", grade, Double.class)
+                    .setParameter("id", enrollmentId)
+                    .uniqueResult();
+            if (row == null) {
+                return null;
+            }
+            return new GradeChange(enrollmentId, ((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                    row[2] == null ? null : ((Number) row[2]).doubleValue(), grade);
+        } catch (Exception e) {
+            throw new CustomException("Failed to update enrollment", ErrorCode.UPDATE_ENROLLMENT_FAILED.getCode(), e);
+        }
+    }
+
     /**
      * Deletes an enrollment entity from the database.
      *
@@ -64,6 +105,22 @@ public class EnrollmentRepositoryImpl implements EnrollmentRepository {
         }
     }
 
+    /**
+     * Deletes an enrollment entity within the given session.
+     *
+     * @param enrollment the enrollment entity to delete
+     * @param session    the Hibernate session
+     * @throws CustomException if there is an error while deleting the enrollment
+     */
+    @Override
+    public void delete(Enrollment enrollment, Session session) throws CustomException {
+        try {
+            session.remove(enrollment);
+        } catch (Exception e) {
+            throw new CustomException("Failed to delete enrollment", ErrorCode.DELETE_ENROLLMENT_FAILED.getCode(), e);
+        }
+    }
+
     /**
      * Finds an enrollment entity by its ID.
      *
@@ -89,7 +146,7 @@ public class EnrollmentRepositoryImpl implements EnrollmentRepository {
     @Override
     public List<Enrollment> findAll() throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("from Enrollment", Enrollment.class).list();
+            return session.createNamedQuery(Enrollment.FIND_ALL_WITH_DETAILS, Enrollment.class).list();
         } catch (Exception e) {
             throw new CustomException("Failed to find all enrollments", ErrorCode.VIEW_ENROLLMENTS_FAILED.getCode(), e); // استفاده از e برای نمایش جزئیات خطا
         }
@@ -106,11 +163,10 @@ public class EnrollmentRepositoryImpl implements EnrollmentRepository {
     @Override
     public Enrollment findEnrollmentByStudentAndCourse(Student student, Course course) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            String hql = "FROM Enrollment E WHERE E.student = :student AND E.course = :course";
-            Query query = session.createQuery(hql);
-            query.setParameter("student", student);
-            query.setParameter("course", course);
-            return (Enrollment) query.uniqueResult();
+            return session.createNamedQuery(Enrollment.FIND_BY_STUDENT_AND_COURSE, Enrollment.class)
+                    .setParameter("studentId", student.getId())
+                    .setParameter("courseId", course.getId())
+                    .uniqueResult();
         } catch (Exception e) {
             throw new CustomException("Failed to find enrollment by student and course", ErrorCode.FIND_ENROLLMENT_BY_ID_FAILED.getCode(), e); // استفاده از e برای نمایش جزئیات خطا
         }
@@ -118,23 +174,45 @@ public class EnrollmentRepositoryImpl implements EnrollmentRepository {
 
     /**
      * Records grades for students in a course.
+     * The enrollments are loaded with a single query and updated in one JDBC batch at flush.
      *
      * @param courseId the ID of the course
      * @param grades   a map of student IDs and their corresponding grades
      * @param session  the Hibernate session
+     * @return the enrollments whose grade changed, mapped to their previous grade
      * @throws CustomException if there is an error while recording grades
      */
     @Override
-    public void recordGrades(Long courseId, Map<Long, Double> grades, Session session) throws CustomException {
+    public Map<Enrollment, Double> recordGrades(Long courseId, Map<Long, Double> grades, Session session) throws CustomException {
         try {
-            for (Map.Entry<Long, Double> entry : grades.entrySet()) {
-                Long studentId = entry.getKey();
-                Double grade = entry.getValue();
-                Enrollment enrollment = session.createQuery("FROM Enrollment WHERE course.id = :courseId AND student.id = :studentId", Enrollment.class).setParameter("courseId", courseId).setParameter("studentId", studentId).uniqueResult();
-                if (enrollment != null) {
+            Map<Enrollment, Double> previousGrades = new LinkedHashMap<>();
+            if (grades.isEmpty()) {
+                return previousGrades;
+            }
+            List<Enrollment> enrollments;
+            if (grades.size() > MAX_IN_LIST_SIZE) {
+                // بیش از حد پارامترهای یک دستور؛ کل کلاس بارگذاری و در حافظه فیلتر می‌شود
+                enrollments = session.createNamedQuery(Enrollment.FIND_BY_COURSE_ID, Enrollment.class)
+                        .setParameter("courseId", courseId)
+                        .list();
+            } else {
+                enrollments = session.createNamedQuery(Enrollment.FIND_BY_COURSE_AND_STUDENT_IDS, Enrollment.class)
+                        .setParameter("courseId", courseId)
+                        .setParameterList("studentIds", grades.keySet())
+                        .list();
+            }
+            for (Enrollment enrollment : enrollments) {
+                Long studentId = enrollment.getStudent().getId();
+                if (!grades.containsKey(studentId)) {
+                    continue;
+                }
+                Double grade = grades.get(studentId);
+                if (!Objects.equals(enrollment.getGrade(), grade)) {
+                    previousGrades.put(enrollment, enrollment.getGrade());
                     enrollment.setGrade(grade);
                 }
             }
+            return previousGrades;
         } catch (Exception e) {
             throw new CustomException("Failed to record grades", ErrorCode.RECORD_GRADES_FAILED.getCode(), e);
         }
@@ -151,11 +229,116 @@ public class EnrollmentRepositoryImpl implements EnrollmentRepository {
     @Override
     public List<Enrollment> findEnrollmentsByCourseId(Long courseId, Session session) throws CustomException {
         try {
-            return session.createQuery("FROM Enrollment WHERE course.id = :courseId", Enrollment.class)
+            return session.createNamedQuery(Enrollment.FIND_BY_COURSE_ID, Enrollment.class)
                     .setParameter("courseId", courseId)
                     .list();
         } catch (Exception e) {
             throw new CustomException("Failed to retrieve enrollments for course", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
         }
     }
+
+    /**
+     * Counts the enrollments of a course without loading them.
+     *
+     * @param courseId the ID of the course
+     * @param session  the Hibernate session
+     * @return the number of enrolled students
+     * @throws CustomException if there is an error while counting the enrollments
+     */
+    @Override
+    public long countByCourseId(Long courseId, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Enrollment.COUNT_BY_COURSE_ID, Long.class)
+                    .setParameter("courseId", courseId)
+                    .uniqueResult();
+        } catch (Exception e) {
+            throw new CustomException("Failed to count enrollments for course", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Checks whether a student is enrolled in a course without loading the enrollment.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @param session   the Hibernate session
+     * @return true if the student is enrolled in the course
+     * @throws CustomException if there is an error while checking the enrollment
+     */
+    @Override
+    public boolean existsByStudentAndCourse(Long studentId, Long courseId, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Enrollment.EXISTS_BY_STUDENT_AND_COURSE, Integer.class)
+                    .setParameter("studentId", studentId)
+                    .setParameter("courseId", courseId)
+                    .setMaxResults(1)
+                    .uniqueResult() != null;
+        } catch (Exception e) {
+            throw new CustomException("Failed to check enrollment", ErrorCode.FIND_ENROLLMENT_BY_ID_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Finds the courses a student has passed.
+     *
+     * @param studentId    the ID of the student
+     * @param passingGrade the lowest passing grade
+     * @param session      the Hibernate session
+     * @return the IDs of the passed courses
+     * @throws CustomException if there is an error while loading the enrollments
+     */
+    @Override
+    public Set<Long> findPassedCourseIds(Long studentId, double passingGrade, Session session) throws CustomException {
+        try {
+            return new HashSet<>(session.createNamedQuery(Enrollment.FIND_PASSED_COURSE_IDS, Long.class)
+                    .setParameter("studentId", studentId)
+                    .setParameter("passingGrade", passingGrade)
+                    .list());
+        } catch (Exception e) {
+            throw new CustomException("Failed to load passed courses", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Loads the roster of a course as student numbers mapped to student IDs, without loading the students.
+     *
+     * @param courseId the ID of the course
+     * @param session  the Hibernate session
+     * @return the student ID of every enrolled student, by student number
+     * @throws CustomException if there is an error while loading the roster
+     */
+    @Override
+    public Map<String, Long> findRosterByCourseId(Long courseId, Session session) throws CustomException {
+        try {
+            Map<String, Long> roster = new HashMap<>();
+            for (Object[] row : session.createNamedQuery(Enrollment.FIND_ROSTER_BY_COURSE_ID, Object[].class)
+                    .setParameter("courseId", courseId)
+                    .list()) {
+                roster.put((String) row[0], (Long) row[1]);
+            }
+            return roster;
+        } catch (Exception e) {
+            throw new CustomException("Failed to load course roster", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Finds the enrollments in the courses of a group of teachers, with their students and courses.
+     *
+     * @param teacherIds the IDs of the teachers
+     * @param session    the Hibernate session
+     * @return the enrollments ordered by course and student name
+     * @throws CustomException if there is an error while finding the enrollments
+     */
+    @Override
+    public List<Enrollment> findByTeacherIds(Collection<Long> teacherIds, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Enrollment.FIND_BY_TEACHER_IDS, Enrollment.class)
+                    .setParameterList("teacherIds", teacherIds)
+                    .setReadOnly(true)
+                    .list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve enrollments for teachers", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
+        }
+    }
 }
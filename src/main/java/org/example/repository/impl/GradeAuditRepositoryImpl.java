@@ -0,0 +1,55 @@
+package org.example.repository.impl;
+
+import org.example.entity.GradeAudit;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.repository.GradeAuditRepository;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.Session;
+
+import java.util.List;
+
+/**
+ * Implementation of the GradeAuditRepository interface.
+ */
+public class GradeAuditRepositoryImpl implements GradeAuditRepository {
+
+    /**
+     * Persists a batch of grade audit events. The inserts are sent to the database
+     * in JDBC batches when the session is flushed.
+     *
+     * @param audits  the audit events to save
+     * @param session the Hibernate session
+     * @throws CustomException if there is an error while saving the audit events
+     */
+    @Override
+    public void saveAll(List<GradeAudit> audits, Session session) throws CustomException {
+        try {
+            for (GradeAudit audit : audits) {
+                session.persist(audit);
+            }
+        } catch (Exception e) {
+            throw new CustomException("Failed to save grade audits", ErrorCode.SAVE_GRADE_AUDIT_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Finds the grade history of a student in a course, oldest change first.
+     *
+     * @param courseId  the ID of the course
+     * @param studentId the ID of the student
+     * @return the recorded grade changes
+     * @throws CustomException if there is an error while finding the audit events
+     */
+    @Override
+    public List<GradeAudit> findByCourseAndStudent(Long courseId, Long studentId) throws CustomException {
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            return session.createNamedQuery(GradeAudit.FIND_BY_COURSE_AND_STUDENT, GradeAudit.class)
+                    .setParameter("courseId", courseId)
+                    .setParameter("studentId", studentId)
+                    .list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to find grade history", ErrorCode.VIEW_GRADE_HISTORY_FAILED.getCode(), e);
+        }
+    }
+}
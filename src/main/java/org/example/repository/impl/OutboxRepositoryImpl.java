@@ -0,0 +1,90 @@
+package org.example.repository.impl;
+
+import org.example.entity.OutboxEvent;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.repository.OutboxRepository;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+
+import java.util.List;
+
+/**
+ * Implementation of the OutboxRepository interface.
+ */
+public class OutboxRepositoryImpl implements OutboxRepository {
+
+    /**
+     * Saves an outbox event in the caller's transaction.
+     *
+     * @param event   the event to save
+     * @param session the Hibernate session
+     * @throws CustomException if there is an error while saving the event
+     */
+    @Override
+    public void save(OutboxEvent event, Session session) throws CustomException {
+        try {
+            session.persist(event);
+        } catch (Exception e) {
+            throw new CustomException("Failed to save outbox event", ErrorCode.SAVE_OUTBOX_EVENT_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Saves outbox events in the caller's transaction. The inserts are batched at flush.
+     *
+     * @param events  the events to save
+     * @param session the Hibernate session
+     * @throws CustomException if there is an error while saving the events
+     */
+    @Override
+    public void saveAll(List<OutboxEvent> events, Session session) throws CustomException {
+        try {
+            for (OutboxEvent event : events) {
+                session.persist(event);
+            }
+        } catch (Exception e) {
+            throw new CustomException("Failed to save outbox events", ErrorCode.SAVE_OUTBOX_EVENT_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Locks the oldest undelivered events with {@code FOR UPDATE SKIP LOCKED}, so several relays
+     * can work in parallel without blocking on or delivering each other's rows.
+     *
+     * @param limit   the maximum number of events
+     * @param session the Hibernate session, with an active transaction
+     * @return the locked events, oldest first
+     * @throws CustomException if there is an error while reading the events
+     */
+    @Override
+    public List<OutboxEvent> lockNextBatch(int limit, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(OutboxEvent.FIND_OLDEST, OutboxEvent.class)
+                    .setMaxResults(limit)
+                    .setHibernateLockMode(LockMode.UPGRADE_SKIPLOCKED)
+                    .list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to read outbox events", ErrorCode.RELAY_OUTBOX_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Deletes delivered events.
+     *
+     * @param ids     the IDs of the delivered events
+     * @param session the Hibernate session
+     * @return the number of deleted rows
+     * @throws CustomException if there is an error while deleting the events
+     */
+    @Override
+    public int deleteByIds(List<Long> ids, Session session) throws CustomException {
+        try {
+            return session.createNamedMutationQuery(OutboxEvent.DELETE_BY_IDS)
+                    .setParameterList("ids", ids)
+                    .executeUpdate();
+        } catch (Exception e) {
+            throw new CustomException("Failed to prune outbox events", ErrorCode.RELAY_OUTBOX_FAILED.getCode(), e);
+        }
+    }
+}
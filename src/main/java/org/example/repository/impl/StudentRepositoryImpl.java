@@ -31,7 +31,8 @@ public class StudentRepositoryImpl implements StudentRepository {
     }
 
     /**
-     * Finds a student entity by its ID.
+     * Finds a student entity by its ID, with the lazy profile columns loaded so that they can
+     * be read after the session is closed.
      *
      * @param id the ID of the student entity
      * @return the student entity, or null if not found
@@ -40,7 +41,11 @@ public class StudentRepositoryImpl implements StudentRepository {
     @Override
     public Student findById(Long id) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.get(Student.class, id);
+            Student student = session.get(Student.class, id);
+            if (student != null) {
+                student.getMobileNumber(); // کل گروه profile با یک SELECT بارگذاری می‌شود
+            }
+            return student;
         } catch (Exception e) {
             throw new CustomException("Failed to find student by ID", ErrorCode.FIND_STUDENT_BY_ID_FAILED.getCode(), e); // استفاده از e برای نمایش جزئیات خطا
         }
@@ -55,7 +60,7 @@ public class StudentRepositoryImpl implements StudentRepository {
     @Override
     public List<Student> findAll() throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("from Student", Student.class).list();
+            return session.createNamedQuery(Student.FIND_ALL, Student.class).list();
         } catch (Exception e) {
             throw new CustomException("Failed to find all students", ErrorCode.VIEW_STUDENTS_FAILED.getCode(), e); // استفاده از e برای نمایش جزئیات خطا
         }
@@ -77,6 +82,27 @@ public class StudentRepositoryImpl implements StudentRepository {
         }
     }
 
+    /**
+     * Sets a student's password with one UPDATE of the password column, without loading the student.
+     *
+     * @param studentId the ID of the student
+     * @param password  the new password
+     * @param session   the Hibernate session, inside a transaction
+     * @return the number of updated students, 0 if there is no such student
+     * @throws CustomException if there is an error while changing the password
+     */
+    @Override
+    public int setPassword(Long studentId, String password, Session session) throws CustomException {
+        try {
+            return session.createNamedMutationQuery(Student.SET_PASSWORD)
+                    .setParameter("password", password)
+                    .setParameter("studentId", studentId)
+                    .executeUpdate();
+        } catch (Exception e) {
+            throw new CustomException("Failed to change student's password", ErrorCode.UPDATE_STUDENT_FAILED.getCode(), e);
+        }
+    }
+
     /**
      * Deletes a student entity from the database.
      *
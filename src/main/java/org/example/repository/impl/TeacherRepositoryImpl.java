@@ -1,5 +1,6 @@
 package org.example.repository.impl;
 
+import org.example.dto.TeacherSummary;
 import org.example.entity.Course;
 import org.example.entity.Teacher;
 import org.example.enums.ErrorCode;
@@ -57,7 +58,7 @@ public class TeacherRepositoryImpl implements TeacherRepository {
     @Override
     public List<Teacher> findAll() throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("from Teacher", Teacher.class).list();
+            return session.createNamedQuery(Teacher.FIND_ALL, Teacher.class).list();
         } catch (Exception e) {
             throw new CustomException("Failed to find all teachers", ErrorCode.VIEW_TEACHERS_FAILED.getCode(), e);
         }
@@ -73,14 +74,33 @@ public class TeacherRepositoryImpl implements TeacherRepository {
     @Override
     public Teacher findByName(String name) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("FROM Teacher WHERE lastName = :name", Teacher.class)
-                    .setParameter("name", name) // تصحیح پارامتر به "name"
+            return session.createNamedQuery(Teacher.FIND_BY_LAST_NAME, Teacher.class)
+                    .setParameter("lastName", name)
                     .uniqueResult();
         } catch (Exception e) {
             throw new CustomException("Failed to find teacher by name", ErrorCode.TEACHER_NOT_FOUND.getCode(), e);
         }
     }
 
+    /**
+     * Finds a teacher by username through the unique index on {@code teachers.username}.
+     *
+     * @param username the username
+     * @param session  the Hibernate session
+     * @return the teacher, or null if there is none with that username
+     * @throws CustomException if there is an error while finding the teacher
+     */
+    @Override
+    public Teacher findByUsername(String username, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Teacher.FIND_BY_USERNAME, Teacher.class)
+                    .setParameter("username", username)
+                    .uniqueResult();
+        } catch (Exception e) {
+            throw new CustomException("Failed to find teacher by username", ErrorCode.LOGIN_USER_FAILED_DB.getCode(), e);
+        }
+    }
+
     /**
      * Updates a teacher entity in the database.
      *
@@ -121,31 +141,28 @@ public class TeacherRepositoryImpl implements TeacherRepository {
     @Override
     public List<Course> findCoursesByTeacherId(Long teacherId) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("FROM Course WHERE teacher.id = :teacherId", Course.class).setParameter("teacherId", teacherId).list();
+            return session.createNamedQuery(Course.FIND_BY_TEACHER_ID, Course.class).setParameter("teacherId", teacherId).list();
         } catch (Exception e) {
             throw new CustomException("Failed to find courses by teacher ID", ErrorCode.FIND_COURSES_FAILED_BY_TEACHER_ID.getCode(), e);
         }
     }
 
     /**
-     * Changes the password of a teacher.
+     * Sets a teacher's password with one UPDATE of the password column, without loading the teacher.
      *
-     * @param teacherId   the ID of the teacher
-     * @param newPassword the new password to set
+     * @param teacherId the ID of the teacher
+     * @param password  the new password
+     * @param session   the Hibernate session, inside a transaction
+     * @return the number of updated teachers, 0 if there is no such teacher
      * @throws CustomException if there is an error while changing the password
      */
     @Override
-    public void changePassword(Long teacherId, String newPassword) throws CustomException {
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            Teacher teacher = session.get(Teacher.class, teacherId);
-            if (teacher != null) {
-                teacher.setPassword(newPassword);
-                session.beginTransaction();
-                session.merge(teacher);
-                session.getTransaction().commit();
-            } else {
-                throw new CustomException("Teacher not found", ErrorCode.TEACHER_NOT_FOUND.getCode());
-            }
+    public int setPassword(Long teacherId, String password, Session session) throws CustomException {
+        try {
+            return session.createNamedMutationQuery(Teacher.SET_PASSWORD)
+                    .setParameter("password", password)
+                    .setParameter("teacherId", teacherId)
+                    .executeUpdate();
         } catch (Exception e) {
             throw new CustomException("Failed to change teacher's password", ErrorCode.UPDATE_TEACHER_FAILED.getCode(), e);
         }
@@ -170,4 +187,58 @@ public class TeacherRepositoryImpl implements TeacherRepository {
             throw new CustomException("Failed to retrieve teacher's profile", ErrorCode.RETRIEVE_PROFILE_FAILED.getCode(), e);
         }
     }
+
+    /**
+     * Finds the IDs of all teachers without loading the teachers.
+     *
+     * @param session the Hibernate session
+     * @return the teacher IDs in ascending order
+     * @throws CustomException if there is an error while loading the IDs
+     */
+    @Override
+    public List<Long> findAllIds(Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Teacher.FIND_ALL_IDS, Long.class).list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve teachers", ErrorCode.VIEW_TEACHERS_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Loads the directory entry of every teacher in one query.
+     *
+     * @param session the Hibernate session
+     * @return the teacher summaries, ordered by ID
+     * @throws CustomException if there is an error while loading the teachers
+     */
+    @Override
+    public List<TeacherSummary> findAllSummaries(Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(Teacher.FIND_ALL_SUMMARIES, TeacherSummary.class)
+                    .setReadOnly(true)
+                    .list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to retrieve teachers", ErrorCode.VIEW_TEACHERS_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Deletes a teacher with one statement, without loading it. The teacher's courses must
+     * already be gone.
+     *
+     * @param teacherId the ID of the teacher
+     * @param session   the Hibernate session, inside a transaction
+     * @return the number of deleted teachers, 0 if there was no such teacher
+     * @throws CustomException if there is an error while deleting the teacher
+     */
+    @Override
+    public int deleteById(Long teacherId, Session session) throws CustomException {
+        try {
+            return session.createNamedMutationQuery(Teacher.DELETE_BY_ID)
+                    .setParameter("teacherId", teacherId)
+                    .executeUpdate();
+        } catch (Exception e) {
+            throw new CustomException("Failed to delete teacher", ErrorCode.DELETE_TEACHER_FAILED.getCode(), e);
+        }
+    }
 }
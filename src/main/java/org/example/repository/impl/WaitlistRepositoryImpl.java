@@ -0,0 +1,98 @@
+package org.example.repository.impl;
+
+import org.example.entity.WaitlistEntry;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.repository.WaitlistRepository;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+
+import java.util.List;
+
+/**
+ * Implementation of the WaitlistRepository interface.
+ */
+public class WaitlistRepositoryImpl implements WaitlistRepository {
+
+    /**
+     * Saves a waitlist entry.
+     *
+     * @param entry   the waitlist entry to save
+     * @param session the Hibernate session
+     * @throws CustomException if there is an error while saving the entry
+     */
+    @Override
+    public void save(WaitlistEntry entry, Session session) throws CustomException {
+        try {
+            session.persist(entry);
+        } catch (Exception e) {
+            throw new CustomException("Failed to join waitlist", ErrorCode.JOIN_WAITLIST_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Locks the next entries of a course's waitlist in promotion order (higher priority first,
+     * then earlier request, then lower ID) with {@code FOR UPDATE SKIP LOCKED}. The database is
+     * the only source of truth, so entries added by any process are seen.
+     *
+     * @param courseId the ID of the course
+     * @param limit    the maximum number of entries
+     * @param session  the Hibernate session, with an active transaction
+     * @return the locked entries in promotion order
+     * @throws CustomException if there is an error while reading the waitlist
+     */
+    @Override
+    public List<WaitlistEntry> lockNext(Long courseId, int limit, Session session) throws CustomException {
+        try {
+            return session.createNamedQuery(WaitlistEntry.FIND_NEXT_BY_COURSE_ID, WaitlistEntry.class)
+                    .setParameter("courseId", courseId)
+                    .setMaxResults(limit)
+                    .setHibernateLockMode(LockMode.UPGRADE_SKIPLOCKED)
+                    .list();
+        } catch (Exception e) {
+            throw new CustomException("Failed to load waitlist", ErrorCode.PROMOTE_WAITLIST_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Returns the position of a student in the waitlist of a course by counting the entries
+     * ahead of the student's entry in promotion order.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @return the 1-based position, or 0 if the student is not waitlisted
+     * @throws CustomException if there is an error while reading the waitlist
+     */
+    @Override
+    public int findPosition(Long studentId, Long courseId) throws CustomException {
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            return session.createNamedQuery(WaitlistEntry.FIND_POSITION, Long.class)
+                    .setParameter("studentId", studentId)
+                    .setParameter("courseId", courseId)
+                    .getSingleResult()
+                    .intValue();
+        } catch (Exception e) {
+            throw new CustomException("Failed to load waitlist", ErrorCode.PROMOTE_WAITLIST_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Deletes a waitlist entry.
+     *
+     * @param entryId the ID of the entry
+     * @param session the Hibernate session
+     * @return the number of deleted rows; 0 if the entry was already removed
+     * @throws CustomException if there is an error while deleting the entry
+     */
+    @Override
+    public int deleteById(Long entryId, Session session) throws CustomException {
+        try {
+            return session.createNamedMutationQuery(WaitlistEntry.DELETE_BY_ID)
+                    .setParameter("id", entryId)
+                    .executeUpdate();
+        } catch (Exception e) {
+            throw new CustomException("Failed to remove waitlist entry", ErrorCode.PROMOTE_WAITLIST_FAILED.getCode(), e);
+        }
+    }
+}
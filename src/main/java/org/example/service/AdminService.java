@@ -1,36 +1,67 @@
 package org.example.service;
 
+import org.example.dto.CourseCreationResult;
+import org.example.dto.CoursePatch;
+import org.example.dto.DeletionReport;
+import org.example.dto.Page;
 import org.example.entity.Course;
 import org.example.entity.Student;
 import org.example.entity.Teacher;
 import org.example.exception.CustomException;
+import org.example.util.ReadOnly;
+import org.example.util.Retryable;
 
 import java.util.List;
 
 public interface AdminService {
     boolean authenticate(String username, String password);
 
+    @Retryable
     void registerStudent(Student student);
 
-    List<Student> viewStudents();
+    @ReadOnly
+    Page<Student> viewStudents(int pageNumber, int pageSize);
 
+    @Retryable
     void registerTeacher(Teacher teacher);
 
-    List<Teacher> viewTeachers();
+    @ReadOnly
+    Page<Teacher> viewTeachers(int pageNumber, int pageSize);
 
     Teacher findTeacherByName(String teacherName) throws CustomException;
 
     Teacher findTeacherById(Long teacherId);
 
-    void deleteTeacher(Teacher teacher);
+    @Retryable
+    DeletionReport deleteTeacher(Teacher teacher);
 
-    void createCourse(Course course);
+    @Retryable
+    CourseCreationResult createCourse(Course course);
+
+    @Retryable
+    List<CourseCreationResult> createCourses(List<Course> courses);
 
     Course findCourseById(Long courseId);
 
+    @Retryable
     void updateCourse(Course course);
 
-    void deleteCourse(Course course);
+    @Retryable
+    void patchCourse(Long courseId, CoursePatch patch);
+
+    @Retryable
+    DeletionReport deleteCourse(Course course);
 
+    @Retryable
     void assignCourseToTeacher(Long courseId, Long teacherId) throws CustomException;
+
+    long previewReassignment(Long fromTeacherId, Long toTeacherId) throws CustomException;
+
+    long previewReassignment(List<Long> courseIds, Long toTeacherId) throws CustomException;
+
+    @Retryable
+    int reassignCourses(Long fromTeacherId, Long toTeacherId) throws CustomException;
+
+    @Retryable
+    int reassignCourses(List<Long> courseIds, Long toTeacherId) throws CustomException;
 }
@@ -0,0 +1,14 @@
+package org.example.service;
+
+import org.example.dto.CourseSummary;
+import org.example.exception.CustomException;
+
+import java.util.List;
+
+public interface CatalogService {
+    List<CourseSummary> findAllCourses() throws CustomException;
+
+    List<CourseSummary> findAvailableCourses() throws CustomException;
+
+    List<CourseSummary> findCoursesByTeacherId(Long teacherId) throws CustomException;
+}
@@ -1,25 +1,37 @@
 package org.example.service;
 
+import org.example.dto.DeletionReport;
 import org.example.entity.Course;
 import org.example.entity.Student;
 import org.example.exception.CustomException;
+import org.example.util.ReadOnly;
+import org.example.util.StatementBudget;
 
 import java.util.List;
 
 public interface CourseService {
+    @StatementBudget(1)
     void saveCourse(Course course);
 
+    @StatementBudget(1)
     Course findCourseById(Long id);
 
+    @ReadOnly
+    @StatementBudget(1)
     List<Course> findAllCourses();
 
+    @StatementBudget(13)
     void updateCourse(Course course);
 
-    void deleteCourse(Course course);
+    @StatementBudget(8)
+    DeletionReport deleteCourse(Course course);
 
+    @StatementBudget(1)
     boolean authenticate(Long courseId) throws CustomException;
 
+    @StatementBudget(1)
     List<Student> getEnrolledStudents(Long courseId) throws CustomException;
 
+    @StatementBudget(1)
     List<Course> findAvailableCourses() throws CustomException;
 }
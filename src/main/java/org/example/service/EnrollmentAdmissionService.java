@@ -0,0 +1,17 @@
+package org.example.service;
+
+import org.example.dto.AdmissionTicket;
+import org.example.entity.Enrollment;
+import org.example.exception.CustomException;
+
+public interface EnrollmentAdmissionService {
+    AdmissionTicket submit(Enrollment enrollment) throws CustomException;
+
+    void start();
+
+    void stop();
+
+    int getQueuedCount();
+
+    long getRejectedCount();
+}
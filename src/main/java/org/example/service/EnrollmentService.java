@@ -2,25 +2,68 @@ package org.example.service;
 
 import org.example.entity.Course;
 import org.example.entity.Enrollment;
+import org.example.entity.GradeAudit;
 import org.example.entity.Student;
 import org.example.exception.CustomException;
+import org.example.util.ReadOnly;
+import org.example.util.Retryable;
+import org.example.util.StatementBudget;
 
 import java.util.List;
 import java.util.Map;
 
 public interface EnrollmentService {
+    @Retryable
+    @StatementBudget(11)
     void saveEnrollment(Enrollment enrollment);
+
+    @StatementBudget(1)
     Enrollment findEnrollmentByStudentAndCourse(Student student, Course course);
+
+    @StatementBudget(1)
     Enrollment findEnrollmentById(Long id);
+
+    @StatementBudget(1)
     List<Enrollment> findAllEnrollments();
+
+    @Retryable
+    @StatementBudget(3)
     void updateEnrollment(Enrollment enrollment);
+
+    @Retryable
+    @StatementBudget(3)
+    void updateEnrollment(Enrollment enrollment, String changedBy);
+
+    @Retryable
+    @StatementBudget(15)
     void deleteEnrollment(Enrollment enrollment);
 
+    @StatementBudget(1)
     boolean authenticate(Student student, Course course) throws CustomException;
 
+    @Retryable
+    @StatementBudget(4)
     void recordGrades(Long courseId, Map<Long, Double> grades) throws CustomException;
 
+    @Retryable
+    @StatementBudget(4)
+    void recordGrades(Long courseId, Map<Long, Double> grades, String changedBy) throws CustomException;
+
+    @StatementBudget(1)
+    List<GradeAudit> findGradeHistory(Long courseId, Long studentId) throws CustomException;
+
+    @ReadOnly
+    @StatementBudget(1)
     List<Enrollment> findEnrollmentsByCourseId(Long courseId) throws CustomException;
 
+    @ReadOnly(maxLagMs = 1000)
+    @StatementBudget(1)
     List<Enrollment> findEnrollmentsByStudentId(Long studentId) throws CustomException;
+
+    @ReadOnly
+    @StatementBudget(1)
+    long countEnrollments(Long courseId) throws CustomException;
+
+    @StatementBudget(1)
+    boolean isEnrolled(Long studentId, Long courseId) throws CustomException;
 }
@@ -0,0 +1,10 @@
+package org.example.service;
+
+import org.example.dto.GradeImportReport;
+import org.example.exception.CustomException;
+
+import java.nio.file.Path;
+
+public interface GradeImportService {
+    GradeImportReport importGrades(Long courseId, Path file, String changedBy) throws CustomException;
+}
@@ -0,0 +1,11 @@
+package org.example.service;
+
+import org.example.dto.GradeSheetReport;
+import org.example.exception.CustomException;
+
+import java.nio.file.Path;
+import java.util.function.IntConsumer;
+
+public interface GradeSheetService {
+    GradeSheetReport generateAll(Path outputDirectory, IntConsumer progress) throws CustomException;
+}
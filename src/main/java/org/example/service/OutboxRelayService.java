@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.exception.CustomException;
+
+public interface OutboxRelayService {
+    int relayBatch() throws CustomException;
+
+    void start();
+
+    void stop();
+
+    long getDeliveredCount();
+
+    double getEventsPerSecond();
+}
@@ -0,0 +1,14 @@
+package org.example.service;
+
+import org.example.entity.OutboxEvent;
+import org.example.exception.CustomException;
+
+import java.util.List;
+
+/**
+ * Destination of outbox events. A sink must either accept the whole batch or throw,
+ * in which case the batch stays in the outbox and is delivered again later.
+ */
+public interface OutboxSink {
+    void deliver(List<OutboxEvent> events) throws CustomException;
+}
@@ -0,0 +1,11 @@
+package org.example.service;
+
+import org.example.exception.CustomException;
+
+import java.util.Set;
+
+public interface PrerequisiteService {
+    void setPrerequisites(Long courseId, Set<Long> prerequisiteIds) throws CustomException;
+
+    Set<Long> findMissingPrerequisites(Long studentId, Long courseId) throws CustomException;
+}
@@ -0,0 +1,12 @@
+package org.example.service;
+
+import org.example.dto.ScheduleConflict;
+import org.example.exception.CustomException;
+import org.example.util.ReadOnly;
+
+import java.util.List;
+
+public interface ScheduleService {
+    @ReadOnly(maxLagMs = 60000)
+    List<ScheduleConflict> validateAllSchedules() throws CustomException;
+}
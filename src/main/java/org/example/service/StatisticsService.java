@@ -0,0 +1,10 @@
+package org.example.service;
+
+import org.example.dto.SystemStatistics;
+import org.example.exception.CustomException;
+
+public interface StatisticsService {
+    SystemStatistics getStatistics() throws CustomException;
+
+    void resetStatistics() throws CustomException;
+}
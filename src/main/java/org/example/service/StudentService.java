@@ -14,6 +14,8 @@ public interface StudentService {
 
     void updateStudent(Student student);
 
+    void setPassword(Long studentId, String newPassword);
+
     void deleteStudent(Student student);
 
     boolean authenticate(String username, String password) throws CustomException;
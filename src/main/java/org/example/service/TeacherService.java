@@ -1,32 +1,45 @@
 package org.example.service;
 
+import org.example.dto.DeletionReport;
 import org.example.entity.Course;
 import org.example.entity.Student;
 import org.example.entity.Teacher;
 import org.example.exception.CustomException;
+import org.example.util.StatementBudget;
 
 import java.util.List;
 
 public interface TeacherService {
+    @StatementBudget(1)
     void saveTeacher(Teacher teacher);
 
+    @StatementBudget(1)
     Teacher findTeacherById(Long id);
 
+    @StatementBudget(1)
     List<Teacher> findAllTeachers();
 
+    @StatementBudget(1)
     Teacher findByName(String name) throws CustomException;
 
+    @StatementBudget(2)
     void updateTeacher(Teacher teacher);
 
-    void deleteTeacher(Teacher teacher);
+    @StatementBudget(9)
+    DeletionReport deleteTeacher(Teacher teacher);
 
+    @StatementBudget(1)
     boolean authenticate(String username, String password) throws CustomException;
 
+    @StatementBudget(1)
     List<Course> getAssignedCourses(Long teacherId) throws CustomException;
 
+    @StatementBudget(1)
     void changePassword(Long teacherId, String newPassword) throws CustomException;
 
+    @StatementBudget(3)
     void viewGrades(Long studentId) throws CustomException;
 
+    @StatementBudget(1)
     List<Student> viewEnrolledStudents(Long courseId) throws CustomException;
 }
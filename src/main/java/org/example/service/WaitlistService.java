@@ -0,0 +1,9 @@
+package org.example.service;
+
+import org.example.exception.CustomException;
+
+public interface WaitlistService {
+    int joinWaitlist(Long studentId, Long courseId, int priority) throws CustomException;
+
+    int getPosition(Long studentId, Long courseId) throws CustomException;
+}
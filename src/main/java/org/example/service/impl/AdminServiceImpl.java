@@ -3,11 +3,16 @@ package org.example.service.impl;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
-import jakarta.validation.ValidatorFactory;
+import org.example.dto.CourseCreationResult;
+import org.example.dto.CoursePatch;
+import org.example.dto.DeletionReport;
+import org.example.dto.Page;
 import org.example.entity.Admin;
 import org.example.entity.Course;
 import org.example.entity.Student;
 import org.example.entity.Teacher;
+import org.example.entity.TimeSlot;
+import org.example.enums.CourseCreationStatus;
 import org.example.enums.ErrorCode;
 import org.example.exception.CustomException;
 import org.example.repository.AdminRepository;
@@ -19,11 +24,18 @@ import org.example.repository.impl.CourseRepositoryImpl;
 import org.example.repository.impl.StudentRepositoryImpl;
 import org.example.repository.impl.TeacherRepositoryImpl;
 import org.example.service.AdminService;
+import org.example.util.ConstraintErrors;
+import org.example.util.PrerequisiteGraph;
+import org.example.util.ReferenceDataCache;
+import org.example.util.ReplicaRouter;
 import org.example.util.SessionFactoryInstance;
+import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -36,42 +48,28 @@ public class AdminServiceImpl implements AdminService {
     private final TeacherRepository teacherRepository = new TeacherRepositoryImpl();
     private final AdminRepository adminRepository = new AdminRepositoryImpl();
     private final CourseRepository courseRepository = new CourseRepositoryImpl();
-    private final Validator validator;
-
-    private final List<Admin> admins = new ArrayList<>();
+    private final WaitlistServiceImpl waitlistService = new WaitlistServiceImpl();
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     /**
-     * Constructor that initializes predefined admins.
-     */
-    public AdminServiceImpl() {
-        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-        this.validator = factory.getValidator();
-        admins.add(new Admin(1L, "admin1", "123"));
-        admins.add(new Admin(2L, "admin2", "456"));
-        admins.add(new Admin(3L, "admin3", "789"));
-
-        try {
-            for (Admin admin : admins) {
-                adminRepository.save(admin);
-                System.out.println("Admin saved: " + admin.getUsername());
-            }
-        } catch (CustomException e) {
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Authenticates an admin based on username and password.
+     * Authenticates an admin against the {@code admins} table. The admin accounts are seeded by
+     * the V4 schema migration.
+     *
+     * @param username the username
+     * @param password the password
+     * @return true if the credentials match
+     * @throws CustomException if the credentials do not match or the lookup fails
      */
     @Override
     public boolean authenticate(String username, String password) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            for (Admin admin : admins) {
-                if (admin.getUsername().equals(username) && admin.getPassword().equals(password)) {
-                    return true;
-                }
+            Admin admin = adminRepository.findByUsername(username, session);
+            if (admin != null && admin.getPassword().equals(password)) {
+                return true;
             }
             throw new CustomException("Authentication failed", ErrorCode.LOGIN_USER_FAILED_USER_NOT_FOUND.getCode());
+        } catch (CustomException e) {
+            throw e;
         } catch (Exception e) {
             throw new CustomException("Database connection error during authentication", ErrorCode.LOGIN_USER_FAILED_DB.getCode(), e);
         }
@@ -103,20 +101,33 @@ public class AdminServiceImpl implements AdminService {
             if (transaction != null) {
                 transaction.rollback();
             }
+            student.setId(null); // the insert was rolled back, so a retry must insert again
             throw new CustomException("Failed to register student", ErrorCode.REGISTER_STUDENT_FAILED.getCode(), e);
         }
     }
 
     /**
-     * Returns a list of all students.
+     * Returns one page of students ordered by ID, with their enrollments loaded. The page is
+     * selected without joining the enrollments, and the enrollments of the whole page are then
+     * loaded by {@code @BatchSize} with one query per 50 students.
      *
-     * @return the list of students
+     * @param pageNumber the page number, starting at 0
+     * @param pageSize   the number of students per page
+     * @return the page of students
      * @throws CustomException if there is an error while fetching the students
      */
     @Override
-    public List<Student> viewStudents() throws CustomException {
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("select distinct s from Student s left join fetch s.enrollments", Student.class).list();
+    public Page<Student> viewStudents(int pageNumber, int pageSize) throws CustomException {
+        try (Session session = ReplicaRouter.openSession()) {
+            long totalCount = session.createNamedQuery(Student.COUNT_ALL, Long.class).getSingleResult();
+            List<Student> students = session.createNamedQuery(Student.FIND_PAGE, Student.class)
+                    .setFirstResult(pageNumber * pageSize)
+                    .setMaxResults(pageSize)
+                    .list();
+            for (Student student : students) {
+                Hibernate.initialize(student.getEnrollments());
+            }
+            return new Page<>(students, pageNumber, pageSize, totalCount);
         } catch (Exception e) {
             e.printStackTrace();
             throw new CustomException("Failed to view students", ErrorCode.VIEW_STUDENTS_FAILED.getCode());
@@ -145,24 +156,38 @@ public class AdminServiceImpl implements AdminService {
             teacherRepository.save(teacher, session); // پاس دادن جلسه
             session.flush(); // اعمال تغییرات به پایگاه داده
             transaction.commit();
+            ReferenceDataCache.invalidate();
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
             }
+            teacher.setId(null); // the insert was rolled back, so a retry must insert again
             throw new CustomException("Failed to register teacher", ErrorCode.REGISTER_TEACHER_FAILED.getCode(), e);
         }
     }
 
     /**
-     * Returns a list of all teachers.
+     * Returns one page of teachers ordered by ID, with their courses loaded. The page is
+     * selected without joining the courses, and the courses of the whole page are then loaded
+     * by {@code @BatchSize} with one query per 50 teachers.
      *
-     * @return the list of teachers
+     * @param pageNumber the page number, starting at 0
+     * @param pageSize   the number of teachers per page
+     * @return the page of teachers
      * @throws CustomException if there is an error while fetching the teachers
      */
     @Override
-    public List<Teacher> viewTeachers() throws CustomException {
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("select distinct t from Teacher t left join fetch t.courses", Teacher.class).list();
+    public Page<Teacher> viewTeachers(int pageNumber, int pageSize) throws CustomException {
+        try (Session session = ReplicaRouter.openSession()) {
+            long totalCount = session.createNamedQuery(Teacher.COUNT_ALL, Long.class).getSingleResult();
+            List<Teacher> teachers = session.createNamedQuery(Teacher.FIND_PAGE, Teacher.class)
+                    .setFirstResult(pageNumber * pageSize)
+                    .setMaxResults(pageSize)
+                    .list();
+            for (Teacher teacher : teachers) {
+                Hibernate.initialize(teacher.getCourses());
+            }
+            return new Page<>(teachers, pageNumber, pageSize, totalCount);
         } catch (Exception e) {
             e.printStackTrace();
             throw new CustomException("Failed to view teachers", ErrorCode.VIEW_TEACHERS_FAILED.getCode());
@@ -186,7 +211,7 @@ public class AdminServiceImpl implements AdminService {
             String firstName = nameParts[0];
             String lastName = nameParts[nameParts.length - 1];
 
-            return session.createQuery("from Teacher where firstName = :firstName and lastName = :lastName", Teacher.class)
+            return session.createNamedQuery(Teacher.FIND_BY_FULL_NAME, Teacher.class)
                     .setParameter("firstName", firstName)
                     .setParameter("lastName", lastName)
                     .uniqueResult();
@@ -212,33 +237,40 @@ public class AdminServiceImpl implements AdminService {
     }
 
     /**
-     * Deletes a teacher.
+     * Deletes a teacher together with their courses and everything that depends on the courses,
+     * using set-based statements instead of loading and removing each row.
      *
      * @param teacher the teacher to be deleted
+     * @return the number of rows deleted from each table
      * @throws CustomException if there is an error while deleting the teacher
      */
     @Override
-    public void deleteTeacher(Teacher teacher) throws CustomException {
+    public DeletionReport deleteTeacher(Teacher teacher) throws CustomException {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
+            DeletionReport report = courseRepository.deleteCascadeByTeacherId(teacher.getId(), session);
+            int teachers = teacherRepository.deleteById(teacher.getId(), session);
 
-            // Check if teacher exists in the database
-            Teacher existingTeacher = session.get(Teacher.class, teacher.getId());
-            if (existingTeacher == null) {
+            // No teacher row was deleted, so the teacher does not exist; roll back the cascade above
+            if (teachers == 0) {
+                transaction.rollback();
                 throw new CustomException("Teacher not found", ErrorCode.TEACHER_NOT_FOUND.getCode());
             }
 
-            session.remove(existingTeacher);
             transaction.commit();
+            report = report.withTeachers(teachers);
+            ReferenceDataCache.invalidate();
+            PrerequisiteGraph.invalidate();
+            return report;
         } catch (CustomException e) {
             // Handle known custom exceptions separately
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
             throw e; // Re-throw custom exception
         } catch (Exception e) {
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
             throw new CustomException("Failed to delete teacher", ErrorCode.DELETE_TEACHER_FAILED.getCode(), e);
@@ -248,66 +280,101 @@ public class AdminServiceImpl implements AdminService {
     /**
      * Creates a new course.
      *
-     * This method creates a new course in the system. It first checks if a course with the same name already exists,
-     * and if so, throws a CustomException. Then it checks if the teacher associated with the course exists,
-     * and if the teacher does not exist, it throws a CustomException. Finally, it assigns the teacher to the course
-     * and persists the course in the database.
+     * The course is inserted with a single statement that looks up its teacher by ID and copies
+     * the teacher's last name into the course. A course whose name is already taken, or whose
+     * teacher does not exist, is not inserted and the returned result says why; the unique
+     * constraint on the course name keeps concurrent creations from producing duplicates.
      *
-     * @param course the course to be created
-     * @throws CustomException if there is an error while creating the course
+     * @param course the course to be created, with its teacher's ID set
+     * @return the outcome, with the new course ID when the course was created
+     * @throws CustomException if the course is invalid or there is an error while creating it
      */
     @Override
-    public void createCourse(Course course) throws CustomException {
-        Transaction transaction = null;
-        Session session = null;
-        try {
-            session = SessionFactoryInstance.sessionFactory.openSession();
-            transaction = session.beginTransaction();
+    public CourseCreationResult createCourse(Course course) throws CustomException {
+        return createCourses(List.of(course)).get(0);
+    }
 
-            // بررسی وجود دوره با همین نام
-            System.out.println("Checking for existing course with the same name...");
-            Course existingCourse = session.createQuery("FROM Course WHERE courseName = :name", Course.class)
-                    .setParameter("name", course.getCourseName())
-                    .uniqueResult();
-            if (existingCourse != null) {
-                throw new CustomException("Course already exists", ErrorCode.COURSE_ALREADY_EXISTS.getCode());
+    /**
+     * Creates a batch of courses, such as a whole term's catalog, in a single statement.
+     *
+     * Each course is created or skipped on its own, as described for {@link #createCourse(Course)};
+     * a name that appears twice in the batch is only created once. The IDs of the created courses
+     * are set on the given objects.
+     *
+     * @param courses the courses to be created, with their teachers' IDs set
+     * @return the outcome of each course, in the order given
+     * @throws CustomException if a course is invalid or there is an error while creating the courses
+     */
+    @Override
+    public List<CourseCreationResult> createCourses(List<Course> courses) throws CustomException {
+        for (Course course : courses) {
+            validateNewCourse(course);
+        }
+        // نام‌های تکراری داخل همین دسته به پایگاه داده فرستاده نمی‌شوند
+        Set<String> names = new HashSet<>();
+        List<Course> toInsert = new ArrayList<>();
+        for (Course course : courses) {
+            if (names.add(course.getCourseName())) {
+                toInsert.add(course);
             }
-
-            // بررسی وجود معلم با نام
-            System.out.println("Checking for existing teacher with the same name...");
-            Teacher teacher = session.createQuery("FROM Teacher WHERE lastName = :name", Teacher.class)
-                    .setParameter("name", course.getTeacher().getLastName())
-                    .uniqueResult();
-            if (teacher == null) {
-                throw new CustomException("Teacher not found", ErrorCode.TEACHER_NOT_FOUND.getCode());
+        }
+        List<CourseCreationResult> inserted = List.of();
+        if (!toInsert.isEmpty()) {
+            Transaction transaction = null;
+            try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+                transaction = session.beginTransaction();
+                inserted = courseRepository.insertAll(toInsert, session);
+                transaction.commit();
+            } catch (Exception e) {
+                if (transaction != null && transaction.getStatus().canRollback()) {
+                    transaction.rollback();
+                }
+                throw new CustomException("Failed to create course", ErrorCode.CREATE_COURSE_FAILED.getCode(), e);
             }
+        }
 
-            // اختصاص معلم به دوره و مقداردهی `teacherName`
-            course.setTeacher(teacher);
-            course.setTeacherName(teacher.getLastName());
-
-            System.out.println("Persisting course...");
-            session.persist(course);
-            transaction.commit();
-            System.out.println("Course created successfully.");
-        } catch (CustomException e) {
-            if (transaction != null && transaction.getStatus().canRollback()) {
-                transaction.rollback();
+        List<CourseCreationResult> results = new ArrayList<>(courses.size());
+        Iterator<CourseCreationResult> insertedResults = inserted.iterator();
+        names.clear();
+        boolean created = false;
+        for (Course course : courses) {
+            if (!names.add(course.getCourseName())) {
+                results.add(new CourseCreationResult(course.getCourseName(), null, CourseCreationStatus.DUPLICATE_NAME));
+                continue;
             }
-            // نمایش پیام خطا و بازگشت به منوی ادمین
-            System.out.println("An error occurred while creating the course: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
-            return;
-        } catch (Exception e) {
-            if (transaction != null && transaction.getStatus().canRollback()) {
-                transaction.rollback();
+            CourseCreationResult result = insertedResults.next();
+            if (result.isCreated()) {
+                course.setId(result.getCourseId());
+                created = true;
             }
-            e.printStackTrace();
-            throw new CustomException("Failed to create course", ErrorCode.CREATE_COURSE_FAILED.getCode(), e);
-        } finally {
-            if (session != null) {
-                session.close();
+            results.add(result);
+        }
+        if (created) {
+            ReferenceDataCache.invalidate();
+        }
+        return results;
+    }
+
+    private void validateNewCourse(Course course) throws CustomException {
+        StringBuilder sb = new StringBuilder();
+        for (String property : List.of("courseName", "units", "capacity", "startDate")) {
+            for (ConstraintViolation<Course> constraintViolation : validator.validateProperty(course, property)) {
+                sb.append(property).append(": ").append(constraintViolation.getMessage()).append("\n");
+            }
+        }
+        if (course.getTeacher() == null || course.getTeacher().getId() == null) {
+            sb.append("teacher: must not be null\n");
+        }
+        if (course.getTimeSlots() != null) {
+            for (TimeSlot slot : course.getTimeSlots()) {
+                for (ConstraintViolation<TimeSlot> constraintViolation : validator.validate(slot)) {
+                    sb.append("timeSlots: ").append(constraintViolation.getMessage()).append("\n");
+                }
             }
         }
+        if (sb.length() > 0) {
+            throw new CustomException("Validation failed: " + sb, ErrorCode.CREATE_COURSE_FAILED.getCode());
+        }
     }
 
     /**
@@ -327,7 +394,8 @@ public class AdminServiceImpl implements AdminService {
     }
 
     /**
-     * Updates an existing course.
+     * Updates an existing course. Seats added by a capacity increase are filled from
+     * the course's waitlist in the same transaction.
      *
      * @param course the course with updated details
      * @throws CustomException if there is an error while updating the course
@@ -337,60 +405,172 @@ public class AdminServiceImpl implements AdminService {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
+            Course locked = courseRepository.findByIdForUpdate(course.getId(), session);
             session.merge(course);
+            if (locked != null) {
+                waitlistService.promote(locked, session);
+            }
             transaction.commit();
+            ReferenceDataCache.invalidate();
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
             }
-            throw new CustomException("Failed to update course", ErrorCode.UPDATE_COURSE_FAILED.getCode());
+            throw new CustomException("Failed to update course", ErrorCode.UPDATE_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Applies the changed fields of a course. Column changes alone are written with a single
+     * UPDATE of only those columns; a capacity change locks and loads the course so the new
+     * seats are filled from the waitlist, and new time slots replace the old ones through the
+     * loaded course.
+     *
+     * @param courseId the ID of the course
+     * @param patch    the changes; null fields are left unchanged
+     * @throws CustomException with {@link ErrorCode#COURSE_ALREADY_EXISTS} if the new name is taken,
+     *                         or if a change is invalid, the course does not exist or it cannot be updated
+     */
+    @Override
+    public void patchCourse(Long courseId, CoursePatch patch) throws CustomException {
+        validatePatch(patch);
+        if (patch.isEmpty()) {
+            return;
+        }
+        Transaction transaction = null;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            if (patch.getCapacity() == null && patch.getTimeSlots() == null) {
+                if (courseRepository.patch(courseId, patch, session) == 0) {
+                    throw new CustomException("Course not found", ErrorCode.COURSE_NOT_FOUND.getCode());
+                }
+            } else {
+                Course course = courseRepository.findByIdForUpdate(courseId, session);
+                if (course == null) {
+                    throw new CustomException("Course not found", ErrorCode.COURSE_NOT_FOUND.getCode());
+                }
+                applyPatch(course, patch);
+                if (patch.getCapacity() != null) {
+                    waitlistService.promote(course, session);
+                }
+            }
+            transaction.commit();
+            ReferenceDataCache.invalidate();
+        } catch (CustomException e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            CustomException translated = ConstraintErrors.translate(e); // تغییر نام به نام تکراری
+            throw translated != null ? translated : e;
+        } catch (Exception e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            CustomException translated = ConstraintErrors.translate(e);
+            throw translated != null ? translated : new CustomException("Failed to update course", ErrorCode.UPDATE_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    private void validatePatch(CoursePatch patch) throws CustomException {
+        StringBuilder sb = new StringBuilder();
+        appendViolations(sb, "courseName", patch.getCourseName());
+        appendViolations(sb, "units", patch.getUnits());
+        appendViolations(sb, "capacity", patch.getCapacity());
+        appendViolations(sb, "startDate", patch.getStartDate());
+        if (patch.getTimeSlots() != null) {
+            for (TimeSlot slot : patch.getTimeSlots()) {
+                for (ConstraintViolation<TimeSlot> constraintViolation : validator.validate(slot)) {
+                    sb.append("timeSlots: ").append(constraintViolation.getMessage()).append("\n");
+                }
+            }
+        }
+        if (sb.length() > 0) {
+            throw new CustomException("Validation failed: " + sb, ErrorCode.UPDATE_COURSE_FAILED.getCode());
+        }
+    }
+
+    private void appendViolations(StringBuilder sb, String property, Object value) {
+        if (value == null) {
+            return;
+        }
+        for (ConstraintViolation<Course> constraintViolation : validator.validateValue(Course.class, property, value)) {
+            sb.append(property).append(": ").append(constraintViolation.getMessage()).append("\n");
+        }
+    }
+
+    // موجودیت مدیریت‌شده است؛ با DynamicUpdate فقط ستون‌های تغییرکرده در UPDATE می‌آیند
+    private void applyPatch(Course course, CoursePatch patch) {
+        if (patch.getCourseName() != null) {
+            course.setCourseName(patch.getCourseName());
+        }
+        if (patch.getUnits() != null) {
+            course.setUnits(patch.getUnits());
+        }
+        if (patch.getCapacity() != null) {
+            course.setCapacity(patch.getCapacity());
+        }
+        if (patch.getStartDate() != null) {
+            course.setStartDate(patch.getStartDate());
+        }
+        if (patch.getTimeSlots() != null) {
+            course.getTimeSlots().clear();
+            course.getTimeSlots().addAll(patch.getTimeSlots());
         }
     }
 
     /**
-     * Deletes a course.
+     * Deletes a course together with its enrollments, waitlist entries, time slots and
+     * prerequisite links, using set-based statements.
      *
      * @param course the course to be deleted
+     * @return the number of rows deleted from each table
      * @throws CustomException if there is an error while deleting the course
      */
     @Override
-    public void deleteCourse(Course course) throws CustomException {
+    public DeletionReport deleteCourse(Course course) throws CustomException {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            session.remove(course);
+            DeletionReport report = courseRepository.deleteCascade(course.getId(), session);
             transaction.commit();
+            ReferenceDataCache.invalidate();
+            PrerequisiteGraph.invalidate();
+            return report;
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
             }
-            throw new CustomException("Failed to delete course", ErrorCode.DELETE_COURSE_FAILED.getCode());
+            throw new CustomException("Failed to delete course", ErrorCode.DELETE_COURSE_FAILED.getCode(), e);
         }
     }
 
     /**
-     * Assigns a course to a teacher.
+     * Assigns a course to a teacher with a single UPDATE that sets the teacher and copies the
+     * teacher's last name, without loading either entity. Only when nothing was updated are the
+     * course and the teacher looked up, to tell a missing row from a course already assigned.
      *
      * @param courseId  the ID of the course
      * @param teacherId the ID of the teacher
-     * @throws CustomException if there is an error while assigning the course to the teacher
+     * @throws CustomException if the course or the teacher does not exist, or there is an error while assigning the course
      */
     @Override
     public void assignCourseToTeacher(Long courseId, Long teacherId) throws CustomException {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            Course course = courseRepository.findById(courseId, session);
-            Teacher teacher = teacherRepository.findById(teacherId, session);
-            if (course == null) {
-                throw new CustomException("Course not found", ErrorCode.COURSE_NOT_FOUND.getCode());
-            }
-            if (teacher == null) {
-                throw new CustomException("Teacher not found", ErrorCode.TEACHER_NOT_FOUND.getCode());
+            if (courseRepository.reassign(List.of(courseId), teacherId, session) == 0) {
+                if (courseRepository.findById(courseId, session) == null) {
+                    throw new CustomException("Course not found", ErrorCode.COURSE_NOT_FOUND.getCode());
+                }
+                requireTeacher(teacherId, session);
             }
-            course.setTeacher(teacher);
-            courseRepository.update(course, session);
             transaction.commit();
+            ReferenceDataCache.invalidate();
+        } catch (CustomException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e;
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
@@ -398,4 +578,123 @@ public class AdminServiceImpl implements AdminService {
             throw new CustomException("Failed to assign course to teacher", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Counts the courses of a teacher that {@link #reassignCourses(Long, Long)} would move.
+     *
+     * @param fromTeacherId the ID of the current teacher
+     * @param toTeacherId   the ID of the new teacher
+     * @return the number of courses that would move
+     * @throws CustomException if there is an error while counting the courses
+     */
+    @Override
+    public long previewReassignment(Long fromTeacherId, Long toTeacherId) throws CustomException {
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            return courseRepository.countReassignable(fromTeacherId, toTeacherId, session);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to count courses to reassign", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Counts the courses of a list that {@link #reassignCourses(List, Long)} would move.
+     *
+     * @param courseIds   the IDs of the courses
+     * @param toTeacherId the ID of the new teacher
+     * @return the number of courses that would move
+     * @throws CustomException if there is an error while counting the courses
+     */
+    @Override
+    public long previewReassignment(List<Long> courseIds, Long toTeacherId) throws CustomException {
+        if (courseIds.isEmpty()) {
+            return 0;
+        }
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            return courseRepository.countReassignable(courseIds, toTeacherId, session);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to count courses to reassign", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Moves every course of a teacher to another teacher in a single UPDATE, so the time taken
+     * does not depend on how many courses there are.
+     *
+     * @param fromTeacherId the ID of the current teacher
+     * @param toTeacherId   the ID of the new teacher
+     * @return the number of moved courses
+     * @throws CustomException if the new teacher does not exist or the courses cannot be reassigned
+     */
+    @Override
+    public int reassignCourses(Long fromTeacherId, Long toTeacherId) throws CustomException {
+        Transaction transaction = null;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            int moved = courseRepository.reassign(fromTeacherId, toTeacherId, session);
+            if (moved == 0) {
+                requireTeacher(toTeacherId, session);
+            }
+            transaction.commit();
+            ReferenceDataCache.invalidate();
+            return moved;
+        } catch (CustomException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw new CustomException("Failed to reassign courses", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Moves a list of courses to a teacher in a single UPDATE. Courses that do not exist or
+     * already belong to the teacher are skipped.
+     *
+     * @param courseIds   the IDs of the courses
+     * @param toTeacherId the ID of the new teacher
+     * @return the number of moved courses
+     * @throws CustomException if the teacher does not exist or the courses cannot be reassigned
+     */
+    @Override
+    public int reassignCourses(List<Long> courseIds, Long toTeacherId) throws CustomException {
+        if (courseIds.isEmpty()) {
+            return 0;
+        }
+        Transaction transaction = null;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            int moved = courseRepository.reassign(courseIds, toTeacherId, session);
+            if (moved == 0) {
+                requireTeacher(toTeacherId, session);
+            }
+            transaction.commit();
+            ReferenceDataCache.invalidate();
+            return moved;
+        } catch (CustomException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw new CustomException("Failed to reassign courses", ErrorCode.ASSIGN_COURSE_FAILED.getCode(), e);
+        }
+    }
+
+    // یک UPDATE بدون سطر یعنی یا درسی برای انتقال نبود یا معلم مقصد وجود ندارد
+    private void requireTeacher(Long teacherId, Session session) throws CustomException {
+        if (teacherRepository.findById(teacherId, session) == null) {
+            throw new CustomException("Teacher not found", ErrorCode.TEACHER_NOT_FOUND.getCode());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.service.impl;
+
+import org.example.dto.CourseSummary;
+import org.example.dto.ReferenceData;
+import org.example.exception.CustomException;
+import org.example.service.CatalogService;
+import org.example.util.ReferenceDataCache;
+import org.example.util.StartupTimer;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the CatalogService interface.
+ * <p>
+ * Listings are served from {@link ReferenceDataCache}, so they do not touch the database
+ * (and right after startup not even Hibernate) unless nothing has been cached yet.
+ */
+public class CatalogServiceImpl implements CatalogService {
+
+    /**
+     * Lists every course in the catalog.
+     *
+     * @return the courses, ordered by ID
+     * @throws CustomException if the catalog has to be loaded and loading fails
+     */
+    @Override
+    public List<CourseSummary> findAllCourses() throws CustomException {
+        return respond().getCourses();
+    }
+
+    /**
+     * Lists the courses that start today or later and have a free seat. Enrollment counts may lag
+     * behind the database by one background reconcile; capacity is enforced on enrollment.
+     *
+     * @return the available courses, ordered by ID
+     * @throws CustomException if the catalog has to be loaded and loading fails
+     */
+    @Override
+    public List<CourseSummary> findAvailableCourses() throws CustomException {
+        LocalDate today = LocalDate.now();
+        return respond().getCourses().stream()
+                .filter(course -> course.isAvailable(today))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lists the courses of a teacher.
+     *
+     * @param teacherId the ID of the teacher
+     * @return the teacher's courses, ordered by ID
+     * @throws CustomException if the catalog has to be loaded and loading fails
+     */
+    @Override
+    public List<CourseSummary> findCoursesByTeacherId(Long teacherId) throws CustomException {
+        return respond().getCoursesByTeacherId().getOrDefault(teacherId, List.of());
+    }
+
+    private ReferenceData respond() throws CustomException {
+        ReferenceData data = ReferenceDataCache.get();
+        StartupTimer.mark("first catalog response");
+        return data;
+    }
+}
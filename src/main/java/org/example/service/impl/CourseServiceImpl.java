@@ -1,5 +1,6 @@
 package org.example.service.impl;
 
+import org.example.dto.DeletionReport;
 import org.example.entity.Course;
 import org.example.entity.Student;
 import org.example.enums.ErrorCode;
@@ -7,6 +8,9 @@ import org.example.exception.CustomException;
 import org.example.repository.CourseRepository;
 import org.example.repository.impl.CourseRepositoryImpl;
 import org.example.service.CourseService;
+import org.example.util.PrerequisiteGraph;
+import org.example.util.ReferenceDataCache;
+import org.example.util.ReplicaRouter;
 import org.example.util.SessionFactoryInstance;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
@@ -18,6 +22,7 @@ import java.util.List;
  */
 public class CourseServiceImpl implements CourseService {
     private final CourseRepository courseRepository = new CourseRepositoryImpl();
+    private final WaitlistServiceImpl waitlistService = new WaitlistServiceImpl();
 
     /**
      * Saves a course entity to the database.
@@ -32,6 +37,7 @@ public class CourseServiceImpl implements CourseService {
             transaction = session.beginTransaction();
             courseRepository.save(course);
             transaction.commit();
+            ReferenceDataCache.invalidate();
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
@@ -64,7 +70,7 @@ public class CourseServiceImpl implements CourseService {
      */
     @Override
     public List<Course> findAllCourses() throws CustomException {
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+        try (Session session = ReplicaRouter.openSession()) {
             return courseRepository.findAll(session);
         } catch (Exception e) {
             throw new CustomException("Failed to retrieve courses", ErrorCode.RETRIEVE_COURSES_FAILED.getCode(), e);
@@ -72,7 +78,8 @@ public class CourseServiceImpl implements CourseService {
     }
 
     /**
-     * Updates a course entity in the database.
+     * Updates a course entity in the database. Seats added by a capacity increase are
+     * filled from the course's waitlist in the same transaction.
      *
      * @param course the course entity with updated details
      * @throws CustomException if there is an error while updating the course
@@ -82,8 +89,13 @@ public class CourseServiceImpl implements CourseService {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            courseRepository.update(course);
+            Course locked = courseRepository.findByIdForUpdate(course.getId(), session);
+            courseRepository.update(course, session);
+            if (locked != null) {
+                waitlistService.promote(locked, session);
+            }
             transaction.commit();
+            ReferenceDataCache.invalidate();
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
@@ -93,18 +105,23 @@ public class CourseServiceImpl implements CourseService {
     }
 
     /**
-     * Deletes a course entity from the database.
+     * Deletes a course entity from the database together with its enrollments, waitlist
+     * entries, time slots and prerequisite links.
      *
      * @param course the course entity to delete
+     * @return the number of rows deleted from each table
      * @throws CustomException if there is an error while deleting the course
      */
     @Override
-    public void deleteCourse(Course course) throws CustomException {
+    public DeletionReport deleteCourse(Course course) throws CustomException {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            courseRepository.delete(course);
+            DeletionReport report = courseRepository.deleteCascade(course.getId(), session);
             transaction.commit();
+            ReferenceDataCache.invalidate();
+            PrerequisiteGraph.invalidate();
+            return report;
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
@@ -161,10 +178,7 @@ public class CourseServiceImpl implements CourseService {
     @Override
     public List<Course> findAvailableCourses() throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery(
-                    "FROM Course c WHERE c.startDate >= CURRENT_DATE AND c.capacity > (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c)",
-                    Course.class
-            ).list();
+            return session.createNamedQuery(Course.FIND_AVAILABLE, Course.class).list();
         } catch (Exception e) {
             e.printStackTrace();  // Print stack trace for debugging
             throw new CustomException("Failed to retrieve available courses", ErrorCode.RETRIEVE_COURSES_FAILED.getCode(), e);
@@ -0,0 +1,283 @@
+package org.example.service.impl;
+
+import org.example.dto.AdmissionTicket;
+import org.example.entity.Enrollment;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.service.EnrollmentAdmissionService;
+import org.example.service.EnrollmentService;
+import org.example.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of the EnrollmentAdmissionService interface.
+ * <p>
+ * Requests wait in one FIFO queue per course, and the workers take from the courses in
+ * round-robin order, so a burst on one popular course cannot delay enrollments in the others.
+ * The number of workers ({@code ems.admission.workers}) caps how many enrollments hit the
+ * database at once and should stay below {@code hibernate.connection.pool_size}. When the
+ * queue ({@code ems.admission.queue-capacity}) or a course's share of it
+ * ({@code ems.admission.per-course-capacity}) is full, a request is rejected immediately
+ * instead of waiting. A caller waits on its ticket for at most {@code ems.admission.await-timeout-ms};
+ * requests still queued when {@link #stop()} gives up are failed with {@link ErrorCode#ENROLLMENT_BUSY}.
+ */
+public class EnrollmentAdmissionServiceImpl implements EnrollmentAdmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentAdmissionServiceImpl.class);
+
+    private final EnrollmentService enrollmentService;
+    private final int capacity;
+    private final int perCourseCapacity;
+    private final int workers;
+    private final Duration awaitTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<Long, Deque<Request>> queues = new HashMap<>();
+    private final Deque<Long> rotation = new ArrayDeque<>();
+    private int queued;
+    private boolean running;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile double averageServiceMs;
+    private ExecutorService pool;
+
+    /**
+     * Creates an admission queue in front of the given enrollment service.
+     *
+     * @param enrollmentService the service that saves admitted enrollments
+     */
+    public EnrollmentAdmissionServiceImpl(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+        this.capacity = AppConfig.getInt("ems.admission.queue-capacity", 1000);
+        this.perCourseCapacity = AppConfig.getInt("ems.admission.per-course-capacity", 200);
+        this.workers = AppConfig.getInt("ems.admission.workers", 8);
+        this.averageServiceMs = AppConfig.getDouble("ems.admission.initial-estimate-ms", 50);
+        this.awaitTimeout = Duration.ofMillis(AppConfig.getLong("ems.admission.await-timeout-ms", 30000));
+    }
+
+    /**
+     * Admits an enrollment request to the queue of its course.
+     *
+     * @param enrollment the enrollment to save
+     * @return a ticket with the estimated position and wait, completed once the enrollment is processed
+     * @throws CustomException with {@link ErrorCode#ENROLLMENT_BUSY} if the queue is full or not running
+     */
+    @Override
+    public AdmissionTicket submit(Enrollment enrollment) throws CustomException {
+        Long courseId = enrollment.getCourse().getId();
+        lock.lock();
+        try {
+            Deque<Request> courseQueue = queues.get(courseId);
+            int courseDepth = courseQueue == null ? 0 : courseQueue.size();
+            if (!running || queued >= capacity || courseDepth >= perCourseCapacity) {
+                rejected.incrementAndGet();
+                throw new CustomException("Enrollment is busy, please try again later", ErrorCode.ENROLLMENT_BUSY.getCode());
+            }
+            int position = positionOf(courseId, courseDepth);
+            if (courseQueue == null) {
+                courseQueue = new ArrayDeque<>();
+                queues.put(courseId, courseQueue);
+                rotation.addLast(courseId);
+            }
+            Request request = new Request(enrollment, new CompletableFuture<>());
+            courseQueue.addLast(request);
+            queued++;
+            notEmpty.signal();
+            long rounds = (position + workers - 1) / workers;
+            return new AdmissionTicket(sequence.incrementAndGet(), courseId, position,
+                    Duration.ofMillis(Math.round(rounds * averageServiceMs)), awaitTimeout, request.completion);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts the workers.
+     */
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+            pool = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "enrollment-admission");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < workers; i++) {
+                pool.execute(this::work);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops admitting requests and waits briefly for the workers to process the ones already queued.
+     * Requests still queued after that are failed with {@link ErrorCode#ENROLLMENT_BUSY}, so no
+     * caller is left waiting on them.
+     */
+    @Override
+    public void stop() {
+        ExecutorService stopping;
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            stopping = pool;
+            pool = null;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        stopping.shutdown();
+        try {
+            if (!stopping.awaitTermination(AppConfig.getLong("ems.admission.shutdown-timeout-ms", 5000), TimeUnit.MILLISECONDS)) {
+                int abandoned = failQueued();
+                logger.warn("Enrollment admission stopped with {} requests still queued; they were rejected", abandoned);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failQueued();
+        }
+    }
+
+    /**
+     * @return the number of requests waiting to be processed
+     */
+    @Override
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of requests rejected since startup
+     */
+    @Override
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Removes every queued request and completes it with {@link ErrorCode#ENROLLMENT_BUSY}.
+     * Requests a worker has already taken complete on their own.
+     *
+     * @return the number of failed requests
+     */
+    private int failQueued() {
+        Deque<Request> abandoned = new ArrayDeque<>();
+        lock.lock();
+        try {
+            for (Deque<Request> courseQueue : queues.values()) {
+                abandoned.addAll(courseQueue);
+            }
+            queues.clear();
+            rotation.clear();
+            queued = 0;
+        } finally {
+            lock.unlock();
+        }
+        for (Request request : abandoned) {
+            request.completion.completeExceptionally(new CustomException("Enrollment was stopped before the request was processed, please try again later",
+                    ErrorCode.ENROLLMENT_BUSY.getCode()));
+        }
+        return abandoned.size();
+    }
+
+    /**
+     * Estimates the processing position of a request joining a course queue of the given depth:
+     * each round serves one request per course, so every other course contributes at most
+     * {@code courseDepth} requests ahead of it.
+     */
+    private int positionOf(Long courseId, int courseDepth) {
+        int ahead = courseDepth;
+        for (Map.Entry<Long, Deque<Request>> entry : queues.entrySet()) {
+            if (!entry.getKey().equals(courseId)) {
+                ahead += Math.min(entry.getValue().size(), courseDepth);
+            }
+        }
+        return ahead + 1;
+    }
+
+    private void work() {
+        Request request;
+        while ((request = take()) != null) {
+            long start = System.nanoTime();
+            try {
+                enrollmentService.saveEnrollment(request.enrollment);
+                request.completion.complete(null);
+            } catch (Exception e) {
+                request.completion.completeExceptionally(e);
+            } finally {
+                double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+                averageServiceMs = averageServiceMs * 0.8 + elapsedMs * 0.2;
+            }
+        }
+    }
+
+    /**
+     * Takes the next request in round-robin order over the courses, waiting while the queue is empty.
+     *
+     * @return the next request, or null once stopped and drained
+     */
+    private Request take() {
+        lock.lock();
+        try {
+            while (queued == 0) {
+                if (!running) {
+                    return null;
+                }
+                notEmpty.awaitUninterruptibly();
+            }
+            Long courseId = rotation.pollFirst();
+            Deque<Request> courseQueue = queues.get(courseId);
+            Request request = courseQueue.pollFirst();
+            if (courseQueue.isEmpty()) {
+                queues.remove(courseId);
+            } else {
+                rotation.addLast(courseId);
+            }
+            queued--;
+            return request;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Request {
+
+        private final Enrollment enrollment;
+        private final CompletableFuture<Void> completion;
+
+        private Request(Enrollment enrollment, CompletableFuture<Void> completion) {
+            this.enrollment = enrollment;
+            this.completion = completion;
+        }
+    }
+}
@@ -1,17 +1,32 @@
 package org.example.service.impl;
 
+import org.example.dto.GradeChange;
 import org.example.entity.Course;
 import org.example.entity.Enrollment;
+import org.example.entity.GradeAudit;
+import org.example.entity.OutboxEvent;
 import org.example.entity.Student;
 import org.example.enums.ErrorCode;
+import org.example.enums.OutboxEventType;
 import org.example.exception.CustomException;
+import org.example.repository.CourseRepository;
 import org.example.repository.EnrollmentRepository;
+import org.example.repository.GradeAuditRepository;
+import org.example.repository.OutboxRepository;
+import org.example.repository.impl.CourseRepositoryImpl;
 import org.example.repository.impl.EnrollmentRepositoryImpl;
+import org.example.repository.impl.GradeAuditRepositoryImpl;
+import org.example.repository.impl.OutboxRepositoryImpl;
 import org.example.service.EnrollmentService;
+import org.example.util.ConstraintErrors;
+import org.example.util.GradeAuditLog;
+import org.example.util.ReferenceDataCache;
+import org.example.util.ReplicaRouter;
 import org.example.util.SessionFactoryInstance;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -20,27 +35,78 @@ import java.util.Map;
  */
 public class EnrollmentServiceImpl implements EnrollmentService {
 
-    private final EnrollmentRepository enrollmentRepository = new EnrollmentRepositoryImpl();
+    private static final String SYSTEM_ACTOR = "system";
 
+    private final EnrollmentRepository enrollmentRepository = new EnrollmentRepositoryImpl();
+    private final GradeAuditRepository gradeAuditRepository = new GradeAuditRepositoryImpl();
+    private final OutboxRepository outboxRepository = new OutboxRepositoryImpl();
+    private final CourseRepository courseRepository = new CourseRepositoryImpl();
+    private final WaitlistServiceImpl waitlistService = new WaitlistServiceImpl();
+    private final ScheduleServiceImpl scheduleService = new ScheduleServiceImpl();
+    private final PrerequisiteServiceImpl prerequisiteService = new PrerequisiteServiceImpl();
 
     /**
-     * Saves an enrollment entity to the database.
+     * Saves an enrollment entity to the database and publishes an enrollment event
+     * through the outbox in the same transaction. The course row is locked while its
+     * seats are counted, so concurrent enrollments cannot exceed the capacity. Only the IDs of
+     * the enrollment's student and course are used; the student is attached by reference without
+     * being loaded and its existence is enforced by the foreign key.
      *
      * @param enrollment the enrollment entity to save
-     * @throws CustomException if there is an error while saving the enrollment
+     * @throws CustomException with {@link ErrorCode#COURSE_FULL} if the course has no free seat,
+     *                         with {@link ErrorCode#SCHEDULE_CONFLICT} if the course meets at the same
+     *                         time as one of the student's courses,
+     *                         with {@link ErrorCode#PREREQUISITES_NOT_MET} if a prerequisite was not passed,
+     *                         with {@link ErrorCode#ALREADY_ENROLLED} if the student is already enrolled,
+     *                         with {@link ErrorCode#COURSE_NOT_FOUND} or {@link ErrorCode#STUDENT_NOT_FOUND}
+     *                         if the course or the student does not exist,
+     *                         or if there is an error while saving the enrollment
      */
     @Override
     public void saveEnrollment(Enrollment enrollment) throws CustomException {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
+            Course course = courseRepository.findByIdForUpdate(enrollment.getCourse().getId(), session);
+            if (course == null) {
+                throw new CustomException("Course not found", ErrorCode.COURSE_NOT_FOUND.getCode());
+            }
+            if (enrollmentRepository.countByCourseId(course.getId(), session) >= course.getCapacity()) {
+                throw new CustomException("Course is full", ErrorCode.COURSE_FULL.getCode());
+            }
+            Long studentId = enrollment.getStudent().getId();
+            if (enrollmentRepository.existsByStudentAndCourse(studentId, course.getId(), session)) {
+                throw new CustomException("Student is already enrolled in this course", ErrorCode.ALREADY_ENROLLED.getCode());
+            }
+            prerequisiteService.checkEligibility(studentId, course.getId(), session);
+            scheduleService.checkConflicts(studentId, course, session);
+            enrollment.setCourse(course);
+            enrollment.setStudent(session.getReference(Student.class, studentId));
             enrollmentRepository.save(enrollment, session);
+            outboxRepository.save(OutboxEvent.of(OutboxEventType.ENROLLMENT_CREATED, enrollment), session);
             transaction.commit();
+            ReferenceDataCache.adjustEnrolledCount(course.getId(), 1);
+        } catch (CustomException e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            enrollment.setId(null); // the insert was rolled back, so a retry must insert again
+            if (e.getErrorCode() == ErrorCode.COURSE_FULL.getCode()
+                    || e.getErrorCode() == ErrorCode.SCHEDULE_CONFLICT.getCode()
+                    || e.getErrorCode() == ErrorCode.PREREQUISITES_NOT_MET.getCode()
+                    || e.getErrorCode() == ErrorCode.COURSE_NOT_FOUND.getCode()
+                    || e.getErrorCode() == ErrorCode.ALREADY_ENROLLED.getCode()) {
+                throw e;
+            }
+            CustomException translated = ConstraintErrors.translate(e);
+            throw translated != null ? translated : new CustomException("Failed to save enrollment", ErrorCode.SAVE_ENROLLMENT_FAILED.getCode(), e);
         } catch (Exception e) {
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
-            throw new CustomException("Failed to save enrollment", ErrorCode.SAVE_ENROLLMENT_FAILED.getCode(), e);
+            enrollment.setId(null); // the insert was rolled back, so a retry must insert again
+            CustomException translated = ConstraintErrors.translate(e);
+            throw translated != null ? translated : new CustomException("Failed to save enrollment", ErrorCode.SAVE_ENROLLMENT_FAILED.getCode(), e);
         }
     }
 
@@ -93,20 +159,49 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     }
 
     /**
-     * Updates an enrollment entity in the database.
+     * Updates the grade of an enrollment. A grade change is audited as made by the system.
      *
      * @param enrollment the enrollment entity to update
      * @throws CustomException if there is an error while updating the enrollment
      */
     @Override
     public void updateEnrollment(Enrollment enrollment) throws CustomException {
+        updateEnrollment(enrollment, SYSTEM_ACTOR);
+    }
+
+    /**
+     * Updates the grade of an enrollment with a single UPDATE that also returns the previous
+     * grade, without loading the enrollment. Only the grade is written; the student and course
+     * of an enrollment never change. A grade change is published through the outbox in the same
+     * transaction and audited after commit.
+     *
+     * @param enrollment the enrollment with its ID and new grade
+     * @param changedBy  the username of the user making the change
+     * @throws CustomException if the enrollment does not exist or there is an error while updating it
+     */
+    @Override
+    public void updateEnrollment(Enrollment enrollment, String changedBy) throws CustomException {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            enrollmentRepository.update(enrollment);
+            GradeChange change = enrollmentRepository.setGrade(enrollment.getId(), enrollment.getGrade(), session);
+            if (change == null) {
+                throw new CustomException("Enrollment not found", ErrorCode.FIND_ENROLLMENT_BY_ID_FAILED.getCode());
+            }
+            if (change.isChanged()) {
+                outboxRepository.save(OutboxEvent.of(OutboxEventType.GRADE_CHANGED, change.getEnrollmentId(), change.getStudentId(), change.getCourseId(), change.getOldGrade(), change.getNewGrade()), session);
+            }
             transaction.commit();
+            if (change.isChanged()) {
+                GradeAuditLog.record(new GradeAudit(changedBy, change.getCourseId(), change.getStudentId(), change.getOldGrade(), change.getNewGrade()));
+            }
+        } catch (CustomException e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            throw e;
         } catch (Exception e) {
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
             throw new CustomException("Failed to update enrollment", ErrorCode.UPDATE_ENROLLMENT_FAILED.getCode(), e);
@@ -114,7 +209,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     }
 
     /**
-     * Deletes an enrollment entity from the database.
+     * Deletes (drops) an enrollment and publishes a drop event through the outbox
+     * in the same transaction. The freed seat is given to the next waitlisted student
+     * before the transaction commits.
      *
      * @param enrollment the enrollment entity to delete
      * @throws CustomException if there is an error while deleting the enrollment
@@ -124,10 +221,19 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            enrollmentRepository.delete(enrollment);
+            Enrollment current = session.get(Enrollment.class, enrollment.getId());
+            if (current == null) {
+                throw new CustomException("Enrollment not found", ErrorCode.FIND_ENROLLMENT_BY_ID_FAILED.getCode());
+            }
+            Course course = courseRepository.findByIdForUpdate(current.getCourse().getId(), session);
+            outboxRepository.save(OutboxEvent.of(OutboxEventType.ENROLLMENT_DROPPED, current), session);
+            enrollmentRepository.delete(current, session);
+            session.flush();
+            waitlistService.promote(course, session);
             transaction.commit();
+            ReferenceDataCache.adjustEnrolledCount(course.getId(), -1); // promoted students are counted by promote()
         } catch (Exception e) {
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
             throw new CustomException("Failed to delete enrollment", ErrorCode.DELETE_ENROLLMENT_FAILED.getCode(), e);
@@ -144,8 +250,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     @Override
     public boolean authenticate(Student student, Course course) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            Enrollment enrollment = enrollmentRepository.findEnrollmentByStudentAndCourse(student, course);
-            if (enrollment != null) {
+            if (enrollmentRepository.existsByStudentAndCourse(student.getId(), course.getId(), session)) {
                 return true;
             }
             throw new CustomException("Authentication failed", ErrorCode.LOGIN_USER_FAILED_USER_NOT_FOUND.getCode());
@@ -154,24 +259,68 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         }
     }
 
+    /**
+     * Records grades for students in a course. The changes are audited as made by the system.
+     *
+     * @param courseId the ID of the course
+     * @param grades   a map of student IDs and their grades
+     * @throws CustomException if there is an error while recording grades
+     */
     @Override
     public void recordGrades(Long courseId, Map<Long, Double> grades) throws CustomException {
+        recordGrades(courseId, grades, SYSTEM_ACTOR);
+    }
+
+    /**
+     * Records grades for students in a course. Every grade that changed is published through
+     * the outbox in the same transaction and audited after the transaction commits.
+     *
+     * @param courseId  the ID of the course
+     * @param grades    a map of student IDs and their grades
+     * @param changedBy the username of the user recording the grades
+     * @throws CustomException if there is an error while recording grades
+     */
+    @Override
+    public void recordGrades(Long courseId, Map<Long, Double> grades, String changedBy) throws CustomException {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            enrollmentRepository.recordGrades(courseId, grades, session);
+            Map<Enrollment, Double> previousGrades = enrollmentRepository.recordGrades(courseId, grades, session);
+            List<OutboxEvent> events = new ArrayList<>();
+            List<GradeAudit> audits = new ArrayList<>();
+            for (Map.Entry<Enrollment, Double> entry : previousGrades.entrySet()) {
+                Enrollment changed = entry.getKey();
+                Long studentId = changed.getStudent().getId();
+                events.add(OutboxEvent.of(OutboxEventType.GRADE_CHANGED, changed.getId(), studentId, courseId, entry.getValue(), changed.getGrade()));
+                audits.add(new GradeAudit(changedBy, courseId, studentId, entry.getValue(), changed.getGrade()));
+            }
+            outboxRepository.saveAll(events, session);
             transaction.commit();
+            GradeAuditLog.record(audits);
         } catch (Exception e) {
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
             throw new CustomException("Failed to record grades", ErrorCode.RECORD_GRADES_FAILED.getCode(), e);
         }
     }
 
+    /**
+     * Retrieves the recorded grade changes of a student in a course.
+     *
+     * @param courseId  the ID of the course
+     * @param studentId the ID of the student
+     * @return the grade changes, oldest first
+     * @throws CustomException if there is an error while retrieving the history
+     */
+    @Override
+    public List<GradeAudit> findGradeHistory(Long courseId, Long studentId) throws CustomException {
+        return gradeAuditRepository.findByCourseAndStudent(courseId, studentId);
+    }
+
     @Override
     public List<Enrollment> findEnrollmentsByCourseId(Long courseId) throws CustomException {
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+        try (Session session = ReplicaRouter.openSession()) {
             return enrollmentRepository.findEnrollmentsByCourseId(courseId, session);
         } catch (Exception e) {
             throw new CustomException("Failed to retrieve enrollments for course", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
@@ -187,12 +336,47 @@ public class EnrollmentServiceImpl implements EnrollmentService {
      */
     @Override
     public List<Enrollment> findEnrollmentsByStudentId(Long studentId) throws CustomException {
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("FROM Enrollment WHERE student.id = :studentId", Enrollment.class)
+        try (Session session = ReplicaRouter.openSession()) {
+            return session.createNamedQuery(Enrollment.FIND_BY_STUDENT_ID, Enrollment.class)
                     .setParameter("studentId", studentId)
                     .list();
         } catch (Exception e) {
             throw new CustomException("Failed to retrieve enrollments for student", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Counts the students enrolled in a course with one COUNT query, without loading the
+     * enrollments or the course's enrollment collection.
+     *
+     * @param courseId the ID of the course
+     * @return the number of enrolled students
+     * @throws CustomException if there is an error while counting the enrollments
+     */
+    @Override
+    public long countEnrollments(Long courseId) throws CustomException {
+        try (Session session = ReplicaRouter.openSession()) {
+            return enrollmentRepository.countByCourseId(courseId, session);
+        } catch (Exception e) {
+            throw new CustomException("Failed to count enrollments for course", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Checks whether a student is enrolled in a course with one query that stops at the first
+     * match, without loading the enrollment or either side's collection.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @return true if the student is enrolled in the course
+     * @throws CustomException if there is an error while checking the enrollment
+     */
+    @Override
+    public boolean isEnrolled(Long studentId, Long courseId) throws CustomException {
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            return enrollmentRepository.existsByStudentAndCourse(studentId, courseId, session);
+        } catch (Exception e) {
+            throw new CustomException("Failed to check enrollment", ErrorCode.FIND_ENROLLMENT_BY_ID_FAILED.getCode(), e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.service.impl;
+
+import org.example.entity.OutboxEvent;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.service.OutboxSink;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Outbox sink that appends every event as one JSON line to a local file.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    public FileOutboxSink(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Appends the batch to the file.
+     *
+     * @param events the events to deliver
+     * @throws CustomException if the file cannot be written
+     */
+    @Override
+    public synchronized void deliver(List<OutboxEvent> events) throws CustomException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            for (OutboxEvent event : events) {
+                writer.write("{\"id\":" + event.getId()
+                        + ",\"type\":\"" + event.getEventType()
+                        + "\",\"createdAt\":\"" + event.getCreatedAt()
+                        + "\",\"data\":" + event.getPayload() + "}");
+                writer.newLine();
+            }
+        } catch (Exception e) {
+            throw new CustomException("Failed to write outbox events to " + file, ErrorCode.DELIVER_OUTBOX_FAILED.getCode(), e);
+        }
+    }
+}
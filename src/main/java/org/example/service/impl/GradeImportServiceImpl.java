@@ -0,0 +1,215 @@
+package org.example.service.impl;
+
+import org.example.dto.GradeImportError;
+import org.example.dto.GradeImportReport;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.impl.EnrollmentRepositoryImpl;
+import org.example.service.EnrollmentService;
+import org.example.service.GradeImportService;
+import org.example.util.AppConfig;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.Session;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation of the GradeImportService interface.
+ * <p>
+ * The file is read in chunks; the rows of each chunk are parsed and checked against the course
+ * roster (loaded once) in parallel, and every valid grade is then applied through
+ * {@link EnrollmentService#recordGrades(Long, Map, String)} in a single transaction with batched
+ * updates, so grade changes are audited and published like any other.
+ */
+public class GradeImportServiceImpl implements GradeImportService {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private final EnrollmentService enrollmentService;
+    private final EnrollmentRepository enrollmentRepository = new EnrollmentRepositoryImpl();
+    private final double minGrade = AppConfig.getDouble("ems.grades.min", 0);
+    private final double maxGrade = AppConfig.getDouble("ems.grades.max", 20);
+
+    /**
+     * Creates an importer that records grades through the given enrollment service.
+     *
+     * @param enrollmentService the service that records the imported grades
+     */
+    public GradeImportServiceImpl(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+
+    /**
+     * Imports grades for a course from a CSV or TSV file with one {@code student,grade} row per
+     * student, where the student is given by student number or ID. A header row is skipped. If
+     * the file has invalid rows, the valid rows are still applied.
+     *
+     * @param courseId  the ID of the course
+     * @param file      the file to import
+     * @param changedBy the username of the user importing the grades
+     * @return the number of applied rows and the rejected rows with their reasons
+     * @throws CustomException if the file cannot be read or the grades cannot be recorded
+     */
+    @Override
+    public GradeImportReport importGrades(Long courseId, Path file, String changedBy) throws CustomException {
+        long start = System.nanoTime();
+        Map<String, Long> roster;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            roster = enrollmentRepository.findRosterByCourseId(courseId, session);
+        }
+        Set<Long> enrolledIds = new HashSet<>(roster.values());
+
+        Map<Long, Double> grades = new LinkedHashMap<>();
+        Map<Long, Long> firstLineOfStudent = new HashMap<>();
+        List<GradeImportError> errors = new ArrayList<>();
+        long totalRows = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lineNumber = 0;
+            long chunkStart = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && isHeader(line)) {
+                    chunkStart = 2;
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == CHUNK_SIZE) {
+                    totalRows += apply(chunk, chunkStart, roster, enrolledIds, grades, firstLineOfStudent, errors);
+                    chunk.clear();
+                    chunkStart = lineNumber + 1;
+                }
+            }
+            totalRows += apply(chunk, chunkStart, roster, enrolledIds, grades, firstLineOfStudent, errors);
+        } catch (Exception e) {
+            throw new CustomException("Failed to read grade file " + file, ErrorCode.IMPORT_GRADES_FAILED.getCode(), e);
+        }
+
+        enrollmentService.recordGrades(courseId, grades, changedBy);
+        return new GradeImportReport(totalRows, grades.size(), errors, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Validates a chunk of consecutive lines and collects its valid grades and errors in file order.
+     *
+     * @return the number of non-blank rows in the chunk
+     */
+    private long apply(List<String> chunk, long chunkStart, Map<String, Long> roster, Set<Long> enrolledIds,
+                       Map<Long, Double> grades, Map<Long, Long> firstLineOfStudent, List<GradeImportError> errors) {
+        Row[] rows = validate(chunk, roster, enrolledIds);
+        long count = 0;
+        for (int i = 0; i < rows.length; i++) {
+            Row row = rows[i];
+            if (row == null) {
+                continue;
+            }
+            count++;
+            long lineNumber = chunkStart + i;
+            Long firstLine;
+            if (row.error != null) {
+                errors.add(new GradeImportError(lineNumber, chunk.get(i), row.error));
+            } else if ((firstLine = firstLineOfStudent.putIfAbsent(row.studentId, lineNumber)) != null) {
+                errors.add(new GradeImportError(lineNumber, chunk.get(i), "Duplicate row for student, first given on line " + firstLine));
+            } else {
+                grades.put(row.studentId, row.grade);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Parses and checks the rows of a chunk in parallel. Blank lines yield null.
+     */
+    private Row[] validate(List<String> chunk, Map<String, Long> roster, Set<Long> enrolledIds) {
+        Row[] rows = new Row[chunk.size()];
+        IntStream.range(0, chunk.size()).parallel().forEach(i -> rows[i] = parse(chunk.get(i), roster, enrolledIds));
+        return rows;
+    }
+
+    private Row parse(String line, Map<String, Long> roster, Set<Long> enrolledIds) {
+        if (line.isBlank()) {
+            return null;
+        }
+        String[] fields = line.split(line.indexOf('\t') >= 0 ? "\t" : ",", -1);
+        if (fields.length != 2) {
+            return Row.error("Expected 2 columns (student, grade), found " + fields.length);
+        }
+        String student = unquote(fields[0]);
+        Long studentId = roster.get(student);
+        if (studentId == null) {
+            try {
+                Long id = Long.valueOf(student);
+                if (enrolledIds.contains(id)) {
+                    studentId = id;
+                }
+            } catch (NumberFormatException ignored) {
+                // not an ID either
+            }
+        }
+        if (studentId == null) {
+            return Row.error("Student " + student + " is not enrolled in this course");
+        }
+        double grade;
+        try {
+            grade = Double.parseDouble(unquote(fields[1]));
+        } catch (NumberFormatException e) {
+            return Row.error("Grade is not a number: " + fields[1].trim());
+        }
+        if (grade < minGrade || grade > maxGrade || Double.isNaN(grade)) {
+            return Row.error("Grade must be between " + minGrade + " and " + maxGrade);
+        }
+        return new Row(studentId, grade, null);
+    }
+
+    private static boolean isHeader(String line) {
+        String[] fields = line.split(line.indexOf('\t') >= 0 ? "\t" : ",", -1);
+        if (fields.length < 2) {
+            return false;
+        }
+        try {
+            Double.parseDouble(unquote(fields[1]));
+            return false;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static String unquote(String field) {
+        String trimmed = field.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+
+    private static final class Row {
+
+        private final Long studentId;
+        private final double grade;
+        private final String error;
+
+        private Row(Long studentId, double grade, String error) {
+            this.studentId = studentId;
+            this.grade = grade;
+            this.error = error;
+        }
+
+        private static Row error(String message) {
+            return new Row(null, 0, message);
+        }
+    }
+}
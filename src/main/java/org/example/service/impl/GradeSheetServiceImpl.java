@@ -0,0 +1,185 @@
+package org.example.service.impl;
+
+import org.example.dto.GradeSheetReport;
+import org.example.entity.Course;
+import org.example.entity.Enrollment;
+import org.example.entity.Student;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.TeacherRepository;
+import org.example.repository.impl.CourseRepositoryImpl;
+import org.example.repository.impl.EnrollmentRepositoryImpl;
+import org.example.repository.impl.TeacherRepositoryImpl;
+import org.example.service.GradeSheetService;
+import org.example.util.AppConfig;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.Session;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Implementation of the GradeSheetService interface.
+ * <p>
+ * Teachers are split recursively across a fork-join pool ({@code ems.grade-sheets.parallelism},
+ * default: the number of cores). Each leaf loads the courses and enrollments of its group of
+ * teachers with two bounded queries and writes one CSV file per course. A semaphore
+ * ({@code ems.grade-sheets.db-permits}) caps how many leaves query the database at once, so the
+ * job never takes more connections than the pool can spare; file writing runs outside it.
+ */
+public class GradeSheetServiceImpl implements GradeSheetService {
+
+    private final TeacherRepository teacherRepository = new TeacherRepositoryImpl();
+    private final CourseRepository courseRepository = new CourseRepositoryImpl();
+    private final EnrollmentRepository enrollmentRepository = new EnrollmentRepositoryImpl();
+
+    private final int parallelism = AppConfig.getInt("ems.grade-sheets.parallelism", Runtime.getRuntime().availableProcessors());
+    private final int dbPermits = AppConfig.getInt("ems.grade-sheets.db-permits", 4);
+    private final int teachersPerTask = AppConfig.getInt("ems.grade-sheets.teachers-per-task", 16);
+
+    /**
+     * Writes one grade sheet per course into {@code outputDirectory/<teacher username>/}.
+     *
+     * @param outputDirectory the directory to write the sheets into
+     * @param progress        receives the number of teachers processed so far
+     * @return the number of teachers and sheets, the failures and the wall time
+     * @throws CustomException if the teachers cannot be listed or the directory cannot be created
+     */
+    @Override
+    public GradeSheetReport generateAll(Path outputDirectory, IntConsumer progress) throws CustomException {
+        long start = System.nanoTime();
+        List<Long> teacherIds;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            teacherIds = teacherRepository.findAllIds(session);
+            Files.createDirectories(outputDirectory);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to generate grade sheets", ErrorCode.GENERATE_GRADE_SHEETS_FAILED.getCode(), e);
+        }
+
+        Job job = new Job(outputDirectory, new Semaphore(dbPermits), progress);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new TeacherTask(job, teacherIds));
+        } finally {
+            pool.shutdown();
+        }
+        return new GradeSheetReport(outputDirectory, teacherIds.size(), job.sheets.get(),
+                new ArrayList<>(job.failures), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * State shared by the tasks of one run.
+     */
+    private static final class Job {
+
+        private final Path outputDirectory;
+        private final Semaphore dbPermits;
+        private final IntConsumer progress;
+        private final AtomicInteger teachersDone = new AtomicInteger();
+        private final AtomicInteger sheets = new AtomicInteger();
+        private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+        private Job(Path outputDirectory, Semaphore dbPermits, IntConsumer progress) {
+            this.outputDirectory = outputDirectory;
+            this.dbPermits = dbPermits;
+            this.progress = progress;
+        }
+    }
+
+    /**
+     * Generates the sheets of a range of teachers, splitting it in half until it is small enough.
+     */
+    private final class TeacherTask extends RecursiveAction {
+
+        private final Job job;
+        private final List<Long> teacherIds;
+
+        private TeacherTask(Job job, List<Long> teacherIds) {
+            this.job = job;
+            this.teacherIds = teacherIds;
+        }
+
+        @Override
+        protected void compute() {
+            if (teacherIds.size() > teachersPerTask) {
+                int middle = teacherIds.size() / 2;
+                invokeAll(new TeacherTask(job, teacherIds.subList(0, middle)),
+                        new TeacherTask(job, teacherIds.subList(middle, teacherIds.size())));
+                return;
+            }
+            if (teacherIds.isEmpty()) {
+                return;
+            }
+            List<Course> courses;
+            List<Enrollment> enrollments;
+            try {
+                job.dbPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.failures.add("Teachers " + teacherIds + ": interrupted");
+                return;
+            }
+            try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+                courses = courseRepository.findByTeacherIds(teacherIds, session);
+                enrollments = enrollmentRepository.findByTeacherIds(teacherIds, session);
+            } catch (Exception e) {
+                job.failures.add("Teachers " + teacherIds + ": " + e.getMessage());
+                return;
+            } finally {
+                job.dbPermits.release();
+            }
+
+            Map<Long, List<Enrollment>> enrollmentsByCourse = new HashMap<>();
+            for (Enrollment enrollment : enrollments) {
+                enrollmentsByCourse.computeIfAbsent(enrollment.getCourse().getId(), id -> new ArrayList<>()).add(enrollment);
+            }
+            for (Course course : courses) {
+                try {
+                    writeSheet(course, enrollmentsByCourse.getOrDefault(course.getId(), Collections.emptyList()));
+                    job.sheets.incrementAndGet();
+                } catch (IOException e) {
+                    job.failures.add("Course " + course.getId() + ": " + e.getMessage());
+                }
+            }
+            job.progress.accept(job.teachersDone.addAndGet(teacherIds.size()));
+        }
+
+        private void writeSheet(Course course, List<Enrollment> enrollments) throws IOException {
+            Path directory = job.outputDirectory.resolve(safeName(course.getTeacher().getUsername()));
+            Files.createDirectories(directory);
+            Path file = directory.resolve(course.getId() + "-" + safeName(course.getCourseName()) + ".csv");
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("student_number,first_name,last_name,grade");
+                writer.newLine();
+                for (Enrollment enrollment : enrollments) {
+                    Student student = enrollment.getStudent();
+                    writer.write(student.getStudentNumber() + "," + student.getFirstName() + "," + student.getLastName() + ","
+                            + (enrollment.getGrade() == null ? "" : enrollment.getGrade()));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    private static String safeName(String name) {
+        return name.replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+    }
+}
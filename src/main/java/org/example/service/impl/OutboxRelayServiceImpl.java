@@ -0,0 +1,150 @@
+package org.example.service.impl;
+
+import org.example.entity.OutboxEvent;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.repository.OutboxRepository;
+import org.example.repository.impl.OutboxRepositoryImpl;
+import org.example.service.OutboxRelayService;
+import org.example.service.OutboxSink;
+import org.example.util.AppConfig;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the OutboxRelayService interface.
+ * <p>
+ * Each batch is locked with {@code SKIP LOCKED}, handed to every sink and deleted in the same
+ * transaction, so a batch is either delivered and pruned or left in place for the next attempt
+ * (at-least-once delivery).
+ */
+public class OutboxRelayServiceImpl implements OutboxRelayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayServiceImpl.class);
+
+    private final OutboxRepository outboxRepository = new OutboxRepositoryImpl();
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final long pollIntervalMs;
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong deliveryNanos = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a relay that delivers to the file sink configured by {@code ems.outbox.file-sink.path}.
+     */
+    public OutboxRelayServiceImpl() {
+        this(List.of(new FileOutboxSink(Path.of(AppConfig.get("ems.outbox.file-sink.path", "outbox-events.jsonl")))));
+    }
+
+    /**
+     * Creates a relay that delivers to the given sinks.
+     *
+     * @param sinks the sinks every event is delivered to
+     */
+    public OutboxRelayServiceImpl(List<OutboxSink> sinks) {
+        this.sinks = sinks;
+        this.batchSize = AppConfig.getInt("ems.outbox.batch-size", 500);
+        this.pollIntervalMs = AppConfig.getLong("ems.outbox.poll-interval-ms", 1000);
+    }
+
+    /**
+     * Delivers and prunes one batch of outbox events.
+     *
+     * @return the number of delivered events
+     * @throws CustomException if the batch could not be delivered
+     */
+    @Override
+    public int relayBatch() throws CustomException {
+        Transaction transaction = null;
+        long start = System.nanoTime();
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            List<OutboxEvent> events = outboxRepository.lockNextBatch(batchSize, session);
+            if (events.isEmpty()) {
+                transaction.commit();
+                return 0;
+            }
+            for (OutboxSink sink : sinks) {
+                sink.deliver(events);
+            }
+            outboxRepository.deleteByIds(events.stream().map(OutboxEvent::getId).collect(Collectors.toList()), session);
+            transaction.commit();
+            deliveredCount.addAndGet(events.size());
+            deliveryNanos.addAndGet(System.nanoTime() - start);
+            return events.size();
+        } catch (Exception e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            throw new CustomException("Failed to relay outbox events", ErrorCode.RELAY_OUTBOX_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Starts relaying in the background. Full batches are relayed back to back;
+     * an empty or partial batch waits for the poll interval.
+     */
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                while (relayBatch() == batchSize) {
+                    // keep draining while the outbox is backed up
+                }
+            } catch (CustomException e) {
+                logger.error("Outbox relay failed, retrying in {} ms", pollIntervalMs, e);
+            }
+        }, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background relay after the batch in progress.
+     */
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @return the number of events delivered since startup
+     */
+    @Override
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * Returns the relay throughput: delivered events divided by the time spent relaying them.
+     *
+     * @return events per second, or 0 before the first delivery
+     */
+    @Override
+    public double getEventsPerSecond() {
+        long nanos = deliveryNanos.get();
+        return nanos == 0 ? 0.0 : deliveredCount.get() * 1_000_000_000.0 / nanos;
+    }
+}
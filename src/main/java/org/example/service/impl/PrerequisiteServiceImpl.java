@@ -0,0 +1,127 @@
+package org.example.service.impl;
+
+import org.example.entity.Course;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.impl.CourseRepositoryImpl;
+import org.example.repository.impl.EnrollmentRepositoryImpl;
+import org.example.service.PrerequisiteService;
+import org.example.util.AppConfig;
+import org.example.util.ConstraintErrors;
+import org.example.util.PrerequisiteGraph;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Implementation of the PrerequisiteService interface.
+ * <p>
+ * A student is eligible for a course once every course in its transitive prerequisite closure
+ * (see {@link PrerequisiteGraph}) has an enrollment with a grade of at least
+ * {@code ems.prerequisites.passing-grade}.
+ */
+public class PrerequisiteServiceImpl implements PrerequisiteService {
+
+    private final CourseRepository courseRepository = new CourseRepositoryImpl();
+    private final EnrollmentRepository enrollmentRepository = new EnrollmentRepositoryImpl();
+    private final double passingGrade = AppConfig.getDouble("ems.prerequisites.passing-grade", 10);
+
+    /**
+     * Replaces the direct prerequisites of a course. Edits are serialized in the database by the
+     * prerequisite graph's version row, and the cycle check reads the edges after taking it, so two
+     * concurrent edits, even from different processes, cannot together introduce a cycle.
+     *
+     * @param courseId        the ID of the course
+     * @param prerequisiteIds the IDs of the new direct prerequisites
+     * @throws CustomException with {@link ErrorCode#PREREQUISITE_CYCLE} if the edit would make the
+     *                         course a prerequisite of itself, with {@link ErrorCode#COURSE_NOT_FOUND}
+     *                         if the course or a prerequisite does not exist, or if the update fails
+     */
+    @Override
+    public void setPrerequisites(Long courseId, Set<Long> prerequisiteIds) throws CustomException {
+        Transaction transaction = null;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            // قفل سطر نسخه تا پایان تراکنش؛ یال‌ها پس از آن خوانده می‌شوند تا ویرایش‌های هم‌زمان دیده شوند
+            courseRepository.lockPrerequisiteGraph(session);
+            Course course = courseRepository.findById(courseId, session);
+            if (course == null) {
+                throw new CustomException("Course not found", ErrorCode.COURSE_NOT_FOUND.getCode());
+            }
+            Map<Long, Set<Long>> edges = courseRepository.findAllPrerequisiteEdges(session);
+            if (PrerequisiteGraph.wouldCreateCycle(courseId, prerequisiteIds, edges)) {
+                throw new CustomException("Prerequisites would create a cycle", ErrorCode.PREREQUISITE_CYCLE.getCode());
+            }
+            // بدون بارگذاری؛ کلید خارجی وجود درس پیش‌نیاز را بررسی می‌کند
+            Set<Course> prerequisites = new HashSet<>();
+            for (Long prerequisiteId : prerequisiteIds) {
+                prerequisites.add(session.getReference(Course.class, prerequisiteId));
+            }
+            course.setPrerequisites(prerequisites);
+            transaction.commit();
+            PrerequisiteGraph.invalidate();
+        } catch (CustomException e) {
+            rollback(transaction);
+            throw e;
+        } catch (Exception e) {
+            rollback(transaction);
+            CustomException translated = ConstraintErrors.translate(e);
+            throw translated != null ? translated : new CustomException("Failed to update prerequisites", ErrorCode.UPDATE_PREREQUISITES_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Finds the prerequisites of a course the student has not passed yet.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @return the IDs of the missing prerequisites; empty if the student is eligible
+     * @throws CustomException if there is an error while checking eligibility
+     */
+    @Override
+    public Set<Long> findMissingPrerequisites(Long studentId, Long courseId) throws CustomException {
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            return findMissingPrerequisites(studentId, courseId, session);
+        }
+    }
+
+    /**
+     * Fails when the student has not passed every prerequisite of the course.
+     * Must run in the caller's session.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @param session   the Hibernate session
+     * @throws CustomException with {@link ErrorCode#PREREQUISITES_NOT_MET} if a prerequisite is missing
+     */
+    void checkEligibility(Long studentId, Long courseId, Session session) throws CustomException {
+        Set<Long> missing = findMissingPrerequisites(studentId, courseId, session);
+        if (!missing.isEmpty()) {
+            throw new CustomException("Prerequisites not passed: courses " + missing, ErrorCode.PREREQUISITES_NOT_MET.getCode());
+        }
+    }
+
+    Set<Long> findMissingPrerequisites(Long studentId, Long courseId, Session session) throws CustomException {
+        long version = courseRepository.findPrerequisiteGraphVersion(session);
+        Set<Long> required = PrerequisiteGraph.prerequisitesOf(courseId, version, () -> courseRepository.findAllPrerequisiteEdges(session));
+        if (required.isEmpty()) {
+            return required;
+        }
+        Set<Long> missing = new TreeSet<>(required);
+        missing.removeAll(enrollmentRepository.findPassedCourseIds(studentId, passingGrade, session));
+        return missing;
+    }
+
+    private static void rollback(Transaction transaction) {
+        if (transaction != null && transaction.getStatus().canRollback()) {
+            transaction.rollback();
+        }
+    }
+}
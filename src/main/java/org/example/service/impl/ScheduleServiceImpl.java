@@ -0,0 +1,122 @@
+package org.example.service.impl;
+
+import org.example.dto.ScheduleConflict;
+import org.example.dto.ScheduledSlot;
+import org.example.entity.Course;
+import org.example.entity.TimeSlot;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.repository.CourseRepository;
+import org.example.repository.impl.CourseRepositoryImpl;
+import org.example.service.ScheduleService;
+import org.example.util.ReplicaRouter;
+import org.example.util.ScheduleIndex;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the ScheduleService interface.
+ */
+public class ScheduleServiceImpl implements ScheduleService {
+
+    private final CourseRepository courseRepository = new CourseRepositoryImpl();
+
+    /**
+     * Checks every enrollment's meeting times for overlaps. The meeting times are streamed one
+     * student at a time, and each student's times are checked with a single sort and sweep.
+     *
+     * @return the conflicts found, one per overlapping pair of meeting times
+     * @throws CustomException if there is an error while loading the schedules
+     */
+    @Override
+    public List<ScheduleConflict> validateAllSchedules() throws CustomException {
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        try (Session session = ReplicaRouter.openSession();
+             Stream<ScheduledSlot> slots = courseRepository.streamAllScheduledSlots(session)) {
+            List<ScheduledSlot> studentSlots = new ArrayList<>();
+            Iterator<ScheduledSlot> iterator = slots.iterator();
+            while (iterator.hasNext()) {
+                ScheduledSlot slot = iterator.next();
+                if (!studentSlots.isEmpty() && !studentSlots.get(0).getStudentId().equals(slot.getStudentId())) {
+                    sweep(studentSlots, conflicts);
+                    studentSlots.clear();
+                }
+                studentSlots.add(slot);
+            }
+            sweep(studentSlots, conflicts);
+            return conflicts;
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException("Failed to validate schedules", ErrorCode.VALIDATE_SCHEDULES_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Fails when one of a course's meeting times overlaps a course the student is enrolled in.
+     * Must run in the caller's transaction.
+     *
+     * @param studentId the ID of the student
+     * @param course    the course being enrolled in
+     * @param session   the Hibernate session
+     * @throws CustomException with {@link ErrorCode#SCHEDULE_CONFLICT} on an overlap
+     */
+    void checkConflicts(Long studentId, Course course, Session session) throws CustomException {
+        ScheduledSlot overlap = findConflict(studentId, course, session);
+        if (overlap != null) {
+            throw new CustomException("Time conflict with course " + overlap.getCourseId() + " on " + overlap.describe(),
+                    ErrorCode.SCHEDULE_CONFLICT.getCode());
+        }
+    }
+
+    /**
+     * Finds a meeting time of the student's courses that overlaps one of the course's meeting times.
+     * The student's timetable is read in the caller's transaction.
+     *
+     * @param studentId the ID of the student
+     * @param course    the course being enrolled in
+     * @param session   the Hibernate session
+     * @return the overlapping meeting time, or null if there is none
+     * @throws CustomException if the student's schedule cannot be loaded
+     */
+    ScheduledSlot findConflict(Long studentId, Course course, Session session) throws CustomException {
+        List<TimeSlot> timeSlots = course.getTimeSlots();
+        if (timeSlots == null || timeSlots.isEmpty()) {
+            return null;
+        }
+        // هر بار از پایگاه داده خوانده می‌شود تا ثبت‌نام‌های پردازه‌های دیگر هم دیده شوند
+        List<ScheduledSlot> enrolledSlots = new ArrayList<>();
+        for (ScheduledSlot slot : courseRepository.findTimeSlotsByStudentId(studentId, session)) {
+            if (!slot.getCourseId().equals(course.getId())) {
+                enrolledSlots.add(slot);
+            }
+        }
+        ScheduleIndex schedule = ScheduleIndex.of(enrolledSlots);
+        for (TimeSlot slot : timeSlots) {
+            ScheduledSlot overlap = schedule.findOverlap(slot.weeklyStartMinute(), slot.weeklyEndMinute());
+            if (overlap != null) {
+                return overlap;
+            }
+        }
+        return null;
+    }
+
+    private static void sweep(List<ScheduledSlot> studentSlots, List<ScheduleConflict> conflicts) {
+        studentSlots.sort(Comparator.comparingInt(ScheduledSlot::getStart));
+        ScheduledSlot latest = null;
+        for (ScheduledSlot slot : studentSlots) {
+            if (latest != null && slot.getStart() < latest.getEnd() && !slot.getCourseId().equals(latest.getCourseId())) {
+                conflicts.add(new ScheduleConflict(slot.getStudentId(), latest.getCourseId(), slot.getCourseId(), slot.describe()));
+            }
+            if (latest == null || slot.getEnd() > latest.getEnd()) {
+                latest = slot;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.service.impl;
+
+import org.example.dto.SystemStatistics;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.service.StatisticsService;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementation of the StatisticsService interface backed by Hibernate {@link Statistics}.
+ */
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private static final int SLOWEST_QUERY_LIMIT = 5;
+
+    /**
+     * Returns a snapshot of the statistics gathered since startup or the last reset.
+     *
+     * @return the current statistics snapshot
+     * @throws CustomException if the statistics cannot be read
+     */
+    @Override
+    public SystemStatistics getStatistics() throws CustomException {
+        try {
+            Statistics statistics = SessionFactoryInstance.sessionFactory.getStatistics();
+            return new SystemStatistics(
+                    statistics.getStart(),
+                    statistics.getQueryExecutionCount(),
+                    statistics.getPrepareStatementCount(),
+                    statistics.getEntityLoadCount(),
+                    statistics.getEntityFetchCount(),
+                    statistics.getCollectionLoadCount(),
+                    statistics.getCollectionFetchCount(),
+                    statistics.getSecondLevelCacheHitCount(),
+                    statistics.getSecondLevelCacheMissCount(),
+                    statistics.getConnectCount(),
+                    statistics.getTransactionCount(),
+                    statistics.getSessionOpenCount(),
+                    findSlowestQueries(statistics)
+            );
+        } catch (Exception e) {
+            throw new CustomException("Failed to read system statistics", ErrorCode.VIEW_STATISTICS_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Clears all counters so the cost of the next workflow can be observed in isolation.
+     *
+     * @throws CustomException if the statistics cannot be reset
+     */
+    @Override
+    public void resetStatistics() throws CustomException {
+        try {
+            SessionFactoryInstance.sessionFactory.getStatistics().clear();
+        } catch (Exception e) {
+            throw new CustomException("Failed to reset system statistics", ErrorCode.RESET_STATISTICS_FAILED.getCode(), e);
+        }
+    }
+
+    /**
+     * Collects the queries with the highest maximum execution time.
+     *
+     * @param statistics the Hibernate statistics
+     * @return the slowest queries, slowest first
+     */
+    private List<SystemStatistics.QueryTiming> findSlowestQueries(Statistics statistics) {
+        List<SystemStatistics.QueryTiming> timings = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            timings.add(new SystemStatistics.QueryTiming(
+                    query,
+                    queryStatistics.getExecutionCount(),
+                    queryStatistics.getExecutionAvgTime(),
+                    queryStatistics.getExecutionMaxTime(),
+                    queryStatistics.getExecutionRowCount()
+            ));
+        }
+        timings.sort(Comparator.comparingLong(SystemStatistics.QueryTiming::getExecutionMaxTime).reversed());
+        return timings.size() > SLOWEST_QUERY_LIMIT ? new ArrayList<>(timings.subList(0, SLOWEST_QUERY_LIMIT)) : timings;
+    }
+}
@@ -1,21 +1,29 @@
 package org.example.service.impl;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.example.entity.Student;
 import org.example.enums.ErrorCode;
 import org.example.exception.CustomException;
+import org.example.exception.LoginThrottledException;
 import org.example.repository.StudentRepository;
 import org.example.repository.impl.StudentRepositoryImpl;
 import org.example.service.StudentService;
+import org.example.util.LoginRateLimiter;
 import org.example.util.SessionFactoryInstance;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implementation of the StudentService interface.
  */
 public class StudentServiceImpl implements StudentService {
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     private StudentRepository studentRepository = new StudentRepositoryImpl();
 
     /**
@@ -91,6 +99,39 @@ public class StudentServiceImpl implements StudentService {
         }
     }
 
+    /**
+     * Changes the password of a student with a single UPDATE of the password column.
+     *
+     * @param studentId   the ID of the student
+     * @param newPassword the new password to set
+     * @throws CustomException if the password is invalid, the student does not exist or the password cannot be changed
+     */
+    @Override
+    public void setPassword(Long studentId, String newPassword) throws CustomException {
+        Set<ConstraintViolation<Student>> violations = validator.validateValue(Student.class, "password", newPassword);
+        if (!violations.isEmpty()) {
+            throw new CustomException("Validation failed: password " + violations.iterator().next().getMessage(), ErrorCode.UPDATE_STUDENT_FAILED.getCode());
+        }
+        Transaction transaction = null;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            if (studentRepository.setPassword(studentId, newPassword, session) == 0) {
+                throw new CustomException("Student not found", ErrorCode.STUDENT_NOT_FOUND.getCode());
+            }
+            transaction.commit();
+        } catch (CustomException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw new CustomException("Failed to change student's password", ErrorCode.UPDATE_STUDENT_FAILED.getCode(), e);
+        }
+    }
+
     /**
      * Deletes a student entity from the database.
      *
@@ -118,13 +159,16 @@ public class StudentServiceImpl implements StudentService {
      * @param username the student's username
      * @param password the student's password
      * @return true if the username and password match a student, otherwise false
+     * @throws LoginThrottledException if too many attempts were made for the user or from the client
      * @throws CustomException if authentication fails
      */
     @Override
     public boolean authenticate(String username, String password) throws CustomException {
+        LoginRateLimiter.acquire(username);
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             Student student = findByName(username);
             if (student != null && student.getPassword().equals(password)) {
+                LoginRateLimiter.reset(username);
                 return true;
             }
             return false;
@@ -143,7 +187,7 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public Student findByName(String username) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("FROM Student WHERE username = :username", Student.class).setParameter("username", username).uniqueResult();
+            return session.createNamedQuery(Student.FIND_BY_USERNAME, Student.class).setParameter("username", username).uniqueResult();
         } catch (Exception e) {
             throw new CustomException("Failed to find student by username", ErrorCode.FIND_STUDENT_BY_ID_FAILED.getCode(), e);
         }
@@ -1,20 +1,32 @@
 package org.example.service.impl;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.dto.DeletionReport;
 import org.example.entity.Course;
 import org.example.entity.Enrollment;
 import org.example.entity.Student;
 import org.example.entity.Teacher;
 import org.example.enums.ErrorCode;
 import org.example.exception.CustomException;
+import org.example.exception.LoginThrottledException;
+import org.example.repository.CourseRepository;
 import org.example.repository.TeacherRepository;
+import org.example.repository.impl.CourseRepositoryImpl;
 import org.example.repository.impl.TeacherRepositoryImpl;
 import org.example.service.TeacherService;
+import org.example.util.LoginRateLimiter;
+import org.example.util.PrerequisiteGraph;
+import org.example.util.ReferenceDataCache;
 import org.example.util.SessionFactoryInstance;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -22,8 +34,12 @@ import java.util.stream.Collectors;
  */
 public class TeacherServiceImpl implements TeacherService {
 
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     private final TeacherRepository teacherRepository = new TeacherRepositoryImpl();
 
+    private final CourseRepository courseRepository = new CourseRepositoryImpl();
+
     /**
      * Saves a teacher entity to the database.
      *
@@ -37,6 +53,7 @@ public class TeacherServiceImpl implements TeacherService {
             transaction = session.beginTransaction();
             teacherRepository.save(teacher, session);
             transaction.commit();
+            ReferenceDataCache.invalidate();
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
@@ -46,7 +63,8 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     /**
-     * Finds a teacher entity by its ID.
+     * Finds a teacher entity by its ID, with the lazy profile columns loaded so that they can
+     * be read after the session is closed.
      *
      * @param id the ID of the teacher entity
      * @return the teacher entity, or null if not found
@@ -55,7 +73,11 @@ public class TeacherServiceImpl implements TeacherService {
     @Override
     public Teacher findTeacherById(Long id) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return teacherRepository.findById(id, session);
+            Teacher teacher = teacherRepository.findById(id, session);
+            if (teacher != null) {
+                teacher.getMobileNumber(); // کل گروه profile با یک SELECT بارگذاری می‌شود
+            }
+            return teacher;
         } catch (Exception e) {
             throw new CustomException("Failed to find teacher by ID", ErrorCode.FIND_TEACHER_BY_ID_FAILED.getCode());
         }
@@ -87,9 +109,7 @@ public class TeacherServiceImpl implements TeacherService {
     @Override
     public Teacher findByName(String name) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            return session.createQuery("FROM Teacher WHERE username = :name", Teacher.class)
-                    .setParameter("name", name)
-                    .uniqueResult();
+            return teacherRepository.findByUsername(name, session);
         } catch (Exception e) {
             throw new CustomException("Failed to find teacher by name", ErrorCode.TEACHER_NOT_FOUND.getCode(), e);
         }
@@ -108,6 +128,7 @@ public class TeacherServiceImpl implements TeacherService {
             transaction = session.beginTransaction();
             teacherRepository.update(teacher);
             transaction.commit();
+            ReferenceDataCache.invalidate();
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
@@ -117,20 +138,40 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     /**
-     * Deletes a teacher entity from the database.
+     * Deletes a teacher entity from the database together with their courses and everything
+     * that depends on the courses.
      *
      * @param teacher the teacher entity to delete
-     * @throws CustomException if there is an error while deleting the teacher
+     * @return the number of rows deleted from each table
+     * @throws CustomException with {@link ErrorCode#TEACHER_NOT_FOUND} if the teacher does not exist,
+     *                         or if there is an error while deleting the teacher
      */
     @Override
-    public void deleteTeacher(Teacher teacher) throws CustomException {
+    public DeletionReport deleteTeacher(Teacher teacher) throws CustomException {
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            teacherRepository.delete(teacher);
+            DeletionReport report = courseRepository.deleteCascadeByTeacherId(teacher.getId(), session);
+            int teachers = teacherRepository.deleteById(teacher.getId(), session);
+
+            // No teacher row was deleted, so the teacher does not exist; roll back the cascade above
+            if (teachers == 0) {
+                transaction.rollback();
+                throw new CustomException("Teacher not found", ErrorCode.TEACHER_NOT_FOUND.getCode());
+            }
+
             transaction.commit();
+            report = report.withTeachers(teachers);
+            ReferenceDataCache.invalidate();
+            PrerequisiteGraph.invalidate();
+            return report;
+        } catch (CustomException e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            throw e;
         } catch (Exception e) {
-            if (transaction != null) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
                 transaction.rollback();
             }
             throw new CustomException("Failed to delete teacher", ErrorCode.DELETE_TEACHER_FAILED.getCode(), e);
@@ -138,23 +179,27 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     /**
-     * Authenticates a teacher based on username and password.
+     * Authenticates a teacher based on username and password, looking the teacher up by the
+     * unique username instead of loading every teacher.
      *
      * @param username the teacher's username
      * @param password the teacher's password
      * @return true if the username and password match a teacher, otherwise false
+     * @throws LoginThrottledException if too many attempts were made for the user or from the client
      * @throws CustomException if authentication fails
      */
     @Override
     public boolean authenticate(String username, String password) throws CustomException {
+        LoginRateLimiter.acquire(username);
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            List<Teacher> teachers = session.createQuery("from Teacher", Teacher.class).list();
-            for (Teacher teacher : teachers) {
-                if (teacher.getUsername().equals(username) && teacher.getPassword().equals(password)) {
-                    return true;
-                }
+            Teacher teacher = teacherRepository.findByUsername(username, session);
+            if (teacher != null && teacher.getPassword().equals(password)) {
+                LoginRateLimiter.reset(username);
+                return true;
             }
             throw new CustomException("Authentication failed", ErrorCode.LOGIN_USER_FAILED_USER_NOT_FOUND.getCode());
+        } catch (CustomException e) {
+            throw e;
         } catch (Exception e) {
             throw new CustomException("Database connection error during authentication", ErrorCode.LOGIN_USER_FAILED_DB.getCode(), e);
         }
@@ -177,19 +222,30 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     /**
-     * Changes the password of a teacher.
+     * Changes the password of a teacher with a single UPDATE of the password column.
      *
      * @param teacherId   the ID of the teacher
      * @param newPassword the new password to set
-     * @throws CustomException if there is an error while changing the password
+     * @throws CustomException if the password is invalid, the teacher does not exist or the password cannot be changed
      */
     @Override
     public void changePassword(Long teacherId, String newPassword) throws CustomException {
+        Set<ConstraintViolation<Teacher>> violations = validator.validateValue(Teacher.class, "password", newPassword);
+        if (!violations.isEmpty()) {
+            throw new CustomException("Validation failed: password " + violations.iterator().next().getMessage(), ErrorCode.UPDATE_TEACHER_FAILED.getCode());
+        }
         Transaction transaction = null;
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
             transaction = session.beginTransaction();
-            teacherRepository.changePassword(teacherId, newPassword);
+            if (teacherRepository.setPassword(teacherId, newPassword, session) == 0) {
+                throw new CustomException("Teacher not found", ErrorCode.TEACHER_NOT_FOUND.getCode());
+            }
             transaction.commit();
+        } catch (CustomException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e;
         } catch (Exception e) {
             if (transaction != null) {
                 transaction.rollback();
@@ -201,7 +257,8 @@ public class TeacherServiceImpl implements TeacherService {
     /**
      * Displays the grades for students in the courses assigned to the current teacher.
      * This method retrieves the list of courses assigned to the teacher and displays the grades
-     * of the students enrolled in those courses.
+     * of the students enrolled in those courses. The enrollments of all courses are loaded
+     * with a single query instead of one query per course.
      *
      * @param teacherId the ID of the teacher
      * @throws CustomException if there is an error while retrieving the grades
@@ -221,11 +278,15 @@ public class TeacherServiceImpl implements TeacherService {
                 return;
             }
 
+            Map<Long, List<Enrollment>> enrollmentsByCourse = session.createNamedQuery(Enrollment.FIND_BY_TEACHER_ID, Enrollment.class)
+                    .setParameter("teacherId", teacherId)
+                    .list()
+                    .stream()
+                    .collect(Collectors.groupingBy(enrollment -> enrollment.getCourse().getId()));
+
             for (Course course : assignedCourses) {
                 System.out.println("Course: " + course.getCourseName());
-                List<Enrollment> enrollments = session.createQuery("FROM Enrollment WHERE course.id = :courseId", Enrollment.class)
-                        .setParameter("courseId", course.getId())
-                        .list();
+                List<Enrollment> enrollments = enrollmentsByCourse.getOrDefault(course.getId(), new ArrayList<>());
 
                 if (enrollments.isEmpty()) {
                     System.out.println("No students enrolled.");
@@ -243,22 +304,19 @@ public class TeacherServiceImpl implements TeacherService {
         }
     }
 
+    /**
+     * Retrieves the students enrolled in a course with a single query.
+     *
+     * @param courseId the ID of the course
+     * @return the enrolled students, or an empty list if nobody is enrolled
+     * @throws CustomException if there is an error while retrieving the students
+     */
     @Override
     public List<Student> viewEnrolledStudents(Long courseId) throws CustomException {
         try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            session.beginTransaction();
-            List<Enrollment> enrollments = session.createQuery("FROM Enrollment WHERE course.id = :courseId", Enrollment.class)
+            return session.createNamedQuery(Enrollment.FIND_STUDENTS_BY_COURSE_ID, Student.class)
                     .setParameter("courseId", courseId)
                     .list();
-            if (enrollments.isEmpty()) {
-                return new ArrayList<>(); // هیچ دانشجویی ثبت‌نام نشده است
-            } else {
-                List<Student> students = enrollments.stream()
-                        .map(Enrollment::getStudent)
-                        .collect(Collectors.toList());
-                session.getTransaction().commit();
-                return students;
-            }
         } catch (Exception e) {
             throw new CustomException("Failed to retrieve enrolled students", ErrorCode.RETRIEVE_ENROLLMENTS_FAILED.getCode(), e);
         }
@@ -0,0 +1,195 @@
+package org.example.service.impl;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.example.entity.Course;
+import org.example.entity.Enrollment;
+import org.example.entity.OutboxEvent;
+import org.example.entity.Student;
+import org.example.entity.WaitlistEntry;
+import org.example.enums.ErrorCode;
+import org.example.enums.OutboxEventType;
+import org.example.exception.CustomException;
+import org.example.repository.CourseRepository;
+import org.example.repository.EnrollmentRepository;
+import org.example.repository.OutboxRepository;
+import org.example.repository.WaitlistRepository;
+import org.example.repository.impl.CourseRepositoryImpl;
+import org.example.repository.impl.EnrollmentRepositoryImpl;
+import org.example.repository.impl.OutboxRepositoryImpl;
+import org.example.repository.impl.WaitlistRepositoryImpl;
+import org.example.service.WaitlistService;
+import org.example.util.ConstraintErrors;
+import org.example.util.ReferenceDataCache;
+import org.example.util.SessionFactoryInstance;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Implementation of the WaitlistService interface.
+ * <p>
+ * Every change to a course's seats runs under a lock on the course row (see
+ * {@link CourseRepository#findByIdForUpdate(Long, Session)}), so counting free seats and
+ * promoting waitlisted students is atomic with the change that freed the seats.
+ */
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistRepository waitlistRepository = new WaitlistRepositoryImpl();
+    private final EnrollmentRepository enrollmentRepository = new EnrollmentRepositoryImpl();
+    private final CourseRepository courseRepository = new CourseRepositoryImpl();
+    private final OutboxRepository outboxRepository = new OutboxRepositoryImpl();
+    private final ScheduleServiceImpl scheduleService = new ScheduleServiceImpl();
+    private final PrerequisiteServiceImpl prerequisiteService = new PrerequisiteServiceImpl();
+
+    /**
+     * Adds a student to the waitlist of a course. If the course has a free seat the student is
+     * enrolled right away instead.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @param priority  the priority of the request; higher priorities are promoted first
+     * @return the student's position in the waitlist, or 0 if the student was enrolled
+     * @throws CustomException if the student is already enrolled or waitlisted, or the request fails
+     */
+    @Override
+    public int joinWaitlist(Long studentId, Long courseId, int priority) throws CustomException {
+        Transaction transaction = null;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            Course course = courseRepository.findByIdForUpdate(courseId, session);
+            if (course == null) {
+                throw new CustomException("Course not found", ErrorCode.COURSE_NOT_FOUND.getCode());
+            }
+            if (enrollmentRepository.existsByStudentAndCourse(studentId, courseId, session)) {
+                throw new CustomException("Student is already enrolled in this course", ErrorCode.ALREADY_ENROLLED.getCode());
+            }
+            prerequisiteService.checkEligibility(studentId, courseId, session);
+            scheduleService.checkConflicts(studentId, course, session);
+            if (enrollmentRepository.countByCourseId(courseId, session) < course.getCapacity()) {
+                enroll(studentId, course, session);
+                transaction.commit();
+                return 0;
+            }
+            WaitlistEntry entry = new WaitlistEntry(null, session.getReference(Student.class, studentId), course, priority, Instant.now());
+            try {
+                waitlistRepository.save(entry, session);
+            } catch (CustomException e) {
+                CustomException translated = ConstraintErrors.translate(e);
+                throw translated != null ? translated : e;
+            }
+            transaction.commit();
+        } catch (CustomException e) {
+            rollback(transaction);
+            throw e;
+        } catch (Exception e) {
+            rollback(transaction);
+            throw new CustomException("Failed to join waitlist", ErrorCode.JOIN_WAITLIST_FAILED.getCode(), e);
+        }
+        return getPosition(studentId, courseId);
+    }
+
+    /**
+     * Returns the position of a student in the waitlist of a course.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @return the 1-based position, or 0 if the student is not waitlisted
+     * @throws CustomException if the waitlist cannot be loaded
+     */
+    @Override
+    public int getPosition(Long studentId, Long courseId) throws CustomException {
+        return waitlistRepository.findPosition(studentId, courseId);
+    }
+
+    /**
+     * Fills the free seats of a course from its waitlist, in promotion order. Must run in the
+     * caller's transaction while the course row is locked. The next entries are read and locked
+     * in the database on every call, so students who joined from another process are promoted
+     * too. Each promotion enrolls the student and publishes an enrollment event through the
+     * outbox; entries whose student is already enrolled, or is no longer eligible or now has a
+     * time conflict, are removed with a {@code WAITLIST_ENTRY_REMOVED} event naming the reason.
+     *
+     * @param course  the locked course
+     * @param session the Hibernate session
+     * @return the number of promoted students
+     * @throws CustomException if there is an error while promoting
+     */
+    int promote(Course course, Session session) throws CustomException {
+        Long courseId = course.getId();
+        long freeSeats = course.getCapacity() - enrollmentRepository.countByCourseId(courseId, session);
+        if (freeSeats <= 0) {
+            return 0;
+        }
+        int promoted = 0;
+        // صف از پایگاه داده خوانده می‌شود تا ورودی‌های پردازه‌های دیگر هم دیده شوند؛ ورودی‌های حذف‌شده در دور بعد برنمی‌گردند
+        while (promoted < freeSeats) {
+            List<WaitlistEntry> entries = waitlistRepository.lockNext(courseId, (int) (freeSeats - promoted), session);
+            if (entries.isEmpty()) {
+                break;
+            }
+            for (WaitlistEntry entry : entries) {
+                Long studentId = entry.getStudent().getId();
+                if (waitlistRepository.deleteById(entry.getId(), session) == 0) {
+                    continue;
+                }
+                ErrorCode reason = findSkipReason(studentId, course, session);
+                if (reason != null) {
+                    outboxRepository.save(OutboxEvent.of(OutboxEventType.WAITLIST_ENTRY_REMOVED, entry, reason.name()), session);
+                    continue;
+                }
+                enroll(studentId, course, session);
+                promoted++;
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * @return why a waitlisted student cannot be enrolled in the course now, or null if they can
+     */
+    private ErrorCode findSkipReason(Long studentId, Course course, Session session) throws CustomException {
+        if (enrollmentRepository.existsByStudentAndCourse(studentId, course.getId(), session)) {
+            return ErrorCode.ALREADY_ENROLLED;
+        }
+        if (!prerequisiteService.findMissingPrerequisites(studentId, course.getId(), session).isEmpty()) {
+            return ErrorCode.PREREQUISITES_NOT_MET;
+        }
+        if (scheduleService.findConflict(studentId, course, session) != null) {
+            return ErrorCode.SCHEDULE_CONFLICT;
+        }
+        return null;
+    }
+
+    private void enroll(Long studentId, Course course, Session session) throws CustomException {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(session.getReference(Student.class, studentId));
+        enrollment.setCourse(course);
+        enrollmentRepository.save(enrollment, session);
+        outboxRepository.save(OutboxEvent.of(OutboxEventType.ENROLLMENT_CREATED, enrollment), session);
+        afterCommit(session.getTransaction(), () -> ReferenceDataCache.adjustEnrolledCount(course.getId(), 1));
+    }
+
+    private static void afterCommit(Transaction transaction, Runnable action) {
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static void rollback(Transaction transaction) {
+        if (transaction != null && transaction.getStatus().canRollback()) {
+            transaction.rollback();
+        }
+    }
+}
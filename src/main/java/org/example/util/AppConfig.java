@@ -0,0 +1,93 @@
+package org.example.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Utility class for reading application settings from {@code application.properties}.
+ * A system property with the same key takes precedence over the file.
+ */
+public class AppConfig {
+
+    private static final String CONFIG_FILE = "application.properties";
+
+    private static final Properties properties = new Properties();
+
+    static {
+        try (InputStream in = AppConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private AppConfig() {
+    }
+
+    /**
+     * Returns the value of a setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value used when the setting is absent
+     * @return the configured value, or the default value
+     */
+    public static String get(String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
+
+    /**
+     * Returns the value of an integer setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value used when the setting is absent
+     * @return the configured value, or the default value
+     */
+    public static int getInt(String key, int defaultValue) {
+        return Integer.parseInt(get(key, String.valueOf(defaultValue)).trim());
+    }
+
+    /**
+     * Returns the value of a long setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value used when the setting is absent
+     * @return the configured value, or the default value
+     */
+    public static long getLong(String key, long defaultValue) {
+        return Long.parseLong(get(key, String.valueOf(defaultValue)).trim());
+    }
+
+    /**
+     * Returns the value of a decimal setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value used when the setting is absent
+     * @return the configured value, or the default value
+     */
+    public static double getDouble(String key, double defaultValue) {
+        return Double.parseDouble(get(key, String.valueOf(defaultValue)).trim());
+    }
+
+    /**
+     * Returns the value of a boolean setting.
+     *
+     * @param key          the setting key
+     * @param defaultValue the value used when the setting is absent
+     * @return the configured value, or the default value
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)).trim());
+    }
+
+    /**
+     * Returns whether the application runs in development mode.
+     *
+     * @return true in development mode
+     */
+    public static boolean isDevMode() {
+        return getBoolean("ems.dev-mode", false);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.util;
+
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns constraint violations reported by the database into the application's typed errors.
+ * <p>
+ * Write paths that attach related rows with {@code session.getReference} instead of loading
+ * them leave the existence check to the foreign key; when it fails, the table the missing key
+ * was looked up in tells which row was missing. Foreign keys are classified by that table rather
+ * than by constraint name, because databases baselined from an hbm2ddl-created schema carry
+ * generated {@code FK...} names. Unique constraints are matched by name; those names are set by
+ * the entity mappings and the migration scripts.
+ */
+public class ConstraintErrors {
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    // Key (student_id)=(42) is not present in table "students".
+    private static final Pattern MISSING_KEY = Pattern.compile("Key \\((\\w+)\\)=\\(.*\\) is not present in table \"(\\w+)\"");
+
+    private static final Map<String, Translation> UNIQUE_TRANSLATIONS = Map.of(
+            "uk_courses_course_name", new Translation("Course already exists", ErrorCode.COURSE_ALREADY_EXISTS),
+            "uk_waitlist_student_course", new Translation("Student is already on the waitlist of this course", ErrorCode.ALREADY_WAITLISTED));
+
+    private static final Map<String, Translation> MISSING_ROW_TRANSLATIONS = Map.of(
+            "students", new Translation("Student not found", ErrorCode.STUDENT_NOT_FOUND),
+            "courses", new Translation("Course not found", ErrorCode.COURSE_NOT_FOUND),
+            "teachers", new Translation("Teacher not found", ErrorCode.TEACHER_NOT_FOUND));
+
+    private static final Translation MISSING_PREREQUISITE = new Translation("Prerequisite course not found", ErrorCode.COURSE_NOT_FOUND);
+
+    private ConstraintErrors() {
+    }
+
+    /**
+     * Finds the name of the constraint a failure violated.
+     *
+     * @param failure the failure
+     * @return the constraint name in lower case, or null if the failure is not a constraint violation
+     */
+    public static String constraintName(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String name = ((ConstraintViolationException) cause).getConstraintName();
+                return name == null ? null : name.toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Translates a failure caused by a known constraint into a typed error.
+     *
+     * @param failure the failure
+     * @return the typed error with the failure as its cause, or null if no known constraint was violated
+     */
+    public static CustomException translate(Throwable failure) {
+        String name = constraintName(failure);
+        Translation translation = name == null ? null : UNIQUE_TRANSLATIONS.get(name);
+        if (translation == null) {
+            translation = missingRow(failure);
+        }
+        if (translation == null) {
+            return null;
+        }
+        return new CustomException(translation.message, translation.errorCode.getCode(), failure);
+    }
+
+    /**
+     * Classifies a foreign key violation on insert or update by the table the key was not found in.
+     * A violation on delete ("is still referenced from table") is left untranslated.
+     */
+    private static Translation missingRow(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && FOREIGN_KEY_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                Matcher matcher = MISSING_KEY.matcher(detail((SQLException) cause));
+                if (!matcher.find()) {
+                    return null;
+                }
+                if ("prerequisite_id".equals(matcher.group(1))) {
+                    return MISSING_PREREQUISITE;
+                }
+                return MISSING_ROW_TRANSLATIONS.get(matcher.group(2));
+            }
+        }
+        return null;
+    }
+
+    private static String detail(SQLException failure) {
+        if (failure instanceof PSQLException) {
+            ServerErrorMessage message = ((PSQLException) failure).getServerErrorMessage();
+            if (message != null && message.getDetail() != null) {
+                return message.getDetail();
+            }
+        }
+        return String.valueOf(failure.getMessage());
+    }
+
+    private static final class Translation {
+
+        private final String message;
+        private final ErrorCode errorCode;
+
+        private Translation(String message, ErrorCode errorCode) {
+            this.message = message;
+            this.errorCode = errorCode;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package org.example.util;
+
+import org.example.entity.GradeAudit;
+import org.example.enums.BackpressurePolicy;
+import org.example.repository.GradeAuditRepository;
+import org.example.repository.impl.GradeAuditRepositoryImpl;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous, batched writer for grade audit events.
+ * <p>
+ * Grade writes only enqueue an event; a background thread drains the bounded queue and inserts
+ * the events in batches in its own transaction, so auditing adds no database round trip to the
+ * grade write. What happens when the queue is full is set by {@code ems.audit.backpressure}.
+ * The queue is flushed on {@link #shutdown()}, which also runs as a JVM shutdown hook; events
+ * recorded during or after it are written synchronously by the caller.
+ * <p>
+ * A batch that fails is retried ({@code ems.audit.write-attempts}), then written one event at a
+ * time so a single bad event does not lose the rest. Events that still fail are appended as SQL
+ * {@code INSERT} statements to {@code ems.audit.spill-path}, to be replayed with psql.
+ */
+public class GradeAuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeAuditLog.class);
+
+    private static final int BATCH_SIZE = AppConfig.getInt("ems.audit.batch-size", 50);
+    private static final long SHUTDOWN_TIMEOUT_MS = AppConfig.getLong("ems.audit.shutdown-timeout-ms", 5000);
+    private static final int WRITE_ATTEMPTS = Math.max(1, AppConfig.getInt("ems.audit.write-attempts", 3));
+    private static final long RETRY_BACKOFF_MS = AppConfig.getLong("ems.audit.retry-backoff-ms", 200);
+    private static final Path SPILL_PATH = Path.of(AppConfig.get("ems.audit.spill-path", "grade-audit-spill.sql"));
+    private static final BackpressurePolicy BACKPRESSURE =
+            BackpressurePolicy.valueOf(AppConfig.get("ems.audit.backpressure", BackpressurePolicy.BLOCK.name()));
+
+    private static final BlockingQueue<GradeAudit> queue =
+            new ArrayBlockingQueue<>(AppConfig.getInt("ems.audit.queue-capacity", 10000));
+    private static final GradeAuditRepository gradeAuditRepository = new GradeAuditRepositoryImpl();
+
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static final AtomicLong spilled = new AtomicLong();
+
+    private static final AtomicBoolean running = new AtomicBoolean(true);
+    private static final Thread writer = new Thread(GradeAuditLog::drainLoop, "grade-audit-writer");
+
+    static {
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(GradeAuditLog::shutdown, "grade-audit-shutdown"));
+    }
+
+    private GradeAuditLog() {
+    }
+
+    /**
+     * Queues grade audit events for writing, applying the configured backpressure policy
+     * when the queue is full.
+     *
+     * @param audits the audit events to record
+     */
+    public static void record(List<GradeAudit> audits) {
+        for (GradeAudit audit : audits) {
+            record(audit);
+        }
+    }
+
+    /**
+     * Queues a grade audit event for writing, applying the configured backpressure policy
+     * when the queue is full.
+     *
+     * @param audit the audit event to record
+     */
+    public static void record(GradeAudit audit) {
+        if (!running.get()) {
+            write(List.of(audit));
+            return;
+        }
+        if (queue.offer(audit)) {
+            reclaimAfterShutdown(audit);
+            return;
+        }
+        switch (BACKPRESSURE) {
+            case BLOCK:
+                try {
+                    // put() بدون مهلت ممکن بود پس از تخلیه‌ی نهایی برگردد و رویداد در صف بماند
+                    while (!queue.offer(audit, 100, TimeUnit.MILLISECONDS)) {
+                        if (!running.get()) {
+                            write(List.of(audit));
+                            return;
+                        }
+                    }
+                    reclaimAfterShutdown(audit);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    write(List.of(audit));
+                }
+                break;
+            case DROP:
+                if (dropped.incrementAndGet() % 1000 == 1) {
+                    logger.warn("Grade audit queue is full, {} events dropped so far", dropped.get());
+                }
+                break;
+            case CALLER_RUNS:
+                write(List.of(audit));
+                break;
+        }
+    }
+
+    /**
+     * Writes an event queued while {@link #shutdown()} was closing admission, unless the final
+     * drain already took it. Either the drain sees the event or this check sees the closed state.
+     */
+    private static void reclaimAfterShutdown(GradeAudit audit) {
+        if (!running.get() && queue.remove(audit)) {
+            write(List.of(audit));
+        }
+    }
+
+    /**
+     * Closes admission, stops the background writer and writes every event still in the queue.
+     * Safe to call more than once.
+     */
+    public static void shutdown() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainRemaining();
+    }
+
+    /**
+     * @return the number of events written to the database
+     */
+    public static long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * @return the number of events discarded because the queue was full
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of events that could not be written, neither to the database nor to the spill file
+     */
+    public static long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * @return the number of events written to the spill file because the database rejected them
+     */
+    public static long getSpilledCount() {
+        return spilled.get();
+    }
+
+    private static void drainLoop() {
+        List<GradeAudit> batch = new ArrayList<>(BATCH_SIZE);
+        while (running.get()) {
+            try {
+                GradeAudit first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void drainRemaining() {
+        List<GradeAudit> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private static void write(List<GradeAudit> batch) {
+        for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+            try {
+                insert(batch);
+                return;
+            } catch (Exception e) {
+                logger.warn("Failed to write {} grade audit events (attempt {} of {})", batch.size(), attempt, WRITE_ATTEMPTS, e);
+            }
+            if (attempt < WRITE_ATTEMPTS && !sleep(RETRY_BACKOFF_MS * attempt)) {
+                break;
+            }
+        }
+        if (batch.size() == 1) {
+            spill(batch);
+            return;
+        }
+        List<GradeAudit> rejected = new ArrayList<>();
+        for (GradeAudit audit : batch) {
+            try {
+                insert(List.of(audit));
+            } catch (Exception e) {
+                rejected.add(audit);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            spill(rejected);
+        }
+    }
+
+    private static void insert(List<GradeAudit> batch) throws Exception {
+        Transaction transaction = null;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            gradeAuditRepository.saveAll(batch, session);
+            transaction.commit();
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            if (transaction != null && transaction.getStatus().canRollback()) {
+                transaction.rollback();
+            }
+            for (GradeAudit audit : batch) {
+                audit.setId(null); // persist assigned an ID that was rolled back; a retry must persist a new entity
+            }
+            throw e;
+        }
+    }
+
+    private static synchronized void spill(List<GradeAudit> audits) {
+        try (BufferedWriter out = Files.newBufferedWriter(SPILL_PATH, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            for (GradeAudit audit : audits) {
+                out.write("INSERT INTO grade_audits (id, changed_by, course_id, student_id, old_grade, new_grade, changed_at) VALUES ("
+                        + "nextval('grade_audits_seq'), '" + audit.getChangedBy().replace("'", "''") + "', "
+                        + audit.getCourseId() + ", " + audit.getStudentId() + ", "
+                        + audit.getOldGrade() + ", " + audit.getNewGrade() + ", '" + audit.getChangedAt() + "');");
+                out.newLine();
+            }
+            spilled.addAndGet(audits.size());
+            logger.error("Wrote {} grade audit events the database rejected to {}", audits.size(), SPILL_PATH);
+        } catch (Exception e) {
+            failed.addAndGet(audits.size());
+            logger.error("Failed to write {} grade audit events, lost: {}", audits.size(), audits, e);
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
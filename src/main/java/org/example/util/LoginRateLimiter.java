@@ -0,0 +1,247 @@
+package org.example.util;
+
+import org.example.exception.LoginThrottledException;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token-bucket rate limiter for login attempts, with one bucket per username and
+ * one per client source.
+ * <p>
+ * The buckets live in this JVM only. The console application serves the single terminal that
+ * started it, so the client source is read once from that process's {@code SSH_CLIENT}
+ * environment variable (the address the SSH session came from), or is {@code local} for a
+ * terminal on the machine itself. It is the same for every attempt made in one process; attempts
+ * from other processes, even from the same address, are not counted together.
+ * <p>
+ * Each attempt takes a token from both buckets before the database is queried; an empty bucket
+ * rejects the attempt with a stackless {@link LoginThrottledException}. Bucket state (tokens and
+ * last refill time) is packed into a single {@link AtomicLong} and updated with compare-and-set,
+ * so concurrent attempts never block. Buckets that have refilled completely are indistinguishable
+ * from new ones and are evicted by a timing wheel, so memory stays bounded by recent activity.
+ */
+public class LoginRateLimiter {
+
+    private static final long START_NANOS = System.nanoTime();
+
+    private static final Limit USER_LIMIT = new Limit("ems.login.user",
+            AppConfig.getInt("ems.login.user.capacity", 5),
+            AppConfig.getDouble("ems.login.user.refill-per-minute", 5));
+    private static final Limit SOURCE_LIMIT = new Limit("ems.login.source",
+            AppConfig.getInt("ems.login.source.capacity", 30),
+            AppConfig.getDouble("ems.login.source.refill-per-minute", 60));
+    private static final String SOURCE = resolveSource();
+
+    private static final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final TimingWheel wheel = new TimingWheel(
+            AppConfig.getLong("ems.login.wheel.tick-ms", 1000),
+            AppConfig.getInt("ems.login.wheel.slots", 512));
+
+    private LoginRateLimiter() {
+    }
+
+    /**
+     * Takes one login attempt from the source's and the user's buckets.
+     *
+     * @param username the username being logged in
+     * @throws LoginThrottledException if either bucket is empty
+     */
+    public static void acquire(String username) throws LoginThrottledException {
+        long now = nowMillis();
+        take("source:" + SOURCE, SOURCE_LIMIT, now);
+        take("user:" + username, USER_LIMIT, now);
+    }
+
+    /**
+     * Refills the user's bucket after a successful login, so a user who mistyped a password
+     * a few times is not throttled on their next session.
+     *
+     * @param username the username that logged in
+     */
+    public static void reset(String username) {
+        buckets.remove("user:" + username);
+    }
+
+    /**
+     * @return the number of buckets currently tracked
+     */
+    public static int getTrackedCount() {
+        return buckets.size();
+    }
+
+    private static void take(String key, Limit limit, long now) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(limit, now));
+        long waitMs = bucket.tryConsume(now);
+        wheel.schedule(key, bucket, bucket.fullAt());
+        if (waitMs > 0) {
+            throw new LoginThrottledException((waitMs - 1) / 1000 + 1); // rounded up without overflowing
+        }
+    }
+
+    private static long nowMillis() {
+        return (System.nanoTime() - START_NANOS) / 1_000_000;
+    }
+
+    private static String resolveSource() {
+        String sshClient = System.getenv("SSH_CLIENT");
+        if (sshClient == null || sshClient.isBlank()) {
+            return "local";
+        }
+        return sshClient.trim().split("\\s+")[0];
+    }
+
+    /**
+     * Capacity and refill rate of a bucket, in thousandths of a token.
+     */
+    private static final class Limit {
+
+        private final long capacityMilli;
+        private final double refillMilliPerMs;
+
+        /**
+         * @throws IllegalArgumentException if the capacity does not fit the bucket's token field
+         *                                  or the refill rate is not positive
+         */
+        private Limit(String prefix, int capacity, double refillPerMinute) {
+            if (capacity < 1 || capacity > Bucket.MAX_CAPACITY) {
+                throw new IllegalArgumentException(prefix + ".capacity must be between 1 and " + Bucket.MAX_CAPACITY + ": " + capacity);
+            }
+            if (!(refillPerMinute > 0) || Double.isInfinite(refillPerMinute)) {
+                throw new IllegalArgumentException(prefix + ".refill-per-minute must be positive: " + refillPerMinute);
+            }
+            this.capacityMilli = capacity * 1000L;
+            this.refillMilliPerMs = refillPerMinute * 1000 / 60_000;
+        }
+
+        /**
+         * @return the milliseconds needed to refill the given thousandths of a token, capped so
+         * that adding it to a timestamp cannot overflow
+         */
+        private long millisToRefill(long missingMilli) {
+            return (long) Math.min(Math.ceil(missingMilli / refillMilliPerMs), Bucket.TIME_MASK);
+        }
+    }
+
+    /**
+     * A token bucket whose state is packed into one long: the upper 20 bits hold the tokens in
+     * thousandths, the lower 44 bits the time of the last update in milliseconds.
+     */
+    private static final class Bucket {
+
+        private static final int TIME_BITS = 44;
+        private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+        private static final long TOKEN = 1000;
+        private static final int MAX_CAPACITY = (int) (((1L << (Long.SIZE - TIME_BITS)) - 1) / TOKEN); // 1048 tokens
+
+        private final Limit limit;
+        private final AtomicLong state;
+        private volatile long scheduledTick = -1;
+
+        private Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.state = new AtomicLong(pack(limit.capacityMilli, now));
+        }
+
+        /**
+         * Takes one token.
+         *
+         * @return 0 if a token was taken, otherwise the milliseconds until one is available
+         */
+        private long tryConsume(long now) {
+            while (true) {
+                long current = state.get();
+                long tokens = tokensAt(current, now);
+                if (tokens < TOKEN) {
+                    return limit.millisToRefill(TOKEN - tokens);
+                }
+                if (state.compareAndSet(current, pack(tokens - TOKEN, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * @return the time at which the bucket is full again
+         */
+        private long fullAt() {
+            long current = state.get();
+            long missing = limit.capacityMilli - (current >>> TIME_BITS);
+            return (current & TIME_MASK) + limit.millisToRefill(missing);
+        }
+
+        private long tokensAt(long current, long now) {
+            long elapsed = Math.max(0, now - (current & TIME_MASK));
+            long tokens = (current >>> TIME_BITS) + (long) (elapsed * limit.refillMilliPerMs);
+            return Math.min(limit.capacityMilli, tokens);
+        }
+
+        private static long pack(long tokensMilli, long now) {
+            return (tokensMilli << TIME_BITS) | (now & TIME_MASK);
+        }
+    }
+
+    /**
+     * Hashed timing wheel that evicts buckets once they have refilled completely. A bucket is
+     * (re)scheduled into the slot of its refill time whenever that slot changes; when the wheel
+     * reaches the slot, the bucket is evicted if it is full, or rescheduled otherwise. Times
+     * beyond one revolution wrap around and are simply checked again on the next pass.
+     */
+    private static final class TimingWheel {
+
+        private final long tickMs;
+        private final Set<String>[] slots;
+        private volatile long currentTick;
+
+        @SuppressWarnings("unchecked")
+        private TimingWheel(long tickMs, int slotCount) {
+            this.tickMs = tickMs;
+            this.slots = new Set[slotCount];
+            for (int i = 0; i < slotCount; i++) {
+                slots[i] = ConcurrentHashMap.newKeySet();
+            }
+            ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "login-rate-limiter-wheel");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sweeper.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        }
+
+        private void schedule(String key, Bucket bucket, long expiresAt) {
+            long tick = Math.max(expiresAt / tickMs, currentTick + 1);
+            if (bucket.scheduledTick != tick) {
+                bucket.scheduledTick = tick;
+                slots[(int) (tick % slots.length)].add(key);
+            }
+        }
+
+        private void advance() {
+            long now = nowMillis();
+            long targetTick = now / tickMs;
+            long from = Math.max(currentTick + 1, targetTick - slots.length + 1);
+            for (long tick = from; tick <= targetTick; tick++) {
+                currentTick = tick;
+                Set<String> slot = slots[(int) (tick % slots.length)];
+                for (String key : slot) {
+                    slot.remove(key);
+                    Bucket bucket = buckets.get(key);
+                    if (bucket == null) {
+                        continue;
+                    }
+                    long fullAt = bucket.fullAt();
+                    if (fullAt <= now) {
+                        buckets.remove(key, bucket);
+                    } else {
+                        bucket.scheduledTick = -1;
+                        schedule(key, bucket, fullAt);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package org.example.util;
+
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the versioned SQL scripts under {@code db/migration} before Hibernate starts.
+ * <p>
+ * Scripts are named {@code V<version>__<description>.sql} and run in version order, each in
+ * its own transaction. Every applied script is recorded in {@code schema_migrations} with a
+ * CRC32 checksum; a script that was changed after it was applied stops startup. A database
+ * whose tables were created by the old hbm2ddl {@code update} mode, and so has no history yet,
+ * is baselined: scripts up to {@code ems.migrations.baseline-version} are recorded as applied
+ * without running them. A PostgreSQL advisory lock keeps two starting instances from
+ * migrating at the same time.
+ * <p>
+ * Statements are split on semicolons outside of quotes and comments, so scripts must not use
+ * dollar-quoted function bodies.
+ */
+public class MigrationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigrationRunner.class);
+
+    private static final String LOCATION = "db/migration";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final long LOCK_KEY = 0x454D534DL;
+    private static final String BASELINE_MARKER_TABLE = "courses";
+
+    private MigrationRunner() {
+    }
+
+    /**
+     * Brings the database schema up to date.
+     *
+     * @param settings the Hibernate connection settings
+     * @return the number of scripts run
+     * @throws CustomException if a script fails or an applied script was changed
+     */
+    public static int migrate(Properties settings) throws CustomException {
+        List<Migration> migrations = loadMigrations();
+        String url = settings.getProperty("hibernate.connection.url");
+        String username = settings.getProperty("hibernate.connection.username");
+        String password = settings.getProperty("hibernate.connection.password");
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            lock(connection, true);
+            try {
+                createHistoryTable(connection);
+                Map<Integer, Long> applied = findApplied(connection);
+                if (applied.isEmpty() && tableExists(connection, BASELINE_MARKER_TABLE)) {
+                    baseline(connection, migrations, applied);
+                }
+                int run = 0;
+                for (Migration migration : migrations) {
+                    Long checksum = applied.get(migration.version);
+                    if (checksum == null) {
+                        apply(connection, migration);
+                        run++;
+                    } else if (checksum != migration.checksum) {
+                        throw new CustomException("Migration " + migration.script + " was changed after it was applied",
+                                ErrorCode.MIGRATION_FAILED.getCode(), null);
+                    }
+                }
+                return run;
+            } finally {
+                lock(connection, false);
+            }
+        } catch (SQLException e) {
+            throw new CustomException("Failed to migrate the database schema", ErrorCode.MIGRATION_FAILED.getCode(), e);
+        }
+    }
+
+    private static void baseline(Connection connection, List<Migration> migrations, Map<Integer, Long> applied) throws SQLException {
+        int baselineVersion = AppConfig.getInt("ems.migrations.baseline-version", 1);
+        for (Migration migration : migrations) {
+            if (migration.version <= baselineVersion) {
+                record(connection, migration, 0);
+                applied.put(migration.version, migration.checksum);
+                logger.warn("Existing schema found, baselined migration {}", migration.script);
+            }
+        }
+    }
+
+    private static void apply(Connection connection, Migration migration) throws CustomException {
+        long start = System.nanoTime();
+        try {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : splitStatements(migration.sql)) {
+                    statement.execute(sql);
+                }
+            }
+            record(connection, migration, (System.nanoTime() - start) / 1_000_000);
+            connection.commit();
+            logger.info("Applied migration {} in {} ms", migration.script, (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw new CustomException("Migration " + migration.script + " failed", ErrorCode.MIGRATION_FAILED.getCode(), e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.error("Failed to restore auto-commit after {}", migration.script, e);
+            }
+        }
+    }
+
+    private static void lock(Connection connection, boolean acquire) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                acquire ? "SELECT pg_advisory_lock(?)" : "SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        }
+    }
+
+    private static void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_migrations ("
+                    + "version INTEGER PRIMARY KEY, "
+                    + "script VARCHAR(200) NOT NULL, "
+                    + "checksum BIGINT NOT NULL, "
+                    + "installed_on TIMESTAMP WITH TIME ZONE NOT NULL, "
+                    + "execution_ms BIGINT NOT NULL)");
+        }
+    }
+
+    private static Map<Integer, Long> findApplied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rows.next()) {
+                applied.put(rows.getInt(1), rows.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void record(Connection connection, Migration migration, long executionMs) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO schema_migrations (version, script, checksum, installed_on, execution_ms) VALUES (?, ?, ?, ?, ?)")) {
+            statement.setInt(1, migration.version);
+            statement.setString(2, migration.script);
+            statement.setLong(3, migration.checksum);
+            statement.setTimestamp(4, Timestamp.from(Instant.now()));
+            statement.setLong(5, executionMs);
+            statement.executeUpdate();
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet tables = metaData.getTables(null, null, table, new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private static List<Migration> loadMigrations() throws CustomException {
+        URL location = MigrationRunner.class.getClassLoader().getResource(LOCATION);
+        if (location == null) {
+            return List.of();
+        }
+        try {
+            URI uri = location.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem jar = FileSystems.newFileSystem(uri, Map.of())) {
+                    return loadMigrations(jar.getPath(LOCATION));
+                }
+            }
+            return loadMigrations(Paths.get(uri));
+        } catch (Exception e) {
+            throw new CustomException("Failed to read the migration scripts", ErrorCode.MIGRATION_FAILED.getCode(), e);
+        }
+    }
+
+    private static List<Migration> loadMigrations(Path directory) throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String script = file.getFileName().toString();
+                Matcher matcher = SCRIPT_NAME.matcher(script);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                try (InputStream in = Files.newInputStream(file)) {
+                    String sql = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+                    migrations.add(new Migration(Integer.parseInt(matcher.group(1)), script, sql));
+                }
+            }
+        }
+        migrations.sort(Comparator.comparingInt(migration -> migration.version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version == migrations.get(i - 1).version) {
+                throw new IOException("Duplicate migration version " + migrations.get(i).version);
+            }
+        }
+        return migrations;
+    }
+
+    /**
+     * Splits a script into statements at semicolons that are not inside a quoted string or a comment.
+     *
+     * @param sql the script
+     * @return the statements, without comments and trailing semicolons
+     */
+    private static List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (!quoted && c == '-' && i + 1 < sql.length() && sql.charAt(i + 1) == '-') {
+                while (i < sql.length() && sql.charAt(i) != '\n') {
+                    i++;
+                }
+                current.append('\n');
+                continue;
+            }
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (!quoted && c == ';') {
+                addStatement(statements, current);
+                continue;
+            }
+            current.append(c);
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    private static final class Migration {
+
+        private final int version;
+        private final String script;
+        private final String sql;
+        private final long checksum;
+
+        private Migration(int version, String script, String sql) {
+            this.version = version;
+            this.script = script;
+            this.sql = sql;
+            CRC32 crc = new CRC32();
+            crc.update(sql.getBytes(StandardCharsets.UTF_8));
+            this.checksum = crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.util;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * In-memory transitive closure of the course prerequisite graph.
+ * <p>
+ * The closure maps every course to all courses that must be passed before it, directly or
+ * through other prerequisites, so checking eligibility is a set lookup instead of a recursive
+ * query. It is computed from the direct edges on first use and tagged with the version of the
+ * graph read from the database before the edges; a caller passing a different version (another
+ * process changed the prerequisites) gets it rebuilt. {@link #invalidate()} discards it at once
+ * after a change made in this process.
+ */
+public class PrerequisiteGraph {
+
+    private static volatile Closure closure;
+
+    private PrerequisiteGraph() {
+    }
+
+    /**
+     * Returns every course that must be passed before the given course.
+     *
+     * @param courseId the ID of the course
+     * @param version  the current version of the graph in the database
+     * @param edges    loads the direct prerequisites of every course, used when the closure is not
+     *                 built or was built for another version
+     * @return the transitive prerequisites of the course
+     */
+    public static Set<Long> prerequisitesOf(Long courseId, long version, Supplier<Map<Long, Set<Long>>> edges) {
+        Closure current = closure;
+        if (current == null || current.version != version) {
+            synchronized (PrerequisiteGraph.class) {
+                current = closure;
+                if (current == null || current.version != version) {
+                    current = new Closure(version, computeClosure(edges.get()));
+                    closure = current;
+                }
+            }
+        }
+        return current.prerequisites.getOrDefault(courseId, Collections.emptySet());
+    }
+
+    /**
+     * Discards the closure so it is rebuilt on next use. Waits for a rebuild in progress, which
+     * may have read the edges from before the change.
+     */
+    public static synchronized void invalidate() {
+        closure = null;
+    }
+
+    /**
+     * Checks whether giving a course the proposed direct prerequisites would create a cycle.
+     *
+     * @param courseId      the ID of the course being edited
+     * @param prerequisites the proposed direct prerequisites of the course
+     * @param edges         the current direct prerequisites of every course
+     * @return true if the course would (indirectly) become a prerequisite of itself
+     */
+    public static boolean wouldCreateCycle(Long courseId, Set<Long> prerequisites, Map<Long, Set<Long>> edges) {
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>(prerequisites);
+        while (!pending.isEmpty()) {
+            Long next = pending.pop();
+            if (next.equals(courseId)) {
+                return true;
+            }
+            if (visited.add(next)) {
+                pending.addAll(edges.getOrDefault(next, Collections.emptySet()));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the transitive closure of an acyclic graph with one memoized depth-first search per course.
+     */
+    private static Map<Long, Set<Long>> computeClosure(Map<Long, Set<Long>> edges) {
+        Map<Long, Set<Long>> result = new HashMap<>();
+        for (Long courseId : edges.keySet()) {
+            closureOf(courseId, edges, result, new HashSet<>());
+        }
+        return result;
+    }
+
+    private static Set<Long> closureOf(Long courseId, Map<Long, Set<Long>> edges, Map<Long, Set<Long>> result, Set<Long> inProgress) {
+        Set<Long> known = result.get(courseId);
+        if (known != null) {
+            return known;
+        }
+        Set<Long> all = new HashSet<>();
+        if (inProgress.add(courseId)) {
+            for (Long prerequisite : edges.getOrDefault(courseId, Collections.emptySet())) {
+                all.add(prerequisite);
+                all.addAll(closureOf(prerequisite, edges, result, inProgress));
+            }
+            inProgress.remove(courseId);
+        }
+        Set<Long> frozen = Collections.unmodifiableSet(all);
+        result.put(courseId, frozen);
+        return frozen;
+    }
+
+    private static final class Closure {
+
+        private final long version;
+        private final Map<Long, Set<Long>> prerequisites;
+
+        private Closure(long version, Map<Long, Set<Long>> prerequisites) {
+            this.version = version;
+            this.prerequisites = prerequisites;
+        }
+    }
+}
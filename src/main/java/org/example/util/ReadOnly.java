@@ -0,0 +1,21 @@
+package org.example.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method as read-only, so that {@link ReadOnlyRoutingProxy} may send its
+ * queries to the read replica. The method must open its sessions with
+ * {@link ReplicaRouter#openSession()}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReadOnly {
+
+    /**
+     * @return the replication lag in milliseconds this method tolerates, or -1 for {@code ems.replica.max-lag-ms}
+     */
+    long maxLagMs() default -1;
+}
@@ -0,0 +1,55 @@
+package org.example.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps a service so that every call to a method annotated with {@link ReadOnly} runs in a
+ * read-only scope of {@link ReplicaRouter}.
+ */
+public class ReadOnlyRoutingProxy implements InvocationHandler {
+
+    private final Object target;
+
+    private ReadOnlyRoutingProxy(Object target) {
+        this.target = target;
+    }
+
+    /**
+     * Wraps a service when a read replica is configured; otherwise returns the service unchanged.
+     *
+     * @param type    the service interface
+     * @param service the service implementation
+     * @param <T>     the service type
+     * @return the wrapped service, or the service itself without a replica
+     */
+    public static <T> T wrap(Class<T> type, T service) {
+        if (!ReplicaRouter.isEnabled()) {
+            return service;
+        }
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                new ReadOnlyRoutingProxy(service)
+        ));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        ReadOnly readOnly = method.getAnnotation(ReadOnly.class);
+        if (readOnly == null) {
+            return call(method, args);
+        }
+        return ReplicaRouter.callReadOnly(readOnly.maxLagMs(), () -> call(method, args));
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.util;
+
+import org.example.dto.CourseSummary;
+import org.example.dto.ReferenceData;
+import org.example.dto.TeacherSummary;
+import org.example.exception.CustomException;
+import org.example.repository.CourseRepository;
+import org.example.repository.TeacherRepository;
+import org.example.repository.impl.CourseRepositoryImpl;
+import org.example.repository.impl.TeacherRepositoryImpl;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory course catalog and teacher directory, pre-warmed from a snapshot file.
+ * <p>
+ * On startup {@link #warmUp()} memory-maps the snapshot written by the previous run and serves
+ * reads from it immediately, before Hibernate has even been bootstrapped. A background thread
+ * then reconciles the cache against the database and rewrites the snapshot. Writes to courses or
+ * teachers call {@link #invalidate()}, which schedules another reconcile; reads keep being served
+ * from the previous data until it completes. Enrollments and drops only change a course's enrolled
+ * count, which {@link #adjustEnrolledCount(long, int)} applies in memory without a query or a
+ * snapshot rewrite. The cache is advisory (an adjustment racing a reconcile can be off until the
+ * next one), and capacity is still enforced by the enrollment services.
+ */
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private static final boolean ENABLED = AppConfig.getBoolean("ems.snapshot.enabled", true);
+    private static final Path SNAPSHOT_PATH = Paths.get(AppConfig.get("ems.snapshot.path", "reference-data.snapshot"));
+
+    private static final CourseRepository courseRepository = new CourseRepositoryImpl();
+    private static final TeacherRepository teacherRepository = new TeacherRepositoryImpl();
+
+    private static final ExecutorService reconciler = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reference-data-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicBoolean reconcilePending = new AtomicBoolean();
+
+    private static final Object swapLock = new Object();
+
+    private static volatile ReferenceData current;
+    private static volatile boolean fromSnapshot;
+
+    private ReferenceDataCache() {
+    }
+
+    /**
+     * Loads the snapshot file, if there is one, and starts reconciling it against the database
+     * in the background. Does nothing when snapshots are disabled.
+     */
+    public static void warmUp() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            ReferenceData snapshot = ReferenceDataSnapshot.read(SNAPSHOT_PATH);
+            current = snapshot;
+            fromSnapshot = true;
+            StartupTimer.mark("snapshot loaded");
+            logger.info("Loaded reference data snapshot {} from {}", snapshot, SNAPSHOT_PATH);
+        } catch (NoSuchFileException e) {
+            logger.info("No reference data snapshot at {}, loading from the database", SNAPSHOT_PATH);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable reference data snapshot {}", SNAPSHOT_PATH, e);
+        }
+        invalidate();
+    }
+
+    /**
+     * Returns the cached reference data, loading it from the database if nothing is cached yet.
+     *
+     * @return the reference data
+     * @throws CustomException if the data has to be loaded and loading fails
+     */
+    public static ReferenceData get() throws CustomException {
+        ReferenceData data = current;
+        if (data != null) {
+            return data;
+        }
+        synchronized (ReferenceDataCache.class) {
+            if (current == null) {
+                reconcile();
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Schedules a background reconcile against the database. Calls made while a reconcile is
+     * already pending are coalesced into it.
+     */
+    public static void invalidate() {
+        if (!reconcilePending.compareAndSet(false, true)) {
+            return;
+        }
+        reconciler.execute(() -> {
+            reconcilePending.set(false);
+            try {
+                reconcile();
+            } catch (Exception e) {
+                logger.error("Failed to reconcile reference data", e);
+            }
+        });
+    }
+
+    /**
+     * Applies a committed enrollment change to the cached enrolled count of a course. Does
+     * nothing if nothing is cached yet; the first load reads the count from the database.
+     *
+     * @param courseId the ID of the course
+     * @param delta    the change in the number of enrolled students
+     */
+    public static void adjustEnrolledCount(long courseId, int delta) {
+        synchronized (swapLock) {
+            ReferenceData data = current;
+            if (data != null) {
+                current = data.withEnrolledCountChange(courseId, delta);
+            }
+        }
+    }
+
+    /**
+     * @return true if the data currently served came from the snapshot file and has not been reconciled yet
+     */
+    public static boolean isServingSnapshot() {
+        return fromSnapshot;
+    }
+
+    /**
+     * @return when the data currently served was read from the database, or null if nothing is cached
+     */
+    public static Instant getCreatedAt() {
+        ReferenceData data = current;
+        return data == null ? null : data.getCreatedAt();
+    }
+
+    private static void reconcile() throws CustomException {
+        ReferenceData fresh;
+        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
+            List<TeacherSummary> teachers = teacherRepository.findAllSummaries(session);
+            List<CourseSummary> courses = courseRepository.findAllSummaries(session);
+            fresh = new ReferenceData(Instant.now(), teachers, courses);
+        }
+        synchronized (swapLock) {
+            ReferenceData previous = current;
+            if (previous != null && fromSnapshot) {
+                logger.info("Reconciled reference data snapshot: {} of {} entries changed",
+                        countChanged(previous, fresh), fresh.size());
+            }
+            current = fresh;
+            fromSnapshot = false;
+        }
+        if (ENABLED) {
+            try {
+                ReferenceDataSnapshot.write(SNAPSHOT_PATH, fresh);
+            } catch (IOException e) {
+                logger.warn("Failed to write reference data snapshot {}", SNAPSHOT_PATH, e);
+            }
+        }
+    }
+
+    private static int countChanged(ReferenceData previous, ReferenceData fresh) {
+        int changed = Math.abs(previous.size() - fresh.size());
+        for (CourseSummary course : fresh.getCourses()) {
+            if (!Objects.equals(course, previous.getCoursesById().get(course.getId()))) {
+                changed++;
+            }
+        }
+        for (TeacherSummary teacher : fresh.getTeachers()) {
+            if (!Objects.equals(teacher, previous.getTeachersById().get(teacher.getId()))) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
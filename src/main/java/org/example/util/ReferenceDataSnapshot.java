@@ -0,0 +1,168 @@
+package org.example.util;
+
+import org.example.dto.CourseSummary;
+import org.example.dto.ReferenceData;
+import org.example.dto.TeacherSummary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary file format for {@link ReferenceData}.
+ * <p>
+ * Layout (big-endian): magic, format version, creation time in epoch millis, then the teachers
+ * and the courses, each as a count followed by fixed-order records. Strings are an int byte
+ * length followed by UTF-8 bytes; a length of -1 stands for null. Files are read through a
+ * read-only memory mapping and written to a temporary file that is then moved into place,
+ * so a reader never sees a half-written snapshot.
+ */
+public class ReferenceDataSnapshot {
+
+    private static final int MAGIC = 0x454D5353;
+    private static final int VERSION = 1;
+
+    // Smallest encoded record: the fixed-size fields plus an empty or null length for every string
+    private static final int MIN_TEACHER_BYTES = Long.BYTES + 3 * Integer.BYTES;
+    private static final int MIN_COURSE_BYTES = 3 * Long.BYTES + 6 * Integer.BYTES;
+
+    private ReferenceDataSnapshot() {
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param file the snapshot file
+     * @return the reference data in the file
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static ReferenceData read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt reference data snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Writes a snapshot file, replacing any existing one atomically.
+     *
+     * @param file the snapshot file
+     * @param data the reference data to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, ReferenceData data) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                encode(out, data);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void encode(DataOutputStream out, ReferenceData data) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(data.getCreatedAt().toEpochMilli());
+
+        out.writeInt(data.getTeachers().size());
+        for (TeacherSummary teacher : data.getTeachers()) {
+            out.writeLong(teacher.getId());
+            writeString(out, teacher.getUsername());
+            writeString(out, teacher.getFirstName());
+            writeString(out, teacher.getLastName());
+        }
+
+        out.writeInt(data.getCourses().size());
+        for (CourseSummary course : data.getCourses()) {
+            out.writeLong(course.getId());
+            writeString(out, course.getCourseName());
+            out.writeInt(course.getUnits());
+            out.writeInt(course.getCapacity());
+            writeString(out, course.getTeacherName());
+            out.writeLong(course.getTeacherId());
+            writeString(out, course.getTeacherLastName());
+            out.writeLong(course.getStartDate().toEpochDay());
+            out.writeInt(course.getEnrolledCount());
+        }
+    }
+
+    private static ReferenceData decode(ByteBuffer in) throws IOException {
+        if (in.remaining() < 16 || in.getInt() != MAGIC) {
+            throw new IOException("Not a reference data snapshot");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported reference data snapshot version " + version);
+        }
+        Instant createdAt = Instant.ofEpochMilli(in.getLong());
+
+        int teacherCount = readCount(in, MIN_TEACHER_BYTES);
+        List<TeacherSummary> teachers = new ArrayList<>(teacherCount);
+        for (int i = 0; i < teacherCount; i++) {
+            teachers.add(new TeacherSummary(in.getLong(), readString(in), readString(in), readString(in)));
+        }
+
+        int courseCount = readCount(in, MIN_COURSE_BYTES);
+        List<CourseSummary> courses = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            courses.add(new CourseSummary(in.getLong(), readString(in), in.getInt(), in.getInt(), readString(in),
+                    in.getLong(), readString(in), LocalDate.ofEpochDay(in.getLong()), in.getInt()));
+        }
+        return new ReferenceData(createdAt, teachers, courses);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a record count, rejecting one the rest of the file is too short to hold, so a corrupt
+     * file cannot make the reader allocate a huge list.
+     */
+    private static int readCount(ByteBuffer in, int minRecordBytes) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining() / minRecordBytes) {
+            throw new IOException("Invalid record count " + count + " with " + in.remaining() + " bytes left");
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Invalid string length " + length + " with " + in.remaining() + " bytes left");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.util;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.exception.JDBCConnectionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes the sessions of read-only operations to a read replica.
+ * <p>
+ * The replica is configured with {@code ems.replica.url} (plus username and password); without
+ * it every session comes from the primary {@link SessionFactoryInstance#sessionFactory}. Inside
+ * {@link #callReadOnly} a session is opened on the replica only while its replication lag is
+ * within the operation's tolerance. The lag is measured on the replica at most once every
+ * {@code ems.replica.lag-check-interval-ms}. A replica that cannot be reached is skipped for
+ * {@code ems.replica.retry-after-ms}, and a read-only operation that fails on the replica
+ * because the connection broke is run again on the primary.
+ */
+public class ReplicaRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    private static final String URL = AppConfig.get("ems.replica.url", "").trim();
+    private static final long MAX_LAG_MS = AppConfig.getLong("ems.replica.max-lag-ms", 5000);
+    private static final long LAG_CHECK_INTERVAL_MS = AppConfig.getLong("ems.replica.lag-check-interval-ms", 1000);
+    private static final long RETRY_AFTER_MS = AppConfig.getLong("ems.replica.retry-after-ms", 30000);
+
+    // تأخیر تکرار: اگر همه WAL دریافت‌شده اعمال شده باشد، نسخه کپی به‌روز است
+    private static final String LAG_QUERY = "SELECT CAST(CASE "
+            + "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END AS bigint)";
+
+    private static final ThreadLocal<Route> currentRoute = new ThreadLocal<>();
+
+    private static final AtomicLong replicaSessions = new AtomicLong();
+    private static final AtomicLong primaryFallbacks = new AtomicLong();
+
+    private static volatile SessionFactory replica;
+    private static volatile long lagMs = Long.MAX_VALUE;
+    private static volatile long lagCheckedAt;
+    private static volatile long downUntil;
+
+    private ReplicaRouter() {
+    }
+
+    /**
+     * @return true if a read replica is configured
+     */
+    public static boolean isEnabled() {
+        return !URL.isEmpty();
+    }
+
+    /**
+     * Opens a session on the replica when called inside a read-only operation and the replica
+     * is reachable and fresh enough; otherwise opens a session on the primary.
+     *
+     * @return the session, read-only by default when it is a replica session
+     */
+    public static Session openSession() {
+        Route route = currentRoute.get();
+        if (route != null && route.replicaAllowed && isUsable(route.maxLagMs)) {
+            try {
+                Session session = replicaFactory().openSession();
+                session.setDefaultReadOnly(true);
+                route.usedReplica = true;
+                replicaSessions.incrementAndGet();
+                return session;
+            } catch (Exception e) {
+                markDown(e);
+            }
+        }
+        if (route != null && route.replicaAllowed) {
+            primaryFallbacks.incrementAndGet();
+        }
+        return SessionFactoryInstance.sessionFactory.openSession();
+    }
+
+    /**
+     * Runs a read-only operation, letting the sessions it opens through {@link #openSession()}
+     * go to the replica. If the operation fails on the replica with a connection error, it is
+     * run again on the primary.
+     *
+     * @param maxLagMs  the replication lag the operation tolerates, or -1 for the configured default
+     * @param operation the operation
+     * @param <T>       the result type
+     * @return the result of the operation
+     * @throws Throwable whatever the operation throws
+     */
+    public static <T> T callReadOnly(long maxLagMs, ReadOperation<T> operation) throws Throwable {
+        Route previous = currentRoute.get();
+        Route route = new Route(true, maxLagMs < 0 ? MAX_LAG_MS : maxLagMs);
+        currentRoute.set(route);
+        try {
+            return operation.run();
+        } catch (Throwable e) {
+            if (!route.usedReplica || !isConnectionFailure(e)) {
+                throw e;
+            }
+            markDown(e);
+            primaryFallbacks.incrementAndGet();
+            currentRoute.set(new Route(false, 0));
+            return operation.run();
+        } finally {
+            currentRoute.set(previous);
+        }
+    }
+
+    /**
+     * @return the number of sessions opened on the replica
+     */
+    public static long getReplicaSessionCount() {
+        return replicaSessions.get();
+    }
+
+    /**
+     * @return the number of read-only sessions or operations that went to the primary instead
+     */
+    public static long getPrimaryFallbackCount() {
+        return primaryFallbacks.get();
+    }
+
+    /**
+     * @return the last measured replication lag in milliseconds, or -1 if it is unknown
+     */
+    public static long getLastLagMs() {
+        long lag = lagMs;
+        return lag == Long.MAX_VALUE ? -1 : lag;
+    }
+
+    private static boolean isUsable(long maxLagMs) {
+        long now = System.currentTimeMillis();
+        if (now < downUntil) {
+            return false;
+        }
+        if (now - lagCheckedAt >= LAG_CHECK_INTERVAL_MS) {
+            checkLag(now);
+        }
+        return lagMs <= maxLagMs;
+    }
+
+    private static synchronized void checkLag(long now) {
+        if (now - lagCheckedAt < LAG_CHECK_INTERVAL_MS) {
+            return;
+        }
+        // بدون شمارنده دستورها تا در بودجه عملیات فراخوان حساب نشود
+        try (Session session = replicaFactory().withOptions().statementInspector(sql -> sql).openSession()) {
+            lagMs = session.createNativeQuery(LAG_QUERY, Long.class).getSingleResult();
+        } catch (Exception e) {
+            markDown(e);
+        }
+        lagCheckedAt = now;
+    }
+
+    private static void markDown(Throwable cause) {
+        lagMs = Long.MAX_VALUE;
+        downUntil = System.currentTimeMillis() + RETRY_AFTER_MS;
+        logger.warn("Read replica unavailable, using the primary for {} ms", RETRY_AFTER_MS, cause);
+    }
+
+    private static boolean isConnectionFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JDBCConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static SessionFactory replicaFactory() {
+        SessionFactory factory = replica;
+        if (factory == null) {
+            synchronized (ReplicaRouter.class) {
+                factory = replica;
+                if (factory == null) {
+                    Configuration configuration = new Configuration().configure()
+                            .setProperty("hibernate.connection.url", URL)
+                            .setProperty("hibernate.connection.pool_size", AppConfig.get("ems.replica.pool-size", "5"))
+                            .setProperty("hibernate.hbm2ddl.auto", "none");
+                    String username = AppConfig.get("ems.replica.username", "");
+                    if (!username.isEmpty()) {
+                        configuration.setProperty("hibernate.connection.username", username);
+                        configuration.setProperty("hibernate.connection.password", AppConfig.get("ems.replica.password", ""));
+                    }
+                    factory = SessionFactoryInstance.build(configuration);
+                    replica = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * A read-only operation.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface ReadOperation<T> {
+        T run() throws Throwable;
+    }
+
+    private static final class Route {
+
+        private final boolean replicaAllowed;
+        private final long maxLagMs;
+        private boolean usedReplica;
+
+        private Route(boolean replicaAllowed, long maxLagMs) {
+            this.replicaAllowed = replicaAllowed;
+            this.maxLagMs = maxLagMs;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.util;
+
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import org.hibernate.JDBCException;
+import org.hibernate.StaleStateException;
+import org.hibernate.exception.LockAcquisitionException;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which failures are worth retrying, how long to wait before the next attempt and
+ * whether the retry budget allows one, and keeps the retry metrics.
+ * <p>
+ * Retryable failures are transaction conflicts that a fresh attempt can succeed on:
+ * serialization failures (SQL state 40001), deadlocks (40P01), lock timeouts (55P03) and
+ * optimistic-locking failures. The wait before attempt {@code n + 1} is drawn uniformly from
+ * {@code [0, min(max-delay, base-delay * 2^n))} ("full jitter"), so colliding writers spread out
+ * instead of colliding again in lockstep.
+ * <p>
+ * The retry budget keeps retries from multiplying the load during an outage: every call earns
+ * {@code ems.retry.budget-ratio} of a retry token, every retry spends one, and the balance is
+ * capped at {@code ems.retry.budget-cap} tokens. With the budget spent, failures are reported
+ * right away.
+ */
+public class RetryPolicy {
+
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "40P01", "55P03");
+
+    private static final int MAX_ATTEMPTS = AppConfig.getInt("ems.retry.max-attempts", 4);
+    private static final long BASE_DELAY_MS = AppConfig.getLong("ems.retry.base-delay-ms", 20);
+    private static final long MAX_DELAY_MS = AppConfig.getLong("ems.retry.max-delay-ms", 1000);
+
+    // توکن‌ها در واحد یک‌هزارم نگه داشته می‌شوند تا نسبت کسری بدون قفل جمع شود
+    private static final long TOKEN = 1000;
+    private static final long EARN_PER_CALL = Math.round(AppConfig.getDouble("ems.retry.budget-ratio", 0.2) * TOKEN);
+    private static final long BUDGET_CAP = AppConfig.getLong("ems.retry.budget-cap", 50) * TOKEN;
+
+    private static final AtomicLong budget = new AtomicLong(BUDGET_CAP);
+
+    private static final LongAdder calls = new LongAdder();
+    private static final LongAdder retries = new LongAdder();
+    private static final LongAdder recovered = new LongAdder();
+    private static final LongAdder exhausted = new LongAdder();
+    private static final LongAdder budgetDenied = new LongAdder();
+    private static final Map<String, LongAdder> retriesByOperation = new ConcurrentHashMap<>();
+
+    private RetryPolicy() {
+    }
+
+    /**
+     * @return the default maximum number of attempts
+     */
+    public static int getMaxAttempts() {
+        return MAX_ATTEMPTS;
+    }
+
+    /**
+     * Checks whether a failure is a transaction conflict that a new attempt can get past.
+     *
+     * @param failure the failure
+     * @return true if the operation should be retried
+     */
+    public static boolean isRetryable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException
+                    || cause instanceof PessimisticLockException
+                    || cause instanceof StaleStateException
+                    || cause instanceof LockAcquisitionException) {
+                return true;
+            }
+            String sqlState = null;
+            if (cause instanceof JDBCException) {
+                sqlState = ((JDBCException) cause).getSQLState();
+            } else if (cause instanceof SQLException) {
+                sqlState = ((SQLException) cause).getSQLState();
+            }
+            if (sqlState != null && RETRYABLE_SQL_STATES.contains(sqlState)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns how long to wait before the next attempt.
+     *
+     * @param attempt the number of the attempt that just failed, starting at 1
+     * @return the delay in milliseconds
+     */
+    public static long backoffMs(int attempt) {
+        long ceiling = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling);
+    }
+
+    /**
+     * Records a call and adds its share to the retry budget.
+     */
+    static void onCall() {
+        calls.increment();
+        budget.accumulateAndGet(EARN_PER_CALL, (balance, earned) -> Math.min(BUDGET_CAP, balance + earned));
+    }
+
+    /**
+     * Takes one retry token from the budget.
+     *
+     * @param operation the name of the operation to retry
+     * @return true if the retry may go ahead
+     */
+    static boolean tryAcquireRetry(String operation) {
+        long balance;
+        do {
+            balance = budget.get();
+            if (balance < TOKEN) {
+                budgetDenied.increment();
+                return false;
+            }
+        } while (!budget.compareAndSet(balance, balance - TOKEN));
+        retries.increment();
+        retriesByOperation.computeIfAbsent(operation, name -> new LongAdder()).increment();
+        return true;
+    }
+
+    static void onRecovered() {
+        recovered.increment();
+    }
+
+    static void onExhausted() {
+        exhausted.increment();
+    }
+
+    /**
+     * @return the number of calls to retryable operations
+     */
+    public static long getCallCount() {
+        return calls.sum();
+    }
+
+    /**
+     * @return the number of retries made
+     */
+    public static long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the number of calls that succeeded after at least one retry
+     */
+    public static long getRecoveredCount() {
+        return recovered.sum();
+    }
+
+    /**
+     * @return the number of calls that still failed after their last attempt
+     */
+    public static long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    /**
+     * @return the number of retries skipped because the budget was spent
+     */
+    public static long getBudgetDeniedCount() {
+        return budgetDenied.sum();
+    }
+
+    /**
+     * @return the number of retries made per operation
+     */
+    public static Map<String, Long> getRetriesByOperation() {
+        Map<String, Long> counts = new TreeMap<>();
+        retriesByOperation.forEach((operation, count) -> counts.put(operation, count.sum()));
+        return counts;
+    }
+}
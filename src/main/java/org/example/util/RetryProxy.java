@@ -0,0 +1,94 @@
+package org.example.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps a service so that a call to a method annotated with {@link Retryable} is attempted
+ * again, after a jittered backoff, when it fails with a conflict {@link RetryPolicy} considers
+ * retryable and the retry budget allows it.
+ */
+public class RetryProxy implements InvocationHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryProxy.class);
+
+    private final Object target;
+    private final String serviceName;
+
+    private RetryProxy(Object target, String serviceName) {
+        this.target = target;
+        this.serviceName = serviceName;
+    }
+
+    /**
+     * Wraps a service with retries of its {@link Retryable} methods.
+     *
+     * @param type    the service interface
+     * @param service the service implementation
+     * @param <T>     the service type
+     * @return the wrapped service
+     */
+    public static <T> T wrap(Class<T> type, T service) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                new RetryProxy(service, type.getSimpleName())
+        ));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Retryable retryable = method.getAnnotation(Retryable.class);
+        if (retryable == null) {
+            return call(method, args);
+        }
+        String name = serviceName + "." + method.getName();
+        int maxAttempts = retryable.maxAttempts() < 0 ? RetryPolicy.getMaxAttempts() : retryable.maxAttempts();
+        RetryPolicy.onCall();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = call(method, args);
+                if (attempt > 1) {
+                    RetryPolicy.onRecovered();
+                }
+                return result;
+            } catch (Throwable e) {
+                if (!RetryPolicy.isRetryable(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    RetryPolicy.onExhausted();
+                    logger.warn("{} failed after {} attempts", name, attempt, e);
+                    throw e;
+                }
+                if (!RetryPolicy.tryAcquireRetry(name)) {
+                    logger.warn("{} not retried, the retry budget is spent", name);
+                    throw e;
+                }
+                sleep(RetryPolicy.backoffMs(attempt), e);
+            }
+        }
+    }
+
+    private void sleep(long delayMs, Throwable failure) throws Throwable {
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose whole transaction may be run again when it fails with a
+ * serialization, deadlock, lock or optimistic-locking conflict. Enforced by {@link RetryProxy}.
+ * <p>
+ * The method must open and commit its own transaction and leave its arguments reusable when it
+ * fails, for example by clearing an identifier assigned by an insert that was rolled back.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Retryable {
+
+    /**
+     * @return the maximum number of attempts, or -1 for {@code ems.retry.max-attempts}
+     */
+    int maxAttempts() default -1;
+}
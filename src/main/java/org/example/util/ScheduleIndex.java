@@ -0,0 +1,82 @@
+package org.example.util;
+
+import org.example.dto.ScheduledSlot;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory weekly timetable of a student, used to check a new course for time conflicts.
+ * <p>
+ * The meeting times are sorted by start minute of the week, and for every position the slot with
+ * the latest end among it and all earlier ones is kept. An interval overlaps the timetable exactly
+ * when, among the slots starting before the interval ends, the latest end is after the interval
+ * starts, so a check is a binary search (O(log n)) instead of a scan. This holds even when the
+ * stored slots overlap each other or share a start minute.
+ * <p>
+ * A timetable is built from the database inside the enrollment's transaction for every check, so
+ * enrollments committed by other threads or processes are always seen.
+ */
+public final class ScheduleIndex {
+
+    private final ScheduledSlot[] byStart;
+
+    private final ScheduledSlot[] latestEnding;
+
+    private ScheduleIndex(ScheduledSlot[] byStart) {
+        this.byStart = byStart;
+        this.latestEnding = new ScheduledSlot[byStart.length];
+        for (int i = 0; i < byStart.length; i++) {
+            ScheduledSlot previous = i == 0 ? null : latestEnding[i - 1];
+            latestEnding[i] = previous != null && previous.getEnd() >= byStart[i].getEnd() ? previous : byStart[i];
+        }
+    }
+
+    /**
+     * Builds the timetable of a student.
+     *
+     * @param slots the meeting times of the student's courses
+     * @return the timetable
+     */
+    public static ScheduleIndex of(List<ScheduledSlot> slots) {
+        ScheduledSlot[] sorted = slots.toArray(new ScheduledSlot[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(ScheduledSlot::getStart));
+        return new ScheduleIndex(sorted);
+    }
+
+    /**
+     * Finds a meeting time overlapping the given interval.
+     *
+     * @param start the start minute of the week
+     * @param end   the end minute of the week, exclusive
+     * @return the overlapping slot, or null if there is none
+     */
+    public ScheduledSlot findOverlap(int start, int end) {
+        int startingBefore = lastStartingBefore(end);
+        if (startingBefore < 0) {
+            return null;
+        }
+        ScheduledSlot latest = latestEnding[startingBefore];
+        return latest.getEnd() > start ? latest : null;
+    }
+
+    /**
+     * @return the index of the last slot starting before the given minute, or -1 if there is none
+     */
+    private int lastStartingBefore(int minute) {
+        int low = 0;
+        int high = byStart.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (byStart[middle].getStart() < minute) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+}
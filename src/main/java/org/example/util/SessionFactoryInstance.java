@@ -6,6 +6,9 @@ import org.hibernate.cfg.Configuration;
 
 /**
  * Utility class for creating and managing the Hibernate SessionFactory.
+ * The database schema is migrated by {@link MigrationRunner} before the factory is built,
+ * and Hibernate only validates it. {@code ems.db.url} (with {@code ems.db.username} and
+ * {@code ems.db.password}) replaces the connection of {@code hibernate.cfg.xml}.
  */
 public class SessionFactoryInstance {
 
@@ -13,20 +16,45 @@ public class SessionFactoryInstance {
 
     static {
         try {
-            sessionFactory = new Configuration()
-                    .configure()
-                    .addAnnotatedClass(Student.class)
-                    .addAnnotatedClass(Teacher.class)
-                    .addAnnotatedClass(Admin.class)
-                    .addAnnotatedClass(Course.class)
-                    .addAnnotatedClass(Enrollment.class)
-                    .buildSessionFactory();
+            Configuration configuration = new Configuration().configure();
+            String url = AppConfig.get("ems.db.url", "").trim();
+            if (!url.isEmpty()) {
+                configuration.setProperty("hibernate.connection.url", url);
+                configuration.setProperty("hibernate.connection.username", AppConfig.get("ems.db.username", ""));
+                configuration.setProperty("hibernate.connection.password", AppConfig.get("ems.db.password", ""));
+            }
+            if (AppConfig.getBoolean("ems.migrations.enabled", true)) {
+                MigrationRunner.migrate(configuration.getProperties());
+                StartupTimer.mark("schema migrated");
+            }
+            sessionFactory = build(configuration);
+            StartupTimer.mark("session factory ready");
         } catch (Exception ex) {
             ex.printStackTrace();
             throw new ExceptionInInitializerError(ex);
         }
     }
 
+    /**
+     * Builds a SessionFactory with every entity of the application mapped.
+     *
+     * @param configuration the configuration with the connection settings
+     * @return the SessionFactory
+     */
+    static SessionFactory build(Configuration configuration) {
+        return configuration
+                .addAnnotatedClass(Student.class)
+                .addAnnotatedClass(Teacher.class)
+                .addAnnotatedClass(Admin.class)
+                .addAnnotatedClass(Course.class)
+                .addAnnotatedClass(Enrollment.class)
+                .addAnnotatedClass(GradeAudit.class)
+                .addAnnotatedClass(OutboxEvent.class)
+                .addAnnotatedClass(WaitlistEntry.class)
+                .setStatementInspector(StatementCounter.INSTANCE)
+                .buildSessionFactory();
+    }
+
     /**
      * Shuts down the SessionFactory, releasing all resources.
      */
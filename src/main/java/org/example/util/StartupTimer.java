@@ -0,0 +1,49 @@
+package org.example.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records how long after JVM start each startup milestone was reached.
+ * <p>
+ * Only the first occurrence of a milestone is kept, so call sites on hot paths (such as the
+ * first catalog response) cost one map lookup afterwards. Milestones are logged at INFO and
+ * shown on the system statistics screen.
+ */
+public class StartupTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimer.class);
+
+    private static final long JVM_START_MS = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    private static final Map<String, Long> milestones = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Records a milestone unless it was already reached.
+     *
+     * @param milestone the name of the milestone
+     */
+    public static void mark(String milestone) {
+        long elapsed = System.currentTimeMillis() - JVM_START_MS;
+        if (milestones.putIfAbsent(milestone, elapsed) == null) {
+            logger.info("Startup milestone '{}' reached after {} ms", milestone, elapsed);
+        }
+    }
+
+    /**
+     * @return the milestones reached so far with their time since JVM start in milliseconds, in order
+     */
+    public static Map<String, Long> getMilestones() {
+        synchronized (milestones) {
+            return new LinkedHashMap<>(milestones);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements a service method may execute.
+ * Enforced by {@link StatementBudgetProxy}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface StatementBudget {
+
+    /**
+     * @return the maximum number of statements per call
+     */
+    int value();
+}
@@ -0,0 +1,87 @@
+package org.example.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps a service so that every call to a method annotated with {@link StatementBudget}
+ * is counted by {@link StatementCounter}.
+ * <p>
+ * In strict mode (tests) an exceeded budget fails with an {@link AssertionError};
+ * otherwise (dev mode) it is logged as a warning.
+ */
+public class StatementBudgetProxy implements InvocationHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementBudgetProxy.class);
+
+    private final Object target;
+    private final String serviceName;
+    private final boolean strict;
+
+    private StatementBudgetProxy(Object target, String serviceName, boolean strict) {
+        this.target = target;
+        this.serviceName = serviceName;
+        this.strict = strict;
+    }
+
+    /**
+     * Wraps a service when dev mode is enabled; otherwise returns the service unchanged.
+     *
+     * @param type    the service interface
+     * @param service the service implementation
+     * @param <T>     the service type
+     * @return the wrapped service, or the service itself outside dev mode
+     */
+    public static <T> T wrap(Class<T> type, T service) {
+        return AppConfig.isDevMode() ? wrap(type, service, false) : service;
+    }
+
+    /**
+     * Wraps a service with statement budget checks.
+     *
+     * @param type    the service interface
+     * @param service the service implementation
+     * @param strict  true to fail on exceeded budgets, false to log a warning
+     * @param <T>     the service type
+     * @return the wrapped service
+     */
+    public static <T> T wrap(Class<T> type, T service, boolean strict) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                new StatementBudgetProxy(service, type.getSimpleName(), strict)
+        ));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        StatementBudget budget = method.getAnnotation(StatementBudget.class);
+        if (budget == null) {
+            return call(method, args);
+        }
+        String name = serviceName + "." + method.getName();
+        try (StatementCounter.Scope scope = StatementCounter.open(name)) {
+            Object result = call(method, args);
+            if (scope.getCount() > budget.value()) {
+                if (strict) {
+                    scope.assertWithin(budget.value());
+                }
+                logger.warn("{} executed {} statements, budget is {}", name, scope.getCount(), budget.value());
+            }
+            return result;
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
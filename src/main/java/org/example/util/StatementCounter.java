@@ -0,0 +1,183 @@
+package org.example.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * <p>
+ * Counting only happens inside a {@link Scope} (a unit of work), so the inspector costs nothing
+ * outside of tests and dev mode. In dev mode a warning is logged when the same statement shape
+ * (the SQL with literals and IN-lists collapsed) repeats more than
+ * {@code ems.statement.repeat-threshold} times in one scope, which is the signature of an N+1 loop.
+ */
+public class StatementCounter implements StatementInspector {
+
+    public static final StatementCounter INSTANCE = new StatementCounter();
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementCounter.class);
+
+    private static final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Records the statement in every open scope of the current thread.
+     *
+     * @param sql the SQL about to be prepared
+     * @return the SQL unchanged
+     */
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = currentScope.get(); scope != null; scope = scope.parent) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Opens a counting scope on the current thread. Scopes nest; the statements of an inner scope
+     * are also counted by the outer ones.
+     *
+     * @param name the name of the unit of work, used in warnings
+     * @return the opened scope, to be closed with try-with-resources
+     */
+    public static Scope open(String name) {
+        Scope scope = new Scope(name, currentScope.get());
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Runs a block and returns the number of statements it executed.
+     *
+     * @param block the block to run
+     * @return the number of statements prepared by the block
+     */
+    public static int count(Runnable block) {
+        try (Scope scope = open("count")) {
+            block.run();
+            return scope.getCount();
+        }
+    }
+
+    /**
+     * Runs a block and fails when it executes more statements than the budget allows.
+     *
+     * @param budget the maximum number of statements
+     * @param block  the block to run
+     * @param <T>    the result type
+     * @return the result of the block
+     * @throws AssertionError if the budget is exceeded
+     */
+    public static <T> T assertWithin(int budget, Supplier<T> block) {
+        try (Scope scope = open("budget")) {
+            T result = block.get();
+            scope.assertWithin(budget);
+            return result;
+        }
+    }
+
+    /**
+     * Runs a block and fails when it executes more statements than the budget allows.
+     *
+     * @param budget the maximum number of statements
+     * @param block  the block to run
+     * @throws AssertionError if the budget is exceeded
+     */
+    public static void assertWithin(int budget, Runnable block) {
+        assertWithin(budget, () -> {
+            block.run();
+            return null;
+        });
+    }
+
+    /**
+     * Reduces a statement to its shape so that executions differing only in bound values match.
+     *
+     * @param sql the SQL statement
+     * @return the normalized statement
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+    }
+
+    /**
+     * A unit of work in which statements are counted.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final Scope parent;
+        private final int repeatThreshold;
+        private final boolean reportRepeats;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int count;
+
+        private Scope(String name, Scope parent) {
+            this.name = name;
+            this.parent = parent;
+            this.repeatThreshold = AppConfig.getInt("ems.statement.repeat-threshold", 5);
+            this.reportRepeats = AppConfig.isDevMode();
+        }
+
+        private void record(String sql) {
+            count++;
+            String shape = shapeOf(sql);
+            int repeats = shapes.merge(shape, 1, Integer::sum);
+            if (reportRepeats && repeats == repeatThreshold + 1) {
+                logger.warn("Possible N+1 in {}: statement repeated more than {} times: {}", name, repeatThreshold, shape);
+            }
+        }
+
+        /**
+         * Returns the number of statements counted so far.
+         *
+         * @return the statement count
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Returns how many times each statement shape was executed.
+         *
+         * @return statement shapes and their execution counts
+         */
+        public Map<String, Integer> getShapes() {
+            return new HashMap<>(shapes);
+        }
+
+        /**
+         * Fails when more statements than the budget allows were counted.
+         *
+         * @param budget the maximum number of statements
+         * @throws AssertionError if the budget is exceeded
+         */
+        public void assertWithin(int budget) {
+            if (count > budget) {
+                throw new AssertionError(name + " executed " + count + " statements, budget is " + budget + ": " + shapes);
+            }
+        }
+
+        @Override
+        public void close() {
+            currentScope.set(parent);
+        }
+    }
+}
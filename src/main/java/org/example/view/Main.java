@@ -1,35 +1,74 @@
 package org.example.view;
 
+import org.example.dto.AdmissionTicket;
+import org.example.dto.CourseCreationResult;
+import org.example.dto.CoursePatch;
+import org.example.dto.CourseSummary;
+import org.example.dto.DeletionReport;
+import org.example.dto.GradeImportError;
+import org.example.dto.GradeImportReport;
+import org.example.dto.GradeSheetReport;
+import org.example.dto.Page;
+import org.example.dto.ScheduleConflict;
+import org.example.dto.SystemStatistics;
 import org.example.entity.*;
 import org.example.enums.ErrorCode;
 import org.example.exception.CustomException;
 import org.example.service.*;
 import org.example.service.impl.*;
-import org.example.util.SessionFactoryInstance;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
-
+import org.example.util.AppConfig;
+import org.example.util.ReadOnlyRoutingProxy;
+import org.example.util.ReferenceDataCache;
+import org.example.util.ReplicaRouter;
+import org.example.util.RetryPolicy;
+import org.example.util.RetryProxy;
+import org.example.util.StartupTimer;
+import org.example.util.StatementBudgetProxy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
 
 public class Main {
 
-    private static final AdminService adminService = new AdminServiceImpl();
+    private static final AdminService adminService = RetryProxy.wrap(AdminService.class,
+            ReadOnlyRoutingProxy.wrap(AdminService.class, new AdminServiceImpl()));
     private static final StudentService studentService = new StudentServiceImpl();
-    private static final TeacherService teacherService = new TeacherServiceImpl();
-    private static final CourseService courseService = new CourseServiceImpl();
-    private static final EnrollmentService enrollmentService = new EnrollmentServiceImpl();
-    private static final List<Admin> admins = new ArrayList<>();
+    private static final TeacherService teacherService = StatementBudgetProxy.wrap(TeacherService.class, new TeacherServiceImpl());
+    private static final CourseService courseService = StatementBudgetProxy.wrap(CourseService.class,
+            ReadOnlyRoutingProxy.wrap(CourseService.class, new CourseServiceImpl()));
+    private static final EnrollmentService enrollmentService = RetryProxy.wrap(EnrollmentService.class,
+            StatementBudgetProxy.wrap(EnrollmentService.class,
+                    ReadOnlyRoutingProxy.wrap(EnrollmentService.class, new EnrollmentServiceImpl())));
+    private static final StatisticsService statisticsService = new StatisticsServiceImpl();
+    private static final OutboxRelayService outboxRelayService = new OutboxRelayServiceImpl();
+    private static final WaitlistService waitlistService = new WaitlistServiceImpl();
+    private static final ScheduleService scheduleService = ReadOnlyRoutingProxy.wrap(ScheduleService.class, new ScheduleServiceImpl());
+    private static final PrerequisiteService prerequisiteService = new PrerequisiteServiceImpl();
+    private static final GradeImportService gradeImportService = new GradeImportServiceImpl(enrollmentService);
+    private static final GradeSheetService gradeSheetService = new GradeSheetServiceImpl();
+    private static final CatalogService catalogService = new CatalogServiceImpl();
+    private static final EnrollmentAdmissionService enrollmentAdmissionService = new EnrollmentAdmissionServiceImpl(enrollmentService);
+    private static final int PAGE_SIZE = AppConfig.getInt("ems.page-size", 20);
     private static Long currentTeacherId = null;
+    private static String currentTeacherUsername = null;
     private static Long currentStudentId = null;
 
     /**
-     * The entry point of the application. It initializes admins and displays the main menu.
+     * The entry point of the application. It displays the main menu; admin accounts are stored in the database.
      *
      * @param args the input arguments
      */
     public static void main(String[] args) {
-        initializeAdmins(); // Initialize predefined admins
+        StartupTimer.mark("main");
+        ReferenceDataCache.warmUp(); // Serve the catalog from the last snapshot while Hibernate starts
+        if (AppConfig.getBoolean("ems.outbox.relay-enabled", true)) {
+            outboxRelayService.start();
+        }
+        enrollmentAdmissionService.start();
         Scanner scanner = new Scanner(System.in);
         boolean running = true;
 
@@ -41,6 +80,7 @@ public class Main {
                 System.out.println("3. Student");
                 System.out.println("4. Exit");
                 System.out.print("Please select your role: ");
+                StartupTimer.mark("main menu");
                 int role = scanner.nextInt();
                 scanner.nextLine();
 
@@ -56,6 +96,8 @@ public class Main {
                         break;
                     case 4:
                         System.out.println("Exiting the system. Goodbye!");
+                        enrollmentAdmissionService.stop();
+                        outboxRelayService.stop();
                         running = false;
                         break;
                     default:
@@ -71,15 +113,6 @@ public class Main {
         }
     }
 
-    /**
-     * Initializes predefined admin users.
-     */
-    private static void initializeAdmins() {
-        admins.add(new Admin(1L, "admin1", "password1"));
-        admins.add(new Admin(2L, "admin2", "password2"));
-        admins.add(new Admin(3L, "admin3", "password3"));
-    }
-
     /**
      * Displays the admin selection menu.
      *
@@ -128,8 +161,7 @@ public class Main {
             System.out.print("Password: ");
             String password = scanner.next();
 
-            Admin selectedAdmin = admins.get(adminChoice - 1);
-            if (authenticateAdmin(username, password, selectedAdmin)) {
+            if (authenticateAdmin(username, password)) {
                 System.out.println("Welcome Admin!"); // 1-3: Welcome message
                 adminMenu(scanner); // Display admin menu
             } else {
@@ -148,12 +180,11 @@ public class Main {
     /**
      * Authenticates the admin based on username and password.
      *
-     * @param username      the username
-     * @param password      the password
-     * @param selectedAdmin the selected admin
+     * @param username the username
+     * @param password the password
      * @return true if authentication is successful, otherwise false
      */
-    private static boolean authenticateAdmin(String username, String password, Admin selectedAdmin) { // 1-2
+    private static boolean authenticateAdmin(String username, String password) { // 1-2
         try {
             return adminService.authenticate(username, password);
         } catch (CustomException e) {
@@ -184,7 +215,13 @@ public class Main {
                 System.out.println("8. Delete Course ");
                 System.out.println("9. View List of Courses ");
                 System.out.println("10. Assign Course to Teacher");
-                System.out.println("11. Back to Main Menu");
+                System.out.println("11. System Statistics");
+                System.out.println("12. Validate Schedules");
+                System.out.println("13. Set Course Prerequisites");
+                System.out.println("14. Generate Grade Sheets");
+                System.out.println("15. Reassign Courses");
+                System.out.println("16. Import Course Catalog");
+                System.out.println("17. Back to Main Menu");
                 System.out.print("Please select an option: ");
                 int choice = scanner.nextInt();
                 scanner.nextLine();
@@ -194,13 +231,13 @@ public class Main {
                         registerStudent(scanner);
                         break;
                     case 2:
-                        viewStudents();
+                        viewStudents(scanner);
                         break;
                     case 3:
                         registerTeacher(scanner);
                         break;
                     case 4:
-                        viewTeachers();
+                        viewTeachers(scanner);
                         break;
                     case 5:
                         deleteTeacher(scanner);
@@ -221,6 +258,24 @@ public class Main {
                         assignCourseToTeacher(scanner);
                         break;
                     case 11:
+                        viewSystemStatistics(scanner);
+                        break;
+                    case 12:
+                        validateSchedules();
+                        break;
+                    case 13:
+                        setCoursePrerequisites(scanner);
+                        break;
+                    case 14:
+                        generateGradeSheets();
+                        break;
+                    case 15:
+                        reassignCourses(scanner);
+                        break;
+                    case 16:
+                        importCourseCatalog(scanner);
+                        break;
+                    case 17:
                         return;
                     default:
                         System.out.println("Invalid choice. Please try again.");
@@ -278,14 +333,21 @@ public class Main {
     }
 
     /**
-     * Displays the list of students.
+     * Displays the list of students one page at a time.
+     *
+     * @param scanner the input scanner
      */
-    private static void viewStudents() { // 1-4-2
+    private static void viewStudents(Scanner scanner) { // 1-4-2
         try {
             System.out.println("View Students");
-            List<Student> students = adminService.viewStudents();
-            for (Student student : students) {
-                System.out.println(student);
+            for (int pageNumber = 0; ; pageNumber++) {
+                Page<Student> page = adminService.viewStudents(pageNumber, PAGE_SIZE);
+                for (Student student : page.getItems()) {
+                    System.out.println(student);
+                }
+                if (!hasNextPage(scanner, page)) {
+                    break;
+                }
             }
         } catch (CustomException e) {
             System.out.println("An error occurred while viewing students: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
@@ -345,14 +407,21 @@ public class Main {
     }
 
     /**
-     * Displays the list of teachers.
+     * Displays the list of teachers one page at a time.
+     *
+     * @param scanner the input scanner
      */
-    private static void viewTeachers() {
+    private static void viewTeachers(Scanner scanner) {
         try {
             System.out.println("View Teachers");
-            List<Teacher> teachers = adminService.viewTeachers(); // Use adminService to get teachers
-            for (Teacher teacher : teachers) {
-                System.out.println(teacher);
+            for (int pageNumber = 0; ; pageNumber++) {
+                Page<Teacher> page = adminService.viewTeachers(pageNumber, PAGE_SIZE); // Use adminService to get teachers
+                for (Teacher teacher : page.getItems()) {
+                    System.out.println(teacher);
+                }
+                if (!hasNextPage(scanner, page)) {
+                    break;
+                }
             }
         } catch (CustomException e) {
             System.out.println("An error occurred while viewing teachers: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
@@ -363,6 +432,23 @@ public class Main {
         }
     }
 
+    /**
+     * Prints the page position and asks whether to show the next page.
+     *
+     * @param scanner the input scanner
+     * @param page    the page just shown
+     * @return true if there is a next page and the user wants to see it
+     */
+    private static boolean hasNextPage(Scanner scanner, Page<?> page) {
+        System.out.println("Page " + (page.getPageNumber() + 1) + " of " + page.getPageCount()
+                + " (" + page.getTotalCount() + " in total)");
+        if (!page.hasNext()) {
+            return false;
+        }
+        System.out.print("Show the next page? (yes/no): ");
+        return scanner.next().equalsIgnoreCase("yes");
+    }
+
     /**
      * Deletes a teacher based on their ID.
      *
@@ -379,8 +465,9 @@ public class Main {
                 System.out.println("Teacher not found.");
                 return;
             }
-            adminService.deleteTeacher(teacher);
+            DeletionReport report = adminService.deleteTeacher(teacher);
             System.out.println("Teacher deleted successfully.");
+            printDeletionReport(report);
         } catch (CustomException e) {
             System.out.println("An error occurred while deleting the teacher: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
             System.out.println("Please try again.");
@@ -413,6 +500,10 @@ public class Main {
             System.out.print("Start Date (YYYY-MM-DD): ");
             String startDate = scanner.next();
             LocalDate parsedDate = LocalDate.parse(startDate);
+            scanner.nextLine();
+
+            System.out.print("Time Slots (e.g. MONDAY 08:00-10:00, WEDNESDAY 08:00-10:00): ");
+            List<TimeSlot> timeSlots = parseTimeSlots(scanner.nextLine());
 
             Teacher teacher = adminService.findTeacherByName(teacherName);
             if (teacher == null) {
@@ -425,10 +516,10 @@ public class Main {
             course.setCapacity(capacity);
             course.setTeacher(teacher);
             course.setStartDate(parsedDate);
+            course.setTimeSlots(timeSlots);
 
-            adminService.createCourse(course);
-
-            System.out.println("Course created successfully.");
+            CourseCreationResult result = adminService.createCourse(course);
+            printCourseCreationResult(result);
         } catch (CustomException e) {
             System.out.println("An error occurred while creating the course: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
         } catch (Exception e) {
@@ -436,6 +527,99 @@ public class Main {
         }
     }
 
+    /**
+     * Creates the courses listed in a CSV file in one batch and prints the outcome of each.
+     *
+     * @param scanner the input scanner
+     */
+    private static void importCourseCatalog(Scanner scanner) {
+        System.out.println("Import Course Catalog");
+        try {
+            System.out.print("File path (rows of name, units, capacity, teacher ID, start date, time slots separated by ';'): ");
+            Path file = Path.of(scanner.nextLine().trim());
+            List<Course> courses = new ArrayList<>();
+            int lineNumber = 0;
+            for (String line : Files.readAllLines(file)) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", 6);
+                if (fields.length < 5) {
+                    System.out.println("Line " + lineNumber + ": expected at least 5 fields, skipped [" + line + "]");
+                    continue;
+                }
+                Teacher teacher = new Teacher();
+                teacher.setId(Long.parseLong(fields[3].trim()));
+                Course course = new Course();
+                course.setCourseName(fields[0].trim());
+                course.setUnits(Integer.parseInt(fields[1].trim()));
+                course.setCapacity(Integer.parseInt(fields[2].trim()));
+                course.setTeacher(teacher);
+                course.setStartDate(LocalDate.parse(fields[4].trim()));
+                course.setTimeSlots(fields.length > 5 ? parseTimeSlots(fields[5].replace(';', ',')) : new ArrayList<>());
+                courses.add(course);
+            }
+
+            List<CourseCreationResult> results = adminService.createCourses(courses);
+            long created = 0;
+            for (CourseCreationResult result : results) {
+                printCourseCreationResult(result);
+                if (result.isCreated()) {
+                    created++;
+                }
+            }
+            System.out.println(created + " of " + results.size() + " courses created.");
+        } catch (CustomException e) {
+            System.out.println("An error occurred while importing the catalog: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while importing the catalog: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints whether a course was created, or why it was not.
+     *
+     * @param result the outcome of creating the course
+     */
+    private static void printCourseCreationResult(CourseCreationResult result) {
+        switch (result.getStatus()) {
+            case CREATED:
+                System.out.println("Course '" + result.getCourseName() + "' created successfully with ID " + result.getCourseId() + ".");
+                break;
+            case DUPLICATE_NAME:
+                System.out.println("Course '" + result.getCourseName() + "' already exists.");
+                break;
+            case TEACHER_NOT_FOUND:
+                System.out.println("Course '" + result.getCourseName() + "' was not created: teacher not found.");
+                break;
+        }
+    }
+
+    /**
+     * Parses weekly time slots written as {@code DAY HH:MM-HH:MM}, separated by commas.
+     *
+     * @param input the time slots
+     * @return the parsed time slots; empty if the input is blank
+     * @throws IllegalArgumentException if a slot is malformed or ends before it starts
+     */
+    private static List<TimeSlot> parseTimeSlots(String input) {
+        List<TimeSlot> timeSlots = new ArrayList<>();
+        for (String part : input.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] dayAndTimes = part.trim().split("\\s+");
+            String[] times = dayAndTimes[dayAndTimes.length - 1].split("-");
+            TimeSlot slot = new TimeSlot(DayOfWeek.valueOf(dayAndTimes[0].toUpperCase()), LocalTime.parse(times[0]), LocalTime.parse(times[1]));
+            if (!slot.getEndTime().isAfter(slot.getStartTime())) {
+                throw new IllegalArgumentException("Time slot must end after it starts: " + part.trim());
+            }
+            timeSlots.add(slot);
+        }
+        return timeSlots;
+    }
+
     /**
      * Edits an existing course based on the provided details.
      *
@@ -453,40 +637,46 @@ public class Main {
                 return;
             }
 
+            // فقط فیلدهای واردشده در patch می‌آیند تا UPDATE همان ستون‌ها را بنویسد
+            CoursePatch patch = new CoursePatch();
             System.out.print("Course Name (" + course.getCourseName() + "): ");
             scanner.nextLine();
             String courseName = scanner.nextLine();
             if (!courseName.trim().isEmpty()) {
-                course.setCourseName(courseName);
+                patch.setCourseName(courseName);
             }
 
             System.out.print("Units (" + course.getUnits() + "): ");
             String unitsInput = scanner.nextLine();
             if (!unitsInput.trim().isEmpty()) {
                 int units = Integer.parseInt(unitsInput);
-                course.setUnits(units);
+                patch.setUnits(units);
             }
 
             System.out.print("Capacity (" + course.getCapacity() + "): ");
             String capacityInput = scanner.nextLine();
             if (!capacityInput.trim().isEmpty()) {
                 int capacity = Integer.parseInt(capacityInput);
-                course.setCapacity(capacity);
-            }
-
-            System.out.print("Teacher Name (" + course.getTeacherName() + "): ");
-            String teacherName = scanner.nextLine();
-            if (!teacherName.trim().isEmpty()) {
-                course.setTeacherName(teacherName);
+                patch.setCapacity(capacity);
             }
 
             System.out.print("Start Date (" + course.getStartDate() + "): ");
             String startDate = scanner.nextLine();
             if (!startDate.trim().isEmpty()) {
-                course.setStartDate(LocalDate.parse(startDate));
+                patch.setStartDate(LocalDate.parse(startDate));
             }
 
-            adminService.updateCourse(course);
+            System.out.print("Time Slots (leave empty to keep the current ones): ");
+            String timeSlots = scanner.nextLine();
+            if (!timeSlots.trim().isEmpty()) {
+                patch.setTimeSlots(parseTimeSlots(timeSlots));
+            }
+
+            if (patch.isEmpty()) {
+                System.out.println("Nothing to update.");
+                return;
+            }
+            adminService.patchCourse(course.getId(), patch);
             System.out.println("Course updated successfully.");
         } catch (CustomException e) {
             System.out.println("An error occurred while updating the course: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
@@ -514,8 +704,9 @@ public class Main {
                 return;
             }
 
-            adminService.deleteCourse(course);
+            DeletionReport report = adminService.deleteCourse(course);
             System.out.println("Course deleted successfully.");
+            printDeletionReport(report);
         } catch (CustomException e) {
             System.out.println("An error occurred while deleting the course: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
             System.out.println("Please try again.");
@@ -525,18 +716,34 @@ public class Main {
         }
     }
 
+    /**
+     * Prints how many rows a delete removed from each table.
+     *
+     * @param report the deletion report
+     */
+    private static void printDeletionReport(DeletionReport report) {
+        System.out.println("Rows deleted: " + report.getTotalRows()
+                + " (teachers: " + report.getTeachers()
+                + ", courses: " + report.getCourses()
+                + ", enrollments: " + report.getEnrollments()
+                + ", waitlist entries: " + report.getWaitlistEntries()
+                + ", time slots: " + report.getTimeSlots()
+                + ", prerequisite links: " + report.getPrerequisiteLinks() + ")");
+        System.out.println("Enrollment drop events published: " + report.getDroppedEvents());
+    }
+
     /**
      * Displays the list of Course
      */
     private static void viewCourses(Scanner scanner) {
         try {
-            List<Course> courses = courseService.findAllCourses();
+            List<CourseSummary> courses = catalogService.findAllCourses();
 
             if (courses.isEmpty()) {
                 System.out.println("No courses found.");
             } else {
                 System.out.println("List of Courses:");
-                for (Course course : courses) {
+                for (CourseSummary course : courses) {
                     System.out.println("Course ID: " + course.getId());
                     System.out.println("Course Course Name: " + course.getCourseName());
                     System.out.println("Course Units: " + course.getUnits());
@@ -553,6 +760,53 @@ public class Main {
         adminMenu(scanner);
     }
 
+    /**
+     * Writes a grade sheet file for every course of every teacher and reports progress and wall time.
+     */
+    private static void generateGradeSheets() {
+        System.out.println("Generate Grade Sheets");
+        try {
+            Path outputDirectory = Path.of(AppConfig.get("ems.grade-sheets.dir", "grade-sheets"));
+            GradeSheetReport report = gradeSheetService.generateAll(outputDirectory,
+                    done -> System.out.println("  " + done + " teachers done"));
+            for (String failure : report.getFailures()) {
+                System.out.println("Failed: " + failure);
+            }
+            System.out.println(report.getSheetCount() + " grade sheets for " + report.getTeacherCount() + " teachers written to "
+                    + report.getOutputDirectory().toAbsolutePath() + " in " + report.getElapsed().toMillis() + " ms.");
+        } catch (CustomException e) {
+            System.out.println("An error occurred while generating grade sheets: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the prerequisites of a course.
+     *
+     * @param scanner the input scanner
+     */
+    private static void setCoursePrerequisites(Scanner scanner) {
+        try {
+            System.out.println("Set Course Prerequisites");
+            System.out.print("Course ID: ");
+            Long courseId = Long.parseLong(scanner.nextLine().trim());
+            System.out.print("Prerequisite Course IDs (comma separated, empty for none): ");
+            Set<Long> prerequisiteIds = new HashSet<>();
+            for (String id : scanner.nextLine().split(",")) {
+                if (!id.isBlank()) {
+                    prerequisiteIds.add(Long.parseLong(id.trim()));
+                }
+            }
+            prerequisiteService.setPrerequisites(courseId, prerequisiteIds);
+            System.out.println("Prerequisites updated successfully.");
+        } catch (CustomException e) {
+            System.out.println("An error occurred while updating the prerequisites: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while updating the prerequisites: " + e.getMessage());
+        }
+    }
+
     /**
      * Assigns a course to a teacher.
      *
@@ -574,6 +828,146 @@ public class Main {
         }
     }
 
+    /**
+     * Moves all courses of a teacher, or a list of courses, to another teacher after showing how many will move.
+     *
+     * @param scanner the input scanner
+     */
+    private static void reassignCourses(Scanner scanner) {
+        try {
+            System.out.println("Reassign Courses");
+            System.out.println("1. All courses of a teacher");
+            System.out.println("2. A list of courses");
+            System.out.print("Please select an option: ");
+            int mode = Integer.parseInt(scanner.nextLine().trim());
+            Long fromTeacherId = null;
+            List<Long> courseIds = new ArrayList<>();
+            if (mode == 1) {
+                System.out.print("Current Teacher ID: ");
+                fromTeacherId = Long.parseLong(scanner.nextLine().trim());
+            } else if (mode == 2) {
+                System.out.print("Course IDs (comma separated): ");
+                for (String id : scanner.nextLine().split(",")) {
+                    if (!id.isBlank()) {
+                        courseIds.add(Long.parseLong(id.trim()));
+                    }
+                }
+            } else {
+                System.out.println("Invalid choice.");
+                return;
+            }
+            System.out.print("New Teacher ID: ");
+            Long toTeacherId = Long.parseLong(scanner.nextLine().trim());
+
+            long preview = fromTeacherId != null
+                    ? adminService.previewReassignment(fromTeacherId, toTeacherId)
+                    : adminService.previewReassignment(courseIds, toTeacherId);
+            if (preview == 0) {
+                System.out.println("No courses to reassign.");
+                return;
+            }
+            System.out.print(preview + " course(s) will be reassigned. Continue? (yes/no): ");
+            if (!scanner.nextLine().trim().equalsIgnoreCase("yes")) {
+                System.out.println("Reassignment cancelled.");
+                return;
+            }
+            int moved = fromTeacherId != null
+                    ? adminService.reassignCourses(fromTeacherId, toTeacherId)
+                    : adminService.reassignCourses(courseIds, toTeacherId);
+            System.out.println(moved + " course(s) reassigned successfully.");
+        } catch (CustomException e) {
+            System.out.println("An error occurred while reassigning the courses: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while reassigning the courses: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks every student's timetable for courses that meet at the same time and lists the conflicts.
+     */
+    private static void validateSchedules() {
+        System.out.println("Validate Schedules");
+        try {
+            List<ScheduleConflict> conflicts = scheduleService.validateAllSchedules();
+            if (conflicts.isEmpty()) {
+                System.out.println("No schedule conflicts found.");
+                return;
+            }
+            for (ScheduleConflict conflict : conflicts) {
+                System.out.println("Student ID: " + conflict.getStudentId() + " - Courses " + conflict.getCourseId()
+                        + " and " + conflict.getConflictingCourseId() + " overlap on " + conflict.getMeetingTime());
+            }
+            System.out.println(conflicts.size() + " conflict(s) found.");
+        } catch (CustomException e) {
+            System.out.println("An error occurred while validating schedules: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays the database statistics collected since startup or the last reset,
+     * and optionally resets them so the cost of the next workflow can be measured.
+     *
+     * @param scanner the input scanner
+     */
+    private static void viewSystemStatistics(Scanner scanner) {
+        try {
+            System.out.println("System Statistics");
+            SystemStatistics statistics = statisticsService.getStatistics();
+            System.out.println("Collected Since: " + statistics.getCollectedSince());
+            System.out.println("Queries Executed: " + statistics.getQueryExecutionCount());
+            System.out.println("Statements Prepared: " + statistics.getPrepareStatementCount());
+            System.out.println("Entity Loads: " + statistics.getEntityLoadCount());
+            System.out.println("Entity Fetches: " + statistics.getEntityFetchCount());
+            System.out.println("Collection Loads: " + statistics.getCollectionLoadCount());
+            System.out.println("Collection Fetches: " + statistics.getCollectionFetchCount());
+            System.out.println("L2 Cache Hits/Misses: " + statistics.getSecondLevelCacheHitCount() + "/" + statistics.getSecondLevelCacheMissCount()
+                    + String.format(" (hit ratio %.2f)", statistics.getSecondLevelCacheHitRatio()));
+            System.out.println("Connections Acquired: " + statistics.getConnectCount());
+            System.out.println("Transactions: " + statistics.getTransactionCount());
+            System.out.println("Sessions Opened: " + statistics.getSessionOpenCount());
+            System.out.println("Outbox Events Delivered: " + outboxRelayService.getDeliveredCount()
+                    + String.format(" (%.1f events/s)", outboxRelayService.getEventsPerSecond()));
+            System.out.println("Enrollment Requests Queued: " + enrollmentAdmissionService.getQueuedCount()
+                    + " (rejected since startup: " + enrollmentAdmissionService.getRejectedCount() + ")");
+            System.out.println("Write Retries: " + RetryPolicy.getRetryCount() + " for " + RetryPolicy.getCallCount() + " calls ("
+                    + RetryPolicy.getRecoveredCount() + " recovered, " + RetryPolicy.getExhaustedCount() + " gave up, "
+                    + RetryPolicy.getBudgetDeniedCount() + " denied by the retry budget)");
+            for (Map.Entry<String, Long> retries : RetryPolicy.getRetriesByOperation().entrySet()) {
+                System.out.println("  " + retries.getKey() + ": " + retries.getValue() + " retries");
+            }
+            if (ReplicaRouter.isEnabled()) {
+                System.out.println("Read Replica: " + ReplicaRouter.getReplicaSessionCount() + " sessions, "
+                        + ReplicaRouter.getPrimaryFallbackCount() + " fallbacks to primary, last lag "
+                        + ReplicaRouter.getLastLagMs() + " ms");
+            }
+            System.out.println("Catalog Cache: " + (ReferenceDataCache.isServingSnapshot() ? "snapshot" : "database")
+                    + " data from " + ReferenceDataCache.getCreatedAt());
+            System.out.println("Startup Milestones:");
+            for (Map.Entry<String, Long> milestone : StartupTimer.getMilestones().entrySet()) {
+                System.out.println("  " + milestone.getKey() + ": " + milestone.getValue() + " ms");
+            }
+            System.out.println("Slowest Queries:");
+            for (SystemStatistics.QueryTiming timing : statistics.getSlowestQueries()) {
+                System.out.println("  max " + timing.getExecutionMaxTime() + " ms, avg " + timing.getExecutionAvgTime() + " ms, "
+                        + timing.getExecutionCount() + " runs, " + timing.getExecutionRowCount() + " rows: " + timing.getQuery());
+            }
+            System.out.println("-----");
+
+            System.out.print("Reset statistics? (yes/no): ");
+            String reset = scanner.next();
+            if (reset.equalsIgnoreCase("yes")) {
+                statisticsService.resetStatistics();
+                System.out.println("Statistics reset.");
+            }
+        } catch (CustomException e) {
+            System.out.println("An error occurred while reading the statistics: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
     /**
      * Displays the teacher menu and handles teacher operations.
      *
@@ -591,7 +985,9 @@ public class Main {
                 System.out.println("6. View Teacher Profile");
                 System.out.println("7. Change Password");
                 System.out.println("8. View Grades");
-                System.out.println("9. Back to Main Menu");
+                System.out.println("9. View Grade History");
+                System.out.println("10. Import Grades from File");
+                System.out.println("11. Back to Main Menu");
                 System.out.print("Please select an option: ");
                 int choice = scanner.nextInt();
                 scanner.nextLine();
@@ -622,6 +1018,12 @@ public class Main {
                         viewGrades(scanner);
                         break;
                     case 9:
+                        viewGradeHistory(scanner);
+                        break;
+                    case 10:
+                        importGrades(scanner);
+                        break;
+                    case 11:
                         return;
                     default:
                         System.out.println("Invalid choice. Please try again.");
@@ -645,12 +1047,12 @@ public class Main {
         System.out.println("Assigned Courses");
         try {
             Long teacherId = getCurrentTeacherId();
-            List<Course> courses = teacherService.getAssignedCourses(teacherId);
+            List<CourseSummary> courses = catalogService.findCoursesByTeacherId(teacherId);
 
             if (courses.isEmpty()) {
                 System.out.println("No assigned courses found.");
             } else {
-                for (Course course : courses) {
+                for (CourseSummary course : courses) {
                     System.out.println("Course ID: " + course.getId());
                     System.out.println("Course Name: " + course.getCourseName());
                     System.out.println("-----");
@@ -680,12 +1082,11 @@ public class Main {
                 return;
             }
 
-            List<Enrollment> enrollments = enrollmentService.findAllEnrollments();
-            for (Enrollment enrollment : enrollments) {
-                if (enrollment.getCourse().getId().equals(course.getId())) {
-                    Student student = enrollment.getStudent();
-                    System.out.println("Student(id=" + student.getId() + ", firstName=" + student.getFirstName() + ", lastName=" + student.getLastName() + ")");
-                }
+            // فقط دانشجویان همین درس خوانده می‌شوند، نه همه ثبت‌نام‌ها
+            List<Student> students = teacherService.viewEnrolledStudents(course.getId());
+            System.out.println(students.size() + " of " + course.getCapacity() + " seats taken.");
+            for (Student student : students) {
+                System.out.println("Student(id=" + student.getId() + ", firstName=" + student.getFirstName() + ", lastName=" + student.getLastName() + ")");
             }
         } catch (CustomException e) {
             System.out.println("An error occurred while viewing the enrolled students: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
@@ -700,16 +1101,14 @@ public class Main {
      * Records grades for students in a specific course.
      *
      * This method prompts the user to enter the course ID and the student IDs along with their grades.
-     * It updates the grades of the students in the specified course in the database.
-     * If an error occurs during the process, the transaction is rolled back.
+     * It updates the grades of the students in the specified course in the database; every changed
+     * grade is audited under the current teacher's username.
      *
      * @param scanner the input scanner
      */
     private static void recordGrades(Scanner scanner) {
         System.out.println("Record Grades");
-        Transaction transaction = null;
-        try (Session session = SessionFactoryInstance.sessionFactory.openSession()) {
-            transaction = session.beginTransaction();
+        try {
             System.out.print("Course ID: ");
             Long courseId = scanner.nextLong();
             scanner.nextLine(); // Clear the buffer
@@ -724,33 +1123,65 @@ public class Main {
                 grades.put(studentId, grade);
             }
 
-            for (Map.Entry<Long, Double> entry : grades.entrySet()) {
-                Long studentId = entry.getKey();
-                Double grade = entry.getValue();
+            enrollmentService.recordGrades(courseId, grades, getCurrentTeacherUsername());
+            System.out.println("Grades recorded successfully.");
+        } catch (CustomException e) {
+            System.out.println("An error occurred while recording grades: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred: " + e.getMessage());
+        }
+    }
 
-                Enrollment enrollment = session.createQuery("FROM Enrollment WHERE course.id = :courseId AND student.id = :studentId", Enrollment.class)
-                        .setParameter("courseId", courseId)
-                        .setParameter("studentId", studentId)
-                        .uniqueResult();
+    /**
+     * Imports the grades of a course from a CSV or TSV file and prints the rejected rows.
+     *
+     * @param scanner the input scanner
+     */
+    private static void importGrades(Scanner scanner) {
+        System.out.println("Import Grades from File");
+        try {
+            System.out.print("Course ID: ");
+            Long courseId = Long.parseLong(scanner.nextLine().trim());
+            System.out.print("File path (rows of student number or ID, grade): ");
+            Path file = Path.of(scanner.nextLine().trim());
 
-                if (enrollment != null) {
-                    enrollment.setGrade(grade);
-                    session.update(enrollment);
-                }
+            GradeImportReport report = gradeImportService.importGrades(courseId, file, getCurrentTeacherUsername());
+            for (GradeImportError error : report.getErrors()) {
+                System.out.println("Line " + error.getLineNumber() + ": " + error.getMessage() + " [" + error.getLine() + "]");
             }
-
-            transaction.commit();
-            System.out.println("Grades recorded successfully.");
+            System.out.println(report.getAppliedRows() + " of " + report.getTotalRows() + " rows applied in "
+                    + report.getElapsed().toMillis() + " ms.");
         } catch (CustomException e) {
-            if (transaction != null && transaction.getStatus().canRollback()) {
-                transaction.rollback();
-            }
-            System.out.println("An error occurred while recording grades: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+            System.out.println("An error occurred while importing grades: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
         } catch (Exception e) {
-            if (transaction != null && transaction.getStatus().canRollback()) {
-                transaction.rollback();
+            System.out.println("An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Displays the recorded grade changes of a student in a course.
+     *
+     * @param scanner the input scanner
+     */
+    private static void viewGradeHistory(Scanner scanner) {
+        System.out.println("Grade History");
+        try {
+            System.out.print("Course ID: ");
+            Long courseId = scanner.nextLong();
+            System.out.print("Student ID: ");
+            Long studentId = scanner.nextLong();
+
+            List<GradeAudit> history = enrollmentService.findGradeHistory(courseId, studentId);
+            if (history.isEmpty()) {
+                System.out.println("No grade changes recorded.");
+            } else {
+                for (GradeAudit audit : history) {
+                    System.out.println(audit.getChangedAt() + " " + audit.getChangedBy() + ": " + audit.getOldGrade() + " -> " + audit.getNewGrade());
+                }
             }
-            e.printStackTrace();
+        } catch (CustomException e) {
+            System.out.println("An error occurred while retrieving the grade history: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
             System.out.println("An unexpected error occurred: " + e.getMessage());
         }
     }
@@ -768,7 +1199,8 @@ public class Main {
                 System.out.println("2. Enroll in a Course");
                 System.out.println("3. View Grades");
                 System.out.println("4. View Student Profile");
-                System.out.println("5. Back to Main Menu");
+                System.out.println("5. Drop a Course");
+                System.out.println("6. Back to Main Menu");
                 System.out.print("Please select an option: ");
                 int choice = scanner.nextInt();
 
@@ -786,6 +1218,9 @@ public class Main {
                         viewStudentProfile(scanner); // 2-7
                         break;
                     case 5:
+                        dropCourse(scanner);
+                        break;
+                    case 6:
                         return;
                     default:
                         System.out.println("Invalid choice. Please try again.");
@@ -812,17 +1247,17 @@ public class Main {
     private static void viewAvailableCourses() { // 2-5
         try {
             System.out.println("View Available Courses");
-            List<Course> availableCourses = courseService.findAvailableCourses();
+            List<CourseSummary> availableCourses = catalogService.findAvailableCourses();
             if (availableCourses.isEmpty()) {
                 System.out.println("No available courses found.");
             } else {
                 System.out.println("Available Courses:");
-                for (Course course : availableCourses) {
+                for (CourseSummary course : availableCourses) {
                     System.out.println("Course ID: " + course.getId());
                     System.out.println("Course Name: " + course.getCourseName());
                     System.out.println("Units: " + course.getUnits());
                     System.out.println("Capacity: " + course.getCapacity());
-                    System.out.println("Teacher: " + course.getTeacher().getLastName());
+                    System.out.println("Teacher: " + course.getTeacherLastName());
                     System.out.println("Start Date: " + course.getStartDate());
                     System.out.println("-----");
                 }
@@ -851,19 +1286,42 @@ public class Main {
 
             System.out.print("Course ID: ");
             Long courseId = scanner.nextLong();
-            Course course = courseService.findCourseById(courseId);
-
-            if (course == null) {
-                System.out.println("Course not found.");
+            if (enrollmentService.isEnrolled(studentId, courseId)) {
+                System.out.println("You are already enrolled in this course.");
                 return;
             }
 
+            // فقط شناسه‌ها لازم است؛ سرویس وجود درس و دانشجو را هنگام ثبت بررسی می‌کند
+            Course course = new Course();
+            course.setId(courseId);
+            Student student = new Student();
+            student.setId(studentId);
             Enrollment enrollment = new Enrollment();
             enrollment.setCourse(course);
-            enrollment.setStudent(studentService.findStudentById(studentId));
+            enrollment.setStudent(student);
 
-            enrollmentService.saveEnrollment(enrollment);
-            System.out.println("Enrolled in course successfully.");
+            try {
+                AdmissionTicket ticket = enrollmentAdmissionService.submit(enrollment);
+                if (ticket.getPosition() > 1) {
+                    System.out.println("Your request is number " + ticket.getPosition() + " in line (about "
+                            + Math.max(1, ticket.getEstimatedWait().toSeconds()) + " s). Please wait...");
+                }
+                ticket.await();
+                System.out.println("Enrolled in course successfully.");
+            } catch (CustomException e) {
+                if (e.getErrorCode() != ErrorCode.COURSE_FULL.getCode()) {
+                    throw e;
+                }
+                System.out.print("The course is full. Join the waitlist? (yes/no): ");
+                if (scanner.next().equalsIgnoreCase("yes")) {
+                    int position = waitlistService.joinWaitlist(studentId, courseId, 0);
+                    if (position == 0) {
+                        System.out.println("A seat became available. Enrolled in course successfully.");
+                    } else {
+                        System.out.println("Added to the waitlist at position " + position + ".");
+                    }
+                }
+            }
         } catch (CustomException e) {
             System.out.println("An error occurred while enrolling in the course: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
             System.out.println("Please try again.");
@@ -873,6 +1331,51 @@ public class Main {
         }
     }
 
+    /**
+     * Allows the current student to drop a course. The freed seat goes to the next
+     * student on the course's waitlist.
+     *
+     * @param scanner the input scanner
+     */
+    private static void dropCourse(Scanner scanner) {
+        try {
+            System.out.println("Drop a Course");
+
+            Long studentId = getCurrentStudentId();
+            if (studentId == null) {
+                System.out.println("No student is currently logged in.");
+                return;
+            }
+
+            List<Enrollment> enrollments = enrollmentService.findEnrollmentsByStudentId(studentId);
+            if (enrollments.isEmpty()) {
+                System.out.println("You are not enrolled in any course.");
+                return;
+            }
+            for (Enrollment enrollment : enrollments) {
+                System.out.println("Course ID: " + enrollment.getCourse().getId() + " - " + enrollment.getCourse().getCourseName());
+            }
+
+            System.out.print("Course ID: ");
+            Long courseId = scanner.nextLong();
+            Enrollment enrollment = enrollments.stream()
+                    .filter(e -> e.getCourse().getId().equals(courseId))
+                    .findFirst()
+                    .orElse(null);
+            if (enrollment == null) {
+                System.out.println("You are not enrolled in this course.");
+                return;
+            }
+
+            enrollmentService.deleteEnrollment(enrollment);
+            System.out.println("Course dropped successfully.");
+        } catch (CustomException e) {
+            System.out.println("An error occurred while dropping the course: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
+        } catch (Exception e) {
+            System.out.println("An unexpected error occurred while dropping the course: " + e.getMessage());
+        }
+    }
+
     /**
      * Teacher login.
      *
@@ -889,6 +1392,7 @@ public class Main {
             if (authenticated) {
                 Teacher teacher = teacherService.findByName(username);
                 setCurrentTeacherId(teacher.getId());
+                setCurrentTeacherUsername(teacher.getUsername());
                 System.out.println("Welcome Teacher!");
                 teacherMenu(scanner);
             } else {
@@ -999,10 +1503,13 @@ public class Main {
             if (editPassword.equalsIgnoreCase("yes")) {
                 System.out.print("Old Password: ");
                 String oldPassword = scanner.next();
+                if (!student.getPassword().equals(oldPassword)) {
+                    System.out.println("Old password is incorrect.");
+                    return;
+                }
                 System.out.print("New Password(min = 8, max = 20): ");
                 String newPassword = scanner.next();
-                student.setPassword(newPassword);
-                studentService.updateStudent(student);
+                studentService.setPassword(studentId, newPassword);
                 System.out.println("Password updated successfully.");
             }
         } catch (CustomException e) {
@@ -1023,12 +1530,12 @@ public class Main {
         System.out.println("Course Capacities");
         try {
             Long teacherId = getCurrentTeacherId();
-            List<Course> courses = teacherService.getAssignedCourses(teacherId);
+            List<CourseSummary> courses = catalogService.findCoursesByTeacherId(teacherId);
 
             if (courses.isEmpty()) {
                 System.out.println("No assigned courses found.");
             } else {
-                for (Course course : courses) {
+                for (CourseSummary course : courses) {
                     System.out.println("Course ID: " + course.getId());
                     System.out.println("Course Name: " + course.getCourseName());
                     System.out.println("Capacity: " + course.getCapacity());
@@ -1051,12 +1558,12 @@ public class Main {
         System.out.println("Course Start Dates");
         try {
             Long teacherId = getCurrentTeacherId();
-            List<Course> courses = teacherService.getAssignedCourses(teacherId);
+            List<CourseSummary> courses = catalogService.findCoursesByTeacherId(teacherId);
 
             if (courses.isEmpty()) {
                 System.out.println("No assigned courses found.");
             } else {
-                for (Course course : courses) {
+                for (CourseSummary course : courses) {
                     System.out.println("Course ID: " + course.getId());
                     System.out.println("Course Name: " + course.getCourseName());
                     System.out.println("Start Date: " + course.getStartDate());
@@ -1177,6 +1684,14 @@ public class Main {
         return currentTeacherId;
     }
 
+    private static void setCurrentTeacherUsername(String username) {
+        currentTeacherUsername = username;
+    }
+
+    private static String getCurrentTeacherUsername() {
+        return currentTeacherUsername;
+    }
+
     private static void setCurrentStudentId(Long studentId) {
         currentStudentId = studentId;
     }
@@ -0,0 +1,52 @@
+-- Baseline: the five tables hbm2ddl "update" created before migrations were introduced.
+-- Databases created that way are baselined at this version instead of running it, so this script
+-- must never gain a table those databases do not have; later tables go in their own versions.
+
+CREATE TABLE admins (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(20) NOT NULL CONSTRAINT uk_admins_username UNIQUE,
+    password VARCHAR(20) NOT NULL
+);
+
+CREATE TABLE students (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name     VARCHAR(20) NOT NULL,
+    last_name      VARCHAR(20) NOT NULL,
+    username       VARCHAR(20) NOT NULL CONSTRAINT uk_students_username UNIQUE,
+    password       VARCHAR(20) NOT NULL CONSTRAINT uk_students_password UNIQUE,
+    mobile_number  VARCHAR(11) NOT NULL CONSTRAINT uk_students_mobile_number UNIQUE,
+    email_address  VARCHAR(50) NOT NULL CONSTRAINT uk_students_email_address UNIQUE,
+    national_code  VARCHAR(10) NOT NULL CONSTRAINT uk_students_national_code UNIQUE,
+    student_number VARCHAR(5)  NOT NULL CONSTRAINT uk_students_student_number UNIQUE
+);
+
+CREATE TABLE teachers (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name      VARCHAR(20)  NOT NULL,
+    last_name       VARCHAR(20)  NOT NULL,
+    username        VARCHAR(20)  NOT NULL CONSTRAINT uk_teachers_username UNIQUE,
+    password        VARCHAR(20)  NOT NULL CONSTRAINT uk_teachers_password UNIQUE,
+    mobile_number   VARCHAR(11)  NOT NULL CONSTRAINT uk_teachers_mobile_number UNIQUE,
+    email_address   VARCHAR(50)  NOT NULL CONSTRAINT uk_teachers_email_address UNIQUE,
+    national_code   VARCHAR(10)  NOT NULL CONSTRAINT uk_teachers_national_code UNIQUE,
+    specialty_field VARCHAR(50)  NOT NULL,
+    degree          VARCHAR(255) NOT NULL CHECK (degree IN ('BACHELOR', 'MASTER', 'DOCTORATE')),
+    personnel_code  VARCHAR(5)   NOT NULL CONSTRAINT uk_teachers_personnel_code UNIQUE
+);
+
+CREATE TABLE courses (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_name  VARCHAR(100) NOT NULL,
+    units        INTEGER      NOT NULL,
+    capacity     INTEGER      NOT NULL,
+    teacher_name VARCHAR(100) NOT NULL,
+    start_date   DATE         NOT NULL,
+    teacher_id   BIGINT       NOT NULL CONSTRAINT fk_courses_teacher REFERENCES teachers (id)
+);
+
+CREATE TABLE enrollments (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id BIGINT NOT NULL CONSTRAINT fk_enrollments_student REFERENCES students (id),
+    course_id  BIGINT NOT NULL CONSTRAINT fk_enrollments_course REFERENCES courses (id),
+    grade      DOUBLE PRECISION
+);
@@ -0,0 +1,48 @@
+-- Tables added after the baseline: grade history, the outbox, waitlists, course time slots and prerequisites.
+-- IF NOT EXISTS keeps this safe on baselined databases where hbm2ddl "update" already created some of them.
+
+CREATE SEQUENCE IF NOT EXISTS grade_audits_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS grade_audits (
+    id         BIGINT PRIMARY KEY,
+    changed_by VARCHAR(50)                 NOT NULL,
+    course_id  BIGINT                      NOT NULL,
+    student_id BIGINT                      NOT NULL,
+    old_grade  DOUBLE PRECISION,
+    new_grade  DOUBLE PRECISION,
+    changed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id           BIGINT PRIMARY KEY,
+    event_type   VARCHAR(30)                 NOT NULL CHECK (event_type IN ('ENROLLMENT_CREATED', 'GRADE_CHANGED', 'ENROLLMENT_DROPPED')),
+    aggregate_id BIGINT                      NOT NULL,
+    payload      TEXT                        NOT NULL,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id   BIGINT                      NOT NULL CONSTRAINT fk_waitlist_entries_student REFERENCES students (id),
+    course_id    BIGINT                      NOT NULL CONSTRAINT fk_waitlist_entries_course REFERENCES courses (id),
+    priority     INTEGER                     NOT NULL,
+    requested_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_waitlist_student_course UNIQUE (student_id, course_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_course ON waitlist_entries (course_id);
+
+CREATE TABLE IF NOT EXISTS course_time_slots (
+    course_id   BIGINT      NOT NULL CONSTRAINT fk_course_time_slots_course REFERENCES courses (id),
+    day_of_week VARCHAR(10) NOT NULL CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    start_time  TIME(6)     NOT NULL,
+    end_time    TIME(6)     NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS course_prerequisites (
+    course_id       BIGINT NOT NULL CONSTRAINT fk_course_prerequisites_course REFERENCES courses (id),
+    prerequisite_id BIGINT NOT NULL CONSTRAINT fk_course_prerequisites_prerequisite REFERENCES courses (id),
+    PRIMARY KEY (course_id, prerequisite_id)
+);
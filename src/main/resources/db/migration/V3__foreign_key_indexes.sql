@@ -0,0 +1,10 @@
+-- PostgreSQL does not index foreign keys; these back the lookups the services run on every request.
+-- IF NOT EXISTS keeps this safe on databases baselined from an hbm2ddl-created schema.
+
+CREATE INDEX IF NOT EXISTS idx_enrollments_student_course ON enrollments (student_id, course_id);
+CREATE INDEX IF NOT EXISTS idx_enrollments_course ON enrollments (course_id);
+CREATE INDEX IF NOT EXISTS idx_courses_teacher ON courses (teacher_id);
+CREATE INDEX IF NOT EXISTS idx_course_time_slots_course ON course_time_slots (course_id);
+CREATE INDEX IF NOT EXISTS idx_course_prerequisites_prerequisite ON course_prerequisites (prerequisite_id);
+CREATE INDEX IF NOT EXISTS idx_waitlist_student ON waitlist_entries (student_id);
+CREATE INDEX IF NOT EXISTS idx_grade_audits_course_student ON grade_audits (course_id, student_id, changed_at);
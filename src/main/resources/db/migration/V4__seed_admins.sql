@@ -0,0 +1,7 @@
+-- Built-in admin accounts. Seeded once per database; existing accounts (and changed passwords) are kept.
+
+INSERT INTO admins (username, password)
+VALUES ('admin1', 'password1'),
+       ('admin2', 'password2'),
+       ('admin3', 'password3')
+ON CONFLICT (username) DO NOTHING;
@@ -0,0 +1,4 @@
+-- Course creation relies on this constraint (INSERT ... ON CONFLICT) instead of checking the name first.
+-- Databases that already hold two courses with the same name must have them renamed before this runs.
+
+ALTER TABLE courses ADD CONSTRAINT uk_courses_course_name UNIQUE (course_name);
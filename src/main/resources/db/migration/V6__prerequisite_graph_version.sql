@@ -0,0 +1,12 @@
+-- One row counting changes to course_prerequisites. Editing prerequisites (and deleting courses) increments it
+-- in the editing transaction, which also serializes those edits across processes through the row lock;
+-- readers compare it with the version of their cached prerequisite closure.
+
+CREATE TABLE IF NOT EXISTS prerequisite_graph_version (
+    id      INTEGER PRIMARY KEY CHECK (id = 1),
+    version BIGINT  NOT NULL
+);
+
+INSERT INTO prerequisite_graph_version (id, version)
+VALUES (1, 0)
+ON CONFLICT (id) DO NOTHING;
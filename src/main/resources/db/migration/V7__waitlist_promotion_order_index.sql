@@ -0,0 +1,7 @@
+-- Promotion and waitlist positions read a course's entries in (priority DESC, requested_at, id) order and
+-- promotion stops after the free seats; with this index that is an ordered range scan instead of sorting the
+-- course's whole waitlist on every drop. It also serves every lookup by course_id, so the old index is dropped.
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_course_order ON waitlist_entries (course_id, priority DESC, requested_at, id);
+
+DROP INDEX IF EXISTS idx_waitlist_course;
@@ -0,0 +1,8 @@
+-- Waitlist promotion publishes WAITLIST_ENTRY_REMOVED for entries it discards (already enrolled, prerequisites
+-- not met, schedule conflict). The event type check was created unnamed by V2 or by hbm2ddl; PostgreSQL names
+-- both outbox_events_event_type_check.
+
+ALTER TABLE outbox_events DROP CONSTRAINT IF EXISTS outbox_events_event_type_check;
+
+ALTER TABLE outbox_events ADD CONSTRAINT outbox_events_event_type_check
+    CHECK (event_type IN ('ENROLLMENT_CREATED', 'GRADE_CHANGED', 'ENROLLMENT_DROPPED', 'WAITLIST_ENTRY_REMOVED'));
@@ -0,0 +1,331 @@
+package org.example.service.impl;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.dto.DeletionReport;
+import org.example.entity.Course;
+import org.example.entity.Enrollment;
+import org.example.entity.Student;
+import org.example.entity.Teacher;
+import org.example.enums.ErrorCode;
+import org.example.exception.CustomException;
+import org.example.service.CourseService;
+import org.example.service.EnrollmentService;
+import org.example.service.TeacherService;
+import org.example.util.SessionFactoryInstance;
+import org.example.util.StatementBudgetProxy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the real {@link CourseService}, {@link EnrollmentService} and {@link TeacherService}
+ * against an embedded PostgreSQL database through {@link StatementBudgetProxy} in strict mode,
+ * so a method exceeding its {@code @StatementBudget} fails the test. The schema is created by
+ * the migrations; the rows of each test are inserted with plain JDBC so they are not counted.
+ * <p>
+ * PostgreSQL refuses to start as root, so run the tests as a regular user.
+ */
+class ServiceStatementBudgetTest {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    private final CourseService courseService = StatementBudgetProxy.wrap(CourseService.class, new CourseServiceImpl(), true);
+
+    private final EnrollmentService enrollmentService = StatementBudgetProxy.wrap(EnrollmentService.class, new EnrollmentServiceImpl(), true);
+
+    private final TeacherService teacherService = StatementBudgetProxy.wrap(TeacherService.class, new TeacherServiceImpl(), true);
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        System.setProperty("ems.db.url", postgres.getJdbcUrl("postgres", "postgres"));
+        System.setProperty("ems.db.username", "postgres");
+        System.setProperty("ems.db.password", "");
+        System.setProperty("ems.snapshot.enabled", "false");
+        assertNotNull(SessionFactoryInstance.sessionFactory); // migrates the schema
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        SessionFactoryInstance.shutdown();
+        postgres.close();
+    }
+
+    @Test
+    void courseReadsStayWithinBudget() throws Exception {
+        long teacherId = insertTeacher();
+        long courseId = insertCourse(teacherId, 10);
+        insertEnrollment(insertStudent(), courseId, null);
+
+        assertEquals(courseId, courseService.findCourseById(courseId).getId());
+        assertFalse(courseService.findAllCourses().isEmpty());
+        assertFalse(courseService.findAvailableCourses().isEmpty());
+        assertEquals(1, courseService.getEnrolledStudents(courseId).size());
+        assertTrue(courseService.authenticate(courseId));
+    }
+
+    @Test
+    void updateCourseFillsNewSeatFromWaitlistWithinBudget() throws Exception {
+        long teacherId = insertTeacher();
+        long courseId = insertCourse(teacherId, 1);
+        insertTimeSlot(courseId, "MONDAY", "08:00", "10:00");
+        insertEnrollment(insertStudent(), courseId, null);
+        long waitlisted = insertStudent();
+        insertWaitlistEntry(waitlisted, courseId, 1);
+
+        Course course = courseService.findCourseById(courseId);
+        course.setCapacity(2);
+        courseService.updateCourse(course);
+
+        assertTrue(enrollmentService.isEnrolled(waitlisted, courseId));
+    }
+
+    @Test
+    void deleteCourseWithDependentRowsStaysWithinBudget() throws Exception {
+        long teacherId = insertTeacher();
+        long prerequisiteId = insertCourse(teacherId, 10);
+        long courseId = insertCourse(teacherId, 1);
+        insertTimeSlot(courseId, "TUESDAY", "08:00", "10:00");
+        insertPrerequisite(courseId, prerequisiteId);
+        insertEnrollment(insertStudent(), courseId, null);
+        insertWaitlistEntry(insertStudent(), courseId, 1);
+
+        Course course = new Course();
+        course.setId(courseId);
+        DeletionReport report = courseService.deleteCourse(course);
+
+        assertEquals(1, report.getCourses());
+        assertEquals(1, report.getEnrollments());
+    }
+
+    @Test
+    void saveEnrollmentWithPrerequisitesAndScheduleStaysWithinBudget() throws Exception {
+        long teacherId = insertTeacher();
+        long prerequisiteId = insertCourse(teacherId, 10);
+        long otherId = insertCourse(teacherId, 10);
+        long courseId = insertCourse(teacherId, 10);
+        insertTimeSlot(otherId, "WEDNESDAY", "08:00", "10:00");
+        insertTimeSlot(courseId, "WEDNESDAY", "10:00", "12:00");
+        insertPrerequisite(courseId, prerequisiteId);
+        long studentId = insertStudent();
+        insertEnrollment(studentId, prerequisiteId, 15.0);
+        insertEnrollment(studentId, otherId, null);
+
+        enrollmentService.saveEnrollment(enrollment(studentId, courseId));
+
+        assertTrue(enrollmentService.isEnrolled(studentId, courseId));
+    }
+
+    @Test
+    void updateEnrollmentGradeStaysWithinBudget() throws Exception {
+        long courseId = insertCourse(insertTeacher(), 10);
+        long studentId = insertStudent();
+        long enrollmentId = insertEnrollment(studentId, courseId, 12.0);
+
+        Enrollment enrollment = enrollmentService.findEnrollmentById(enrollmentId);
+        enrollment.setGrade(18.0);
+        enrollmentService.updateEnrollment(enrollment, "budget-test");
+
+        assertEquals(18.0, enrollmentService.findEnrollmentById(enrollmentId).getGrade());
+    }
+
+    @Test
+    void deleteEnrollmentPromotesNextStudentWithinBudget() throws Exception {
+        long courseId = insertCourse(insertTeacher(), 1);
+        insertTimeSlot(courseId, "THURSDAY", "08:00", "10:00");
+        long enrollmentId = insertEnrollment(insertStudent(), courseId, null);
+        long waitlisted = insertStudent();
+        insertWaitlistEntry(waitlisted, courseId, 1);
+
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(enrollmentId);
+        enrollmentService.deleteEnrollment(enrollment);
+
+        assertTrue(enrollmentService.isEnrolled(waitlisted, courseId));
+        assertEquals(1, enrollmentService.countEnrollments(courseId));
+    }
+
+    @Test
+    void recordGradesForWholeCourseStaysWithinBudget() throws Exception {
+        long courseId = insertCourse(insertTeacher(), 10);
+        Map<Long, Double> grades = new HashMap<>();
+        for (int i = 0; i < 8; i++) {
+            long studentId = insertStudent();
+            insertEnrollment(studentId, courseId, i % 2 == 0 ? null : 11.0);
+            grades.put(studentId, 12.0 + i);
+        }
+
+        enrollmentService.recordGrades(courseId, grades, "budget-test");
+
+        assertEquals(8, enrollmentService.findEnrollmentsByCourseId(courseId).size());
+    }
+
+    @Test
+    void enrollmentReadsStayWithinBudget() throws Exception {
+        long courseId = insertCourse(insertTeacher(), 10);
+        long studentId = insertStudent();
+        insertEnrollment(studentId, courseId, 16.0);
+        Student student = new Student();
+        student.setId(studentId);
+        Course course = new Course();
+        course.setId(courseId);
+
+        assertNotNull(enrollmentService.findEnrollmentByStudentAndCourse(student, course));
+        assertFalse(enrollmentService.findAllEnrollments().isEmpty());
+        assertTrue(enrollmentService.authenticate(student, course));
+        assertEquals(1, enrollmentService.findEnrollmentsByStudentId(studentId).size());
+        assertEquals(1, enrollmentService.countEnrollments(courseId));
+        assertTrue(enrollmentService.isEnrolled(studentId, courseId));
+        enrollmentService.findGradeHistory(courseId, studentId);
+    }
+
+    @Test
+    void viewGradesOfSeveralCoursesStaysWithinBudget() throws Exception {
+        long teacherId = insertTeacher();
+        for (int i = 0; i < 3; i++) {
+            long courseId = insertCourse(teacherId, 10);
+            insertEnrollment(insertStudent(), courseId, 10.0 + i);
+            insertEnrollment(insertStudent(), courseId, null);
+        }
+
+        teacherService.viewGrades(teacherId);
+    }
+
+    @Test
+    void deleteTeacherWithCoursesStaysWithinBudget() throws Exception {
+        long teacherId = insertTeacher();
+        long prerequisiteId = insertCourse(teacherId, 10);
+        long courseId = insertCourse(teacherId, 1);
+        insertTimeSlot(courseId, "FRIDAY", "08:00", "10:00");
+        insertPrerequisite(courseId, prerequisiteId);
+        insertEnrollment(insertStudent(), courseId, null);
+        insertWaitlistEntry(insertStudent(), courseId, 1);
+
+        Teacher teacher = new Teacher();
+        teacher.setId(teacherId);
+        DeletionReport report = teacherService.deleteTeacher(teacher);
+
+        assertEquals(1, report.getTeachers());
+        assertEquals(2, report.getCourses());
+    }
+
+    @Test
+    void deleteMissingTeacherFailsWithTeacherNotFound() {
+        Teacher teacher = new Teacher();
+        teacher.setId(-1L);
+
+        CustomException e = assertThrows(CustomException.class, () -> teacherService.deleteTeacher(teacher));
+        assertEquals(ErrorCode.TEACHER_NOT_FOUND.getCode(), e.getErrorCode());
+    }
+
+    @Test
+    void teacherReadsAndPasswordChangeStayWithinBudget() throws Exception {
+        long teacherId = insertTeacher();
+        long courseId = insertCourse(teacherId, 10);
+        insertEnrollment(insertStudent(), courseId, null);
+
+        Teacher teacher = teacherService.findTeacherById(teacherId);
+        assertFalse(teacherService.findAllTeachers().isEmpty());
+        assertEquals(teacherId, teacherService.findByName(teacher.getUsername()).getId());
+        assertTrue(teacherService.authenticate(teacher.getUsername(), teacher.getPassword()));
+        assertEquals(1, teacherService.getAssignedCourses(teacherId).size());
+        assertEquals(1, teacherService.viewEnrolledStudents(courseId).size());
+        teacherService.changePassword(teacherId, "changed" + teacherId + "pw");
+    }
+
+    private static Enrollment enrollment(long studentId, long courseId) {
+        Student student = new Student();
+        student.setId(studentId);
+        Course course = new Course();
+        course.setId(courseId);
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        return enrollment;
+    }
+
+    private static long insertTeacher() throws SQLException {
+        int n = sequence.incrementAndGet();
+        return insert("INSERT INTO teachers (first_name, last_name, username, password, mobile_number, email_address,"
+                        + " national_code, specialty_field, degree, personnel_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'MASTER', ?)",
+                "Teacher", "No" + n, "t" + n, "tpass" + n + "word", String.format("091%08d", n), "t" + n + "@example.org",
+                String.format("1%09d", n), "Mathematics", String.format("%05d", n));
+    }
+
+    private static long insertStudent() throws SQLException {
+        int n = sequence.incrementAndGet();
+        return insert("INSERT INTO students (first_name, last_name, username, password, mobile_number, email_address,"
+                        + " national_code, student_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                "Student", "No" + n, "s" + n, "spass" + n + "word", String.format("093%08d", n), "s" + n + "@example.org",
+                String.format("2%09d", n), String.format("%05d", n));
+    }
+
+    private static long insertCourse(long teacherId, int capacity) throws SQLException {
+        int n = sequence.incrementAndGet();
+        return insert("INSERT INTO courses (course_name, units, capacity, teacher_name, start_date, teacher_id)"
+                        + " VALUES (?, 3, ?, 'Teacher', ?, ?)",
+                "Course " + n, capacity, LocalDate.now().plusDays(30), teacherId);
+    }
+
+    private static long insertEnrollment(long studentId, long courseId, Double grade) throws SQLException {
+        return insert("INSERT INTO enrollments (student_id, course_id, grade) VALUES (?, ?, ?)", studentId, courseId, grade);
+    }
+
+    private static void insertWaitlistEntry(long studentId, long courseId, int priority) throws SQLException {
+        insert("INSERT INTO waitlist_entries (student_id, course_id, priority, requested_at) VALUES (?, ?, ?, now())",
+                studentId, courseId, priority);
+    }
+
+    private static void insertTimeSlot(long courseId, String day, String start, String end) throws SQLException {
+        execute("INSERT INTO course_time_slots (course_id, day_of_week, start_time, end_time) VALUES (?, ?, ?::time, ?::time)",
+                courseId, day, start, end);
+    }
+
+    private static void insertPrerequisite(long courseId, long prerequisiteId) throws SQLException {
+        execute("INSERT INTO course_prerequisites (course_id, prerequisite_id) VALUES (?, ?)", courseId, prerequisiteId);
+    }
+
+    private static long insert(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bind(statement, parameters);
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong("id");
+            }
+        }
+    }
+
+    private static void execute(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link StatementBudgetProxy} counts the statements of a budgeted method and fails
+ * in strict mode when the budget is exceeded. The statements are fed to {@link StatementCounter}
+ * directly, as Hibernate does before preparing each one, so no database is needed.
+ */
+class StatementBudgetProxyTest {
+
+    interface Lookup {
+
+        @StatementBudget(2)
+        int find(int statements);
+
+        int findUnbudgeted(int statements);
+    }
+
+    private static final class LookupImpl implements Lookup {
+
+        @Override
+        public int find(int statements) {
+            for (int i = 0; i < statements; i++) {
+                StatementCounter.INSTANCE.inspect("select s1_0.id from students s1_0 where s1_0.id=" + i);
+            }
+            return statements;
+        }
+
+        @Override
+        public int findUnbudgeted(int statements) {
+            return find(statements);
+        }
+    }
+
+    private final Lookup strict = StatementBudgetProxy.wrap(Lookup.class, new LookupImpl(), true);
+
+    @Test
+    void countsStatementsOfBudgetedMethod() {
+        int counted = StatementCounter.count(() -> assertEquals(2, strict.find(2)));
+
+        assertEquals(2, counted);
+    }
+
+    @Test
+    void failsWhenBudgetIsExceeded() {
+        AssertionError error = assertThrows(AssertionError.class, () -> strict.find(3));
+
+        assertTrue(error.getMessage().contains("Lookup.find executed 3 statements, budget is 2"), error.getMessage());
+    }
+
+    @Test
+    void logsInsteadOfFailingWhenNotStrict() {
+        Lookup lenient = StatementBudgetProxy.wrap(Lookup.class, new LookupImpl(), false);
+
+        assertEquals(3, lenient.find(3));
+    }
+
+    @Test
+    void ignoresMethodsWithoutBudget() {
+        assertEquals(5, strict.findUnbudgeted(5));
+    }
+
+    @Test
+    void assertWithinFailsOverBudget() {
+        Lookup plain = new LookupImpl();
+
+        assertEquals(1, StatementCounter.assertWithin(1, () -> plain.find(1)));
+        assertThrows(AssertionError.class, () -> StatementCounter.assertWithin(1, () -> plain.find(2)));
+    }
+}
@@ -4,11 +4,13 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.joran.JoranConfigurator;
 import ch.qos.logback.core.joran.spi.JoranException;
 import ch.qos.logback.core.util.StatusPrinter;
+import org.example.dto.Page;
 import org.example.entity.*;
 import org.example.enums.ErrorCode;
 import org.example.exception.CustomException;
 import org.example.service.*;
 import org.example.service.impl.*;
+import org.example.util.AppConfig;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
@@ -36,15 +38,15 @@ public class Main {
     private static final TeacherService teacherService = new TeacherServiceImpl();
     private static final CourseService courseService = new CourseServiceImpl();
     private static final EnrollmentService enrollmentService = new EnrollmentServiceImpl();
-    private static final List<Admin> admins = new ArrayList<>();
+
+    private static final int PAGE_SIZE = AppConfig.getInt("ems.page-size", 20);
 
     /**
-     * The entry point of the application. It initializes admins and displays the main menu.
+     * The entry point of the application. It displays the main menu; admin accounts are stored in the database.
      *
      * @param args the input arguments
      */
     public static void main(String[] args) {
-        initializeAdmins(); // Initialize predefined admins
         Scanner scanner = new Scanner(System.in);
 
         while (true) {
@@ -85,15 +87,6 @@ public class Main {
         }
     }
 
-    /**
-     * Initializes predefined admin users.
-     */
-    private static void initializeAdmins() {
-        admins.add(new Admin(1L, "admin1", "password1"));
-        admins.add(new Admin(2L, "admin2", "password2"));
-        admins.add(new Admin(3L, "admin3", "password3"));
-    }
-
     /**
      * Displays the admin selection menu.
      *
@@ -142,8 +135,7 @@ public class Main {
             System.out.print("Password: ");
             String password = scanner.next();
 
-            Admin selectedAdmin = admins.get(adminChoice - 1);
-            if (authenticateAdmin(username, password, selectedAdmin)) {
+            if (authenticateAdmin(username, password)) {
                 System.out.println("Welcome Admin!"); // 1-3: Welcome message
                 adminMenu(scanner); // Display admin menu
             } else {
@@ -162,12 +154,11 @@ public class Main {
     /**
      * Authenticates the admin based on username and password.
      *
-     * @param username      the username
-     * @param password      the password
-     * @param selectedAdmin the selected admin
+     * @param username the username
+     * @param password the password
      * @return true if authentication is successful, otherwise false
      */
-    private static boolean authenticateAdmin(String username, String password, Admin selectedAdmin) { // 1-2
+    private static boolean authenticateAdmin(String username, String password) { // 1-2
         try {
             return adminService.authenticate(username, password);
         } catch (CustomException e) {
@@ -207,13 +198,13 @@ public class Main {
                         registerStudent(scanner); // 1-4-1: Register student
                         break;
                     case 2:
-                        viewStudents(); // 1-4-2: View students
+                        viewStudents(scanner); // 1-4-2: View students
                         break;
                     case 3:
                         registerTeacher(scanner); // 1-2-3: Register teacher
                         break;
                     case 4:
-                        viewTeachers(); // 1-2-1: View teachers
+                        viewTeachers(scanner); // 1-2-1: View teachers
                         break;
                     case 5:
                         deleteTeacher(scanner); // 1-2-2: Delete teacher
@@ -287,14 +278,21 @@ public class Main {
     }
 
     /**
-     * Displays the list of students.
+     * Displays the list of students one page at a time.
+     *
+     * @param scanner the input scanner
      */
-    private static void viewStudents() { // 1-4-2
+    private static void viewStudents(Scanner scanner) { // 1-4-2
         try {
             System.out.println("View Students");
-            List<Student> students = adminService.viewStudents();
-            for (Student student : students) {
-                System.out.println(student);
+            for (int pageNumber = 0; ; pageNumber++) {
+                Page<Student> page = adminService.viewStudents(pageNumber, PAGE_SIZE);
+                for (Student student : page.getItems()) {
+                    System.out.println(student);
+                }
+                if (!hasNextPage(scanner, page)) {
+                    break;
+                }
             }
         } catch (CustomException e) {
             System.out.println("An error occurred while viewing students: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
@@ -354,14 +352,21 @@ public class Main {
     }
 
     /**
-     * Displays the list of teachers.
+     * Displays the list of teachers one page at a time.
+     *
+     * @param scanner the input scanner
      */
-    private static void viewTeachers() {
+    private static void viewTeachers(Scanner scanner) {
         try {
             System.out.println("View Teachers");
-            List<Teacher> teachers = adminService.viewTeachers();
-            for (Teacher teacher : teachers) {
-                System.out.println(teacher);
+            for (int pageNumber = 0; ; pageNumber++) {
+                Page<Teacher> page = adminService.viewTeachers(pageNumber, PAGE_SIZE);
+                for (Teacher teacher : page.getItems()) {
+                    System.out.println(teacher);
+                }
+                if (!hasNextPage(scanner, page)) {
+                    break;
+                }
             }
         } catch (CustomException e) {
             System.out.println("An error occurred while viewing teachers: " + e.getMessage() + " (Code: " + e.getErrorCode() + ")");
@@ -372,6 +377,23 @@ public class Main {
         }
     }
 
+    /**
+     * Prints the page position and asks whether to show the next page.
+     *
+     * @param scanner the input scanner
+     * @param page    the page just shown
+     * @return true if there is a next page and the user wants to see it
+     */
+    private static boolean hasNextPage(Scanner scanner, Page<?> page) {
+        System.out.println("Page " + (page.getPageNumber() + 1) + " of " + page.getPageCount()
+                + " (" + page.getTotalCount() + " in total)");
+        if (!page.hasNext()) {
+            return false;
+        }
+        System.out.print("Show the next page? (yes/no): ");
+        return scanner.next().equalsIgnoreCase("yes");
+    }
+
 
     /**
      * Deletes a teacher based on their ID.